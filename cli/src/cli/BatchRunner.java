@@ -0,0 +1,232 @@
+package cli;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Non-interactive batch mode: solves every puzzle file given on the command line
+ * (directories are expanded to their .txt files and puzzle packs to their puzzles)
+ * and prints one CSV row per puzzle.
+ *
+ * Usage: BatchRunner [--algo ucs|greedy|astar|ara|dijkstra|beam|ida|extbfs|portfolio] [--heuristic name] [--compound]
+ *                    [--time-limit ms] [--max-nodes n] [--max-memory mb] [--beam-width n] [--adaptive-beam]
+ *                    [--no-beam-restart] [--serial] [--ara-weight w] [--por] [--optimize] [--out file.csv] paths...
+ */
+public class BatchRunner {
+    private static final String CSV_HEADER = "file,algorithm,heuristic,status,moves,states_examined,time_ms,stop_reason";
+    private static final Solver SOLVER = new Solver();
+    private static final Set<String> ALGORITHMS = new HashSet<>(Arrays.asList(
+        "ucs", "greedy", "astar", "ara", "dijkstra", "beam", "ida", "extbfs", "portfolio"));
+
+    public static void main(String[] args) {
+        String algorithm = "ucs";
+        String heuristic = "manhattan";
+        boolean isCompound = false;
+        SolveOptions options = new SolveOptions();
+        String outputPath = null;
+        List<File> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--algo":
+                        algorithm = requireValue(args, ++i).toLowerCase();
+                        if (!ALGORITHMS.contains(algorithm)) {
+                            throw new IllegalArgumentException("Unknown algorithm: " + args[i]);
+                        }
+                        break;
+                    case "--heuristic": heuristic = requireValue(args, ++i); break;
+                    case "--compound": isCompound = true; break;
+                    case "--time-limit": options.setTimeLimitMillis(Long.parseLong(requireValue(args, ++i))); break;
+                    case "--max-nodes": options.setMaxNodes(Long.parseLong(requireValue(args, ++i))); break;
+                    case "--max-memory": options.setMaxMemoryBytes(Long.parseLong(requireValue(args, ++i)) * 1024L * 1024L); break;
+                    case "--beam-width": options.setBeamWidth(Integer.parseInt(requireValue(args, ++i))); break;
+                    case "--adaptive-beam": options.setAdaptiveBeam(true); break;
+                    case "--no-beam-restart": options.setBeamRestarts(false); break;
+                    case "--serial": options.setParallelExpansion(false); break;
+                    case "--ara-weight": options.setAraInitialWeight(Double.parseDouble(requireValue(args, ++i))); break;
+                    case "--por": options.setPartialOrderReduction(true); break;
+                    case "--optimize": options.setOptimizeSolutions(true); break;
+                    case "--out": outputPath = requireValue(args, ++i); break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        collectInputs(new File(args[i]), inputs);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        if (inputs.isEmpty()) {
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        List<String> rows = new ArrayList<>();
+        rows.add(CSV_HEADER);
+
+        for (File input : inputs) {
+            if (PuzzlePack.isPackName(input.getName())) {
+                runPack(input, algorithm, heuristic, isCompound, options, rows);
+            } else {
+                rows.add(runOne(input, algorithm, heuristic, isCompound, options));
+            }
+        }
+
+        if (outputPath != null) {
+            try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(outputPath)))) {
+                for (String row : rows) {
+                    writer.println(row);
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing batch report: " + e.getMessage());
+                System.exit(1);
+            }
+            System.err.println("Batch report written to: " + outputPath);
+        } else {
+            for (String row : rows) {
+                System.out.println(row);
+            }
+        }
+    }
+
+    /**
+     * Solve a single puzzle file and format its CSV row
+     */
+    private static String runOne(File input, String algorithm, String heuristic, boolean isCompound, SolveOptions options) {
+        Board board;
+        try {
+            board = Board.readFromFile(input.getPath());
+        } catch (IOException e) {
+            return csvRow(input.getPath(), algorithm, heuristic, "error", -1, 0, 0, e.getMessage());
+        }
+        return solveOne(input.getPath(), board, algorithm, heuristic, isCompound, options);
+    }
+
+    /**
+     * Solve every puzzle of a pack from a single mapping; rows are labelled pack:name
+     */
+    private static void runPack(File pack, String algorithm, String heuristic, boolean isCompound,
+                                SolveOptions options, List<String> rows) {
+        PuzzlePack puzzles;
+        try {
+            puzzles = PuzzlePack.open(pack.toPath());
+        } catch (IOException e) {
+            rows.add(csvRow(pack.getPath(), algorithm, heuristic, "error", -1, 0, 0, e.getMessage()));
+            return;
+        }
+
+        for (PuzzlePack.Entry entry : puzzles) {
+            String label = pack.getPath() + ":" + entry.getName();
+            try {
+                rows.add(solveOne(label, entry.load(), algorithm, heuristic, isCompound, options));
+            } catch (IOException e) {
+                rows.add(csvRow(label, algorithm, heuristic, "error", -1, 0, 0, e.getMessage()));
+            }
+        }
+    }
+
+    private static String solveOne(String label, Board board, String algorithm, String heuristic,
+                                   boolean isCompound, SolveOptions options) {
+        if (algorithm.equals("portfolio")) {
+            return runPortfolio(label, board, isCompound, options);
+        }
+
+        SearchResult result = SOLVER.solve(new SearchRequest(algorithm, board, heuristic, isCompound)
+                                               .setOptions(options));
+        Solution solution = result.getSolution();
+        long executionTime = result.getElapsedMillis();
+
+        StopReason reason = result.getStopReason();
+        if (solution != null) {
+            return csvRow(label, algorithm, heuristic, "solved", solution.getMoves().size(),
+                          solution.getStatesExamined(), executionTime, reason.describe());
+        }
+
+        // Report the partial path length when a budget stopped the search
+        Solution partial = result.getPartialSolution();
+        int partialMoves = partial != null ? partial.getMoves().size() : -1;
+        String status = reason.isBudgetExceeded() || reason == StopReason.CANCELLED ? "stopped" : "unsolvable";
+        return csvRow(label, algorithm, heuristic, status, partialMoves,
+                      result.getNodesExamined(), executionTime, reason.describe());
+    }
+
+    /**
+     * Race the default portfolio; the winning member is reported in the algorithm column
+     */
+    private static String runPortfolio(String label, Board board, boolean isCompound, SolveOptions options) {
+        PortfolioSolver portfolio = PortfolioSolver.withDefaultMembers(options, isCompound);
+        long startTime = System.currentTimeMillis();
+        Solution solution = portfolio.solve(board, isCompound);
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        StopReason reason = portfolio.getLastStopReason();
+        if (solution != null) {
+            return csvRow(label, "portfolio:" + portfolio.getLastWinner(), "-", "solved",
+                          solution.getMoves().size(), portfolio.getLastNodesExamined(), executionTime, reason.describe());
+        }
+        String status = reason.isBudgetExceeded() || reason == StopReason.CANCELLED ? "stopped" : "unsolvable";
+        return csvRow(label, "portfolio", "-", status, -1, portfolio.getLastNodesExamined(),
+                      executionTime, reason.describe());
+    }
+
+    private static void collectInputs(File path, List<File> inputs) {
+        if (path.isDirectory()) {
+            File[] files = path.listFiles((dir, name) -> name.endsWith(".txt") || PuzzlePack.isPackName(name));
+            if (files != null) {
+                Arrays.sort(files);
+                inputs.addAll(Arrays.asList(files));
+            }
+        } else {
+            inputs.add(path);
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static String csvRow(String file, String algorithm, String heuristic, String status, int moves,
+                                 int statesExamined, long timeMillis, String reason) {
+        return csvField(file) + "," + algorithm + "," + csvField(heuristic) + "," + status + "," + moves + ","
+            + statesExamined + "," + timeMillis + "," + csvField(reason);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: BatchRunner [options] <puzzle file, puzzle pack or directory>...");
+        System.out.println("  --algo ucs|greedy|astar|ara|dijkstra|beam|ida|extbfs|portfolio");
+        System.out.println("                                               Algorithm to run (default: ucs)");
+        System.out.println("  --heuristic name                             manhattan, direct, blocking or clearing");
+        System.out.println("  --compound                                   Count multi-cell slides as one move");
+        System.out.println("  --time-limit ms                              Wall-clock budget per puzzle");
+        System.out.println("  --max-nodes n                                Expanded-state budget per puzzle");
+        System.out.println("  --max-memory mb                              Estimated retained-heap budget per puzzle");
+        System.out.println("  --beam-width n                               States kept per beam layer, at most 1048576 (default: 50)");
+        System.out.println("  --adaptive-beam                              Widen the beam while it makes no progress");
+        System.out.println("  --no-beam-restart                            Fail instead of widening when the beam dies");
+        System.out.println("  --serial                                     Expand beam layers on a single thread");
+        System.out.println("  --ara-weight w                               Initial ARA* heuristic weight (default: 3)");
+        System.out.println("  --por                                        Skip redundant orderings of independent moves (ucs, astar, dijkstra)");
+        System.out.println("  --optimize                                   Shorten greedy and beam solutions afterwards");
+        System.out.println("  --out file.csv                               Write the report to a file instead of stdout");
+    }
+}
@@ -1,6 +1,7 @@
 package cli;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -15,6 +16,7 @@ public class Main {
     
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
+        TerminalRenderer renderer = new TerminalRenderer();
         
         System.out.println("=== Rush Hour Puzzle Solver ===");
         System.out.print("Enter the filename (without .txt extension): ");
@@ -32,8 +34,9 @@ public class Main {
             // Read the puzzle configuration
             System.out.println("Reading file: " + filepath);
             Board board = Board.readFromFile(filepath);
+            printLoadSummary(board);
             System.out.println("\nInitial Board State:");
-            board.display();
+            renderer.print(board);
             
             // Check if primary piece is aligned with exit
             if (!board.isPrimaryPieceAlignedWithExit()) {
@@ -77,33 +80,42 @@ public class Main {
                 }
             }
             
-            // Solve the puzzle
-            Solver solver = new Solver();
-            Solution solution = null;
-            String algorithmUsed = "";
+            // Optional search budgets so a hopeless puzzle cannot run until the heap is exhausted
+            SolveOptions options = new SolveOptions();
+            System.out.print("\nSet search limits (time, states, memory)? (y/n): ");
+            if (getYesNoChoice(scanner).equalsIgnoreCase("y")) {
+                options.setTimeLimitMillis(getOptionalLong(scanner, "Time limit in seconds (blank for none): ") * 1000L);
+                options.setMaxNodes(getOptionalLong(scanner, "Maximum states to examine (blank for none): "));
+                options.setMaxMemoryBytes(getOptionalLong(scanner, "Maximum memory in MB (blank for none): ") * 1024L * 1024L);
+            }
             
-            long startTime = System.currentTimeMillis();
+            // Solve the puzzle
+            String algorithmKey;
+            String algorithmUsed;
             
             switch (algorithmChoice) {
                 case 1:
-                    solution = solver.solveUCS(board, false);
+                    algorithmKey = "ucs";
                     algorithmUsed = "Uniform Cost Search (UCS)";
                     break;
                 case 2:
-                    solution = solver.solveGreedy(board, heuristic, false);
+                    algorithmKey = "greedy";
                     algorithmUsed = "Greedy Best First Search with " + heuristic + " heuristic";
                     break;
                 case 3:
-                    solution = solver.solveAStar(board, heuristic, false);
+                    algorithmKey = "astar";
                     algorithmUsed = "A* Search with " + heuristic + " heuristic";
                     break;
                 default:
                     System.out.println("Using UCS as default.");
-                    solution = solver.solveUCS(board, false);
+                    algorithmKey = "ucs";
                     algorithmUsed = "Uniform Cost Search (UCS)";
             }
             
-            long endTime = System.currentTimeMillis();
+            SearchResult result = new Solver(options).solve(new SearchRequest(algorithmKey, board, heuristic, false)
+                                                                .setLog(System.out::println));
+            Solution solution = result.getSolution();
+            long executionTime = result.getElapsedMillis();
             
             // Display results
             if (solution != null) {
@@ -111,10 +123,21 @@ public class Main {
                 System.out.println("Algorithm used: " + algorithmUsed);
                 System.out.println("Number of states examined: " + solution.getStatesExamined());
                 System.out.println("Number of moves: " + solution.getMoves().size());
-                System.out.println("Execution time: " + (endTime - startTime) + " ms");
+                System.out.println("Execution time: " + executionTime + " ms");
                 
+                // On a real terminal the solution can be played in place instead of listed
+                boolean animate = false;
+                if (System.console() != null && solution.getMoves().size() > 0) {
+                    System.out.print("\nAnimate the solution in place? (y/n): ");
+                    animate = getYesNoChoice(scanner).equalsIgnoreCase("y");
+                }
+
                 System.out.println("\nSolution steps:");
-                solution.displaySolution();
+                if (animate) {
+                    renderer.animate(solution);
+                } else {
+                    renderer.printSolution(solution);
+                }
                 
                 // Ask if user wants to save the solution
                 System.out.print("\nDo you want to save the solution to a file? (y/n): ");
@@ -143,7 +166,7 @@ public class Main {
                     
                     if (shouldSave) {
                         try {
-                            saveSolutionToFile(board, solution, endTime - startTime, outputPath, algorithmUsed);
+                            saveSolutionToFile(board, solution, executionTime, outputPath, algorithmUsed);
                             System.out.println("Solution saved to: " + outputPath);
                         } catch (IOException e) {
                             System.err.println("Error saving solution to file: " + e.getMessage());
@@ -152,6 +175,20 @@ public class Main {
                 } else {
                     System.out.println("Solution not saved.");
                 }
+            } else if (result.getStopReason().isBudgetExceeded()) {
+                System.out.println("\nSearch stopped: " + result.getStopReason().describe());
+                System.out.println("Number of states examined: " + result.getNodesExamined());
+                System.out.println("Execution time: " + executionTime + " ms");
+                
+                // Show how far the search got
+                Solution partial = result.getPartialSolution();
+                if (partial != null) {
+                    System.out.println("Best partial path: " + partial.getMoves().size() + " moves");
+                    System.out.println("\nClosest state reached:");
+                    renderer.print(partial.getStates().get(partial.getStates().size() - 1));
+                }
+            } else if (result.getStopReason() == StopReason.UNSOLVABLE) {
+                System.out.println("\nNo solution found! The puzzle is unsolvable: " + result.getUnsolvableReason());
             } else {
                 System.out.println("\nNo solution found!");
             }
@@ -173,68 +210,16 @@ public class Main {
     }
     
     /**
-     * Write final board state to file with primary piece shown next to exit
+     * Print what was read from the puzzle file
      */
-    private static void writeFinalBoardWithExitedPiece(PrintWriter writer, Board board) {
-        int width = board.getWidth();
-        int height = board.getHeight();
-        
-        Exit exitSide = board.getExitSide();
-        Position exitPosition = board.getExitPosition();
-        
-        // Top exit if exists
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("KP"); // Show K with P outside
-                    j++; // Skip one column as we printed two characters
-                } else {
-                    writer.print(" ");
-                }
-            }
-            writer.println();
-        }
-        
-        // Board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                writer.print("PK"); // Show P outside, then K
-            }
-            
-            // Board cells
-            for (int j = 0; j < width; j++) {
-                char c = board.getGridAt(i, j);
-                // Don't show P in the board for final state (it's exited)
-                if (c == 'P') {
-                    writer.print('.');
-                } else {
-                    writer.print(c);
-                }
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                writer.print("KP"); // Show K then P outside
-            }
-            
-            writer.println();
-        }
-        
-        // Bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("KP"); // Show K with P outside
-                    j++; // Skip one column as we printed two characters
-                } else {
-                    writer.print(" ");
-                }
-            }
-            writer.println();
-        }
+    private static void printLoadSummary(Board board) {
+        System.out.println("Board loaded successfully:");
+        System.out.println("- Primary piece: " + board.getPrimaryPiece().getId());
+        System.out.println("- Exit position: " + board.getExitPosition());
+        System.out.println("- Exit on: " + board.getExitSide());
+        System.out.println("- Total pieces: " + board.getPieces().size());
     }
-
+    
     /**
      * Save solution to a file with P shown next to exit K
      */
@@ -246,192 +231,51 @@ public class Main {
             outputDir.mkdirs();
         }
         
-        // Write solution to file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(outputPath))) {
-            // Write execution info
-            writer.println("=== Rush Hour Solution ===");
-            writer.println("Algorithm used: " + algorithmUsed);
-            writer.println("Number of states examined: " + solution.getStatesExamined());
-            writer.println("Number of moves: " + solution.getMoves().size());
-            writer.println("Execution time: " + executionTime + " ms");
-            writer.println();
-            
-            // Write move sequence
-            writer.println("Move sequence:");
-            writer.println(formatMoveSequence(solution.getMoves()));
-            writer.println();
-            
-            // Write initial board
-            writer.println("Papan Awal");
-            writeBoard(writer, solution.getStates().get(0));
-            
-            // Write each move except the last
-            List<Move> moves = solution.getMoves();
-            List<Board> states = solution.getStates();
-            
-            for (int i = 0; i < moves.size() - 1; i++) {
-                writer.println();
-                writer.println("Gerakan " + (i + 1) + ": " + moves.get(i));
-                writeBoard(writer, states.get(i + 1));
-            }
-            
-            // Write the final move with special visualization
-            if (moves.size() > 0) {
-                int lastIndex = moves.size() - 1;
-                writer.println();
-                writer.println("Gerakan " + (lastIndex + 1) + ": " + moves.get(lastIndex));
-                writeFinalBoardWithExitedPiece(writer, states.get(states.size() - 1));
-            }
-            
-            writer.println();
-            writer.println("[Primary piece has reached the exit!]");
-        }
-    }
-
-    /**
-     * Write final board state to file with primary piece shown exiting
-     */
-    public static void writeFinalBoard(PrintWriter writer, Board board) {
-        int width = board.getWidth();
-        int height = board.getHeight();
-        
-        Exit exitSide = board.getExitSide();
-        Position exitPosition = board.getExitPosition();
-        
-        // Top exit if exists
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("P"); // Show primary piece exiting at top
-                } else {
-                    writer.print(" ");
-                }
-            }
-            writer.println();
-        }
-        
-        // Board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                writer.print("P"); // Show primary piece exiting at left
-            }
-            
-            // Board cells
-            for (int j = 0; j < width; j++) {
-                writer.print(board.getGridAt(i, j));
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                writer.print("P"); // Show primary piece exiting at right
-            }
-            
-            writer.println();
-        }
-        
-        // Bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("P"); // Show primary piece exiting at bottom
-                } else {
-                    writer.print(" ");
-                }
-            }
-            writer.println();
-        }
+        // Stream the solution, replaying the moves from the initial board
+        SolutionWriter.save(Paths.get(outputPath), Arrays.asList(
+            "Algorithm used: " + algorithmUsed,
+            "Number of states examined: " + solution.getStatesExamined(),
+            "Number of moves: " + solution.getMoves().size(),
+            "Execution time: " + executionTime + " ms"
+        ), initialBoard, solution.getMoves(), false);
     }
     
     /**
-     * Format move sequence for display
+     * Get yes/no choice from user
      */
-    private static String formatMoveSequence(List<Move> moves) {
-        StringBuilder sb = new StringBuilder();
-        int count = 0;
+    private static String getYesNoChoice(Scanner scanner) {
+        String choice = scanner.nextLine().trim();
         
-        for (Move move : moves) {
-            sb.append(move.toString()).append(" ");
-            count++;
-            
-            // Add newline every 16 moves for readability
-            if (count % 16 == 0) {
-                sb.append("\n");
-            }
+        while (!choice.equalsIgnoreCase("y") && !choice.equalsIgnoreCase("n")) {
+            System.out.print(RED + "Invalid input! Please enter 'y' or 'n': " + RESET);
+            choice = scanner.nextLine().trim();
         }
         
-        sb.append("(").append(moves.size()).append(" moves)");
-        return sb.toString();
+        return choice;
     }
     
     /**
-     * Write board to a file
+     * Read an optional non-negative number, blank meaning 0 (no limit)
      */
-    private static void writeBoard(PrintWriter writer, Board board) {
-        // Write board without colors (plain text for file)
-        int width = board.getWidth();
-        int height = board.getHeight();
-        
-        // Top exit if exists
-        Exit exitSide = board.getExitSide();
-        Position exitPosition = board.getExitPosition();
-        
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("K");
-                } else {
-                    writer.print(" ");
-                }
-            }
-            writer.println();
-        }
+    private static long getOptionalLong(Scanner scanner, String prompt) {
+        System.out.print(prompt);
+        String input = scanner.nextLine().trim();
         
-        // Board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                writer.print("K");
-            }
-            
-            // Board cells
-            for (int j = 0; j < width; j++) {
-                writer.print(board.getGridAt(i, j));
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                writer.print("K");
+        while (true) {
+            if (input.isEmpty()) {
+                return 0;
             }
-            
-            writer.println();
-        }
-        
-        // Bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.print("K");
-                } else {
-                    writer.print(" ");
+            try {
+                long value = Long.parseLong(input);
+                if (value >= 0) {
+                    return value;
                 }
+                System.out.print(RED + "Invalid input! Please enter a non-negative number: " + RESET);
+            } catch (NumberFormatException e) {
+                System.out.print(RED + "Invalid input! Please enter a number or leave it blank: " + RESET);
             }
-            writer.println();
-        }
-    }
-    
-    /**
-     * Get yes/no choice from user
-     */
-    private static String getYesNoChoice(Scanner scanner) {
-        String choice = scanner.nextLine().trim();
-        
-        while (!choice.equalsIgnoreCase("y") && !choice.equalsIgnoreCase("n")) {
-            System.out.print(RED + "Invalid input! Please enter 'y' or 'n': " + RESET);
-            choice = scanner.nextLine().trim();
+            input = scanner.nextLine().trim();
         }
-        
-        return choice;
     }
     
     /**
@@ -0,0 +1,113 @@
+package cli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Converts single puzzle files into a puzzle pack, or one pack format into the other.
+ * Puzzle text is copied verbatim, so invalid puzzles keep reporting the same parse errors.
+ *
+ * Usage: PackConverter [--text|--binary] --out pack.rhpk|pack.pack paths...
+ * Paths may be puzzle .txt files, directories (their .txt files are added) or existing packs.
+ */
+public class PackConverter {
+
+    public static void main(String[] args) {
+        String outputPath = null;
+        Boolean binary = null;
+        List<Path> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out":
+                        if (++i >= args.length) {
+                            throw new IllegalArgumentException("Missing value for --out");
+                        }
+                        outputPath = args[i];
+                        break;
+                    case "--text": binary = false; break;
+                    case "--binary": binary = true; break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        inputs.add(Paths.get(args[i]));
+                }
+            }
+            if (outputPath == null || inputs.isEmpty()) {
+                throw new IllegalArgumentException("An output pack and at least one input are required");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        Path output = Paths.get(outputPath);
+        if (binary == null) {
+            binary = !output.getFileName().toString().toLowerCase().endsWith(PuzzlePack.TEXT_EXTENSION);
+        }
+
+        try {
+            Map<String, byte[]> puzzles = collect(inputs);
+            if (binary) {
+                PuzzlePack.writeBinary(output, puzzles);
+            } else {
+                PuzzlePack.writeText(output, puzzles);
+            }
+            System.out.println("Packed " + puzzles.size() + " puzzles into " + output
+                               + (binary ? " (binary)" : " (text)"));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gather puzzle texts in input order, keyed by a name unique within the pack
+     */
+    public static Map<String, byte[]> collect(List<Path> inputs) throws IOException {
+        Map<String, byte[]> puzzles = new LinkedHashMap<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                File[] files = input.toFile().listFiles((dir, name) -> name.endsWith(".txt"));
+                if (files != null) {
+                    Arrays.sort(files);
+                    for (File file : files) {
+                        add(puzzles, file.getName(), Files.readAllBytes(file.toPath()));
+                    }
+                }
+            } else if (PuzzlePack.isPackPath(input)) {
+                for (PuzzlePack.Entry entry : PuzzlePack.open(input)) {
+                    ByteBuffer data = entry.getData();
+                    byte[] text = new byte[data.remaining()];
+                    data.get(text);
+                    add(puzzles, entry.getName(), text);
+                }
+            } else {
+                add(puzzles, input.getFileName().toString(), Files.readAllBytes(input));
+            }
+        }
+        return puzzles;
+    }
+
+    private static void add(Map<String, byte[]> puzzles, String name, byte[] text) {
+        if (name.isEmpty() || name.contains("\n")) {
+            throw new IllegalArgumentException("Invalid puzzle name: \"" + name + "\"");
+        }
+        if (puzzles.putIfAbsent(name, text) != null) {
+            throw new IllegalArgumentException("Duplicate puzzle name in pack: " + name);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: PackConverter [--text|--binary] --out <pack> <puzzle file, directory or pack>...");
+        System.out.println("  --out file                                   Pack to write; .pack is text, anything else binary");
+        System.out.println("  --text                                       Force the text pack format");
+        System.out.println("  --binary                                     Force the binary pack format");
+    }
+}
@@ -0,0 +1,497 @@
+package cli;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Generates hard puzzles with known optimal solution lengths.
+ *
+ * Random layouts are drawn from a board size and a piece-set specification. For every layout the
+ * whole set of reachable states is enumerated, then a backward breadth-first search from all goal
+ * states (primary piece touching the exit) labels each state with its exact distance to a solution.
+ * The states farthest from solved are written in the regular puzzle file format, together with a
+ * manifest.csv giving their optimal number of moves, so the solvers can be checked against ground truth.
+ *
+ * States are packed into a long holding the leading coordinate of every piece (the lanes never
+ * change, like in StateCodec). Both searches expand whole layers in parallel. Distances use the same
+ * move model as the solvers: single-cell moves by default, or maximum-distance slides with --compound.
+ *
+ * Usage: PuzzleGenerator --rows r --cols c --pieces 2,2,3,... [--exit-row r] [--layouts n] [--keep n]
+ *                        [--min-moves n] [--max-states n] [--compound] [--seed n] --out dir
+ */
+public class PuzzleGenerator {
+    private static final String PIECE_IDS = "ABCDEFGHIJLMNOQRSTUVWXYZ";
+    private static final int PLACEMENT_ATTEMPTS = 1000;
+
+    private final int rows;
+    private final int cols;
+    private final int exitRow;
+    private final int[] pieceLengths;
+    private final boolean isCompound;
+    private final int maxStates;
+    private final int bits;
+    private final long mask;
+
+    /**
+     * Hardest state found in one reachable set
+     */
+    public static class Result {
+        public final Layout layout;
+        public final long state;
+        public final int distance;
+        public final int reachableStates;
+        public final int goalStates;
+
+        Result(Layout layout, long state, int distance, int reachableStates, int goalStates) {
+            this.layout = layout;
+            this.state = state;
+            this.distance = distance;
+            this.reachableStates = reachableStates;
+            this.goalStates = goalStates;
+        }
+    }
+
+    /**
+     * Fixed lanes of a layout; piece 0 is the primary piece
+     */
+    public static class Layout {
+        final boolean[] horizontal;
+        final int[] lane;
+        final int[] length;
+
+        Layout(boolean[] horizontal, int[] lane, int[] length) {
+            this.horizontal = horizontal;
+            this.lane = lane;
+            this.length = length;
+        }
+
+        String signature() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < lane.length; i++) {
+                sb.append(horizontal[i] ? 'H' : 'V').append(lane[i]).append(':').append(length[i]).append(' ');
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * @param pieceLengths Lengths of the non-primary pieces; the primary piece is always length 2
+     * @param exitRow Row of the primary piece and of the exit on the right edge
+     * @param maxStates Reachable sets larger than this are skipped
+     */
+    public PuzzleGenerator(int rows, int cols, int[] pieceLengths, int exitRow, boolean isCompound, int maxStates) {
+        if (rows < 2 || cols < 3) {
+            throw new IllegalArgumentException("Board must be at least 2x3");
+        }
+        if (exitRow < 0 || exitRow >= rows) {
+            throw new IllegalArgumentException("Exit row must be between 0 and " + (rows - 1));
+        }
+        if (pieceLengths.length > PIECE_IDS.length()) {
+            throw new IllegalArgumentException("At most " + PIECE_IDS.length() + " non-primary pieces are supported");
+        }
+        for (int length : pieceLengths) {
+            if (length < 2 || length > Math.max(rows, cols)) {
+                throw new IllegalArgumentException("Piece length " + length + " does not fit a " + rows + "x" + cols + " board");
+            }
+        }
+
+        this.rows = rows;
+        this.cols = cols;
+        this.exitRow = exitRow;
+        this.pieceLengths = pieceLengths.clone();
+        this.isCompound = isCompound;
+        this.maxStates = maxStates;
+        this.bits = 32 - Integer.numberOfLeadingZeros(Math.max(rows, cols) - 1);
+        this.mask = (1L << bits) - 1;
+
+        if ((long) bits * (pieceLengths.length + 1) > 64) {
+            throw new IllegalArgumentException("Too many pieces to pack a " + rows + "x" + cols + " state into 64 bits");
+        }
+    }
+
+    /**
+     * Draw layouts and keep the hardest state of each distinct reachable set, hardest first
+     */
+    public List<Result> generate(int layouts, int minMoves, Random random) {
+        List<Result> results = new ArrayList<>();
+        Map<String, Set<Long>> seenSets = new HashMap<>();
+
+        for (int attempt = 0; attempt < layouts; attempt++) {
+            Layout layout = randomLayout(random);
+            if (layout == null) {
+                continue;
+            }
+            long seed = randomPlacement(layout, random);
+            if (seed < 0) {
+                continue;
+            }
+
+            Result result = analyze(layout, seed);
+            if (result == null || result.distance < minMoves) {
+                continue;
+            }
+
+            // Different seeds often land in the same reachable set; its hardest state identifies it
+            if (seenSets.computeIfAbsent(layout.signature(), k -> new HashSet<>()).add(result.state)) {
+                results.add(result);
+            }
+        }
+
+        results.sort((a, b) -> b.distance != a.distance ? Integer.compare(b.distance, a.distance)
+                                                         : Integer.compare(b.reachableStates, a.reachableStates));
+        return results;
+    }
+
+    /**
+     * Enumerate every state reachable from a seed and find the one farthest from a goal
+     * @return The hardest state, or null when no goal is reachable or the set is too large
+     */
+    public Result analyze(Layout layout, long seed) {
+        long[] states = enumerate(layout, seed);
+        if (states == null) {
+            return null;
+        }
+        int n = states.length;
+
+        // Successor lists by index, then the reversed edges in compressed form
+        int[][] successors = new int[n][];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            long[] next = successors(layout, states[i]);
+            int[] indices = new int[next.length];
+            for (int j = 0; j < next.length; j++) {
+                indices[j] = Arrays.binarySearch(states, next[j]);
+            }
+            successors[i] = indices;
+        });
+
+        int[] predecessorStart = new int[n + 1];
+        for (int[] edges : successors) {
+            for (int target : edges) {
+                predecessorStart[target + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            predecessorStart[i + 1] += predecessorStart[i];
+        }
+        int[] predecessors = new int[predecessorStart[n]];
+        int[] fill = Arrays.copyOf(predecessorStart, n);
+        for (int i = 0; i < n; i++) {
+            for (int target : successors[i]) {
+                predecessors[fill[target]++] = i;
+            }
+        }
+
+        // Multi-source backward BFS from every goal state
+        AtomicIntegerArray distance = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            distance.set(i, -1);
+        }
+        int[] frontier = IntStream.range(0, n).filter(i -> isGoal(layout, states[i])).toArray();
+        if (frontier.length == 0) {
+            return null;
+        }
+        int goalStates = frontier.length;
+        for (int goal : frontier) {
+            distance.set(goal, 0);
+        }
+
+        int depth = 0;
+        int[] last = frontier;
+        while (frontier.length > 0) {
+            last = frontier;
+            final int nextDepth = depth + 1;
+            frontier = IntStream.of(frontier).parallel()
+                .flatMap(v -> IntStream.range(predecessorStart[v], predecessorStart[v + 1]).map(e -> predecessors[e]))
+                .filter(u -> distance.compareAndSet(u, -1, nextDepth))
+                .toArray();
+            if (frontier.length > 0) {
+                depth = nextDepth;
+            }
+        }
+
+        // The smallest packed state of the last layer keeps the output reproducible
+        int hardest = IntStream.of(last).min().getAsInt();
+        return new Result(layout, states[hardest], depth, n, goalStates);
+    }
+
+    /**
+     * Parallel layered BFS over the reachable states, returned sorted
+     */
+    private long[] enumerate(Layout layout, long seed) {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        seen.add(seed);
+        long[] frontier = {seed};
+
+        while (frontier.length > 0) {
+            if (seen.size() > maxStates) {
+                return null;
+            }
+            frontier = LongStream.of(frontier).parallel()
+                .flatMap(state -> LongStream.of(successors(layout, state)))
+                .filter(seen::add)
+                .toArray();
+        }
+
+        long[] states = new long[seen.size()];
+        int i = 0;
+        for (long state : seen) {
+            states[i++] = state;
+        }
+        Arrays.sort(states);
+        return states;
+    }
+
+    /**
+     * States one move away, using the same move rules as the solver
+     */
+    long[] successors(Layout layout, long state) {
+        int pieces = layout.lane.length;
+        boolean[] occupied = occupancy(layout, state);
+        long[] result = new long[pieces * 2];
+        int count = 0;
+
+        for (int i = 0; i < pieces; i++) {
+            int lead = lead(state, i);
+            int limit = layout.horizontal[i] ? cols : rows;
+            int length = layout.length[i];
+
+            // Free cells behind and ahead of the piece along its lane
+            int back = 0;
+            while (lead - back - 1 >= 0 && !occupied[cell(layout, i, lead - back - 1)]) {
+                back++;
+            }
+            int ahead = 0;
+            while (lead + length + ahead < limit && !occupied[cell(layout, i, lead + length + ahead)]) {
+                ahead++;
+            }
+
+            if (back > 0) {
+                result[count++] = withLead(state, i, lead - (isCompound ? back : 1));
+            }
+            if (ahead > 0) {
+                result[count++] = withLead(state, i, lead + (isCompound ? ahead : 1));
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    boolean isGoal(Layout layout, long state) {
+        return lead(state, 0) + layout.length[0] == cols;
+    }
+
+    private boolean[] occupancy(Layout layout, long state) {
+        boolean[] occupied = new boolean[rows * cols];
+        for (int i = 0; i < layout.lane.length; i++) {
+            int lead = lead(state, i);
+            for (int k = 0; k < layout.length[i]; k++) {
+                occupied[cell(layout, i, lead + k)] = true;
+            }
+        }
+        return occupied;
+    }
+
+    private int cell(Layout layout, int piece, int offset) {
+        return layout.horizontal[piece] ? layout.lane[piece] * cols + offset : offset * cols + layout.lane[piece];
+    }
+
+    private int lead(long state, int piece) {
+        return (int) ((state >>> (piece * bits)) & mask);
+    }
+
+    private long withLead(long state, int piece, int lead) {
+        int shift = piece * bits;
+        return (state & ~(mask << shift)) | ((long) lead << shift);
+    }
+
+    private Layout randomLayout(Random random) {
+        int pieces = pieceLengths.length + 1;
+        boolean[] horizontal = new boolean[pieces];
+        int[] lane = new int[pieces];
+        int[] length = new int[pieces];
+
+        horizontal[0] = true;
+        lane[0] = exitRow;
+        length[0] = 2;
+        for (int i = 1; i < pieces; i++) {
+            length[i] = pieceLengths[i - 1];
+            boolean fitsHorizontal = length[i] <= cols;
+            boolean fitsVertical = length[i] <= rows;
+            horizontal[i] = fitsHorizontal && (!fitsVertical || random.nextBoolean());
+            lane[i] = random.nextInt(horizontal[i] ? rows : cols);
+        }
+        return new Layout(horizontal, lane, length);
+    }
+
+    /**
+     * Place every piece somewhere in its lane without overlaps, or -1 when no placement was found
+     */
+    private long randomPlacement(Layout layout, Random random) {
+        int pieces = layout.lane.length;
+        for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+            boolean[] occupied = new boolean[rows * cols];
+            long state = 0;
+            boolean placed = true;
+
+            for (int i = 0; i < pieces && placed; i++) {
+                int limit = layout.horizontal[i] ? cols : rows;
+                int lead = random.nextInt(limit - layout.length[i] + 1);
+                for (int k = 0; k < layout.length[i]; k++) {
+                    if (occupied[cell(layout, i, lead + k)]) {
+                        placed = false;
+                        break;
+                    }
+                }
+                if (placed) {
+                    for (int k = 0; k < layout.length[i]; k++) {
+                        occupied[cell(layout, i, lead + k)] = true;
+                    }
+                    state = withLead(state, i, lead);
+                }
+            }
+            if (placed) {
+                return state;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Render a state in the puzzle file format, with the exit on the right of the primary row
+     */
+    public String toPuzzleText(Layout layout, long state) {
+        char[][] grid = new char[rows][cols];
+        for (char[] row : grid) {
+            Arrays.fill(row, '.');
+        }
+        for (int i = 0; i < layout.lane.length; i++) {
+            char id = i == 0 ? 'P' : PIECE_IDS.charAt(i - 1);
+            int lead = lead(state, i);
+            for (int k = 0; k < layout.length[i]; k++) {
+                int c = cell(layout, i, lead + k);
+                grid[c / cols][c % cols] = id;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(rows).append(' ').append(cols).append('\n');
+        sb.append(layout.lane.length - 1).append('\n');
+        for (int r = 0; r < rows; r++) {
+            sb.append(grid[r]);
+            if (r == exitRow) {
+                sb.append('K');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) {
+        int rows = 6;
+        int cols = 6;
+        int exitRow = -1;
+        int[] pieces = {2, 2, 2, 2, 2, 2, 3, 3, 3};
+        int layouts = 200;
+        int keep = 20;
+        int minMoves = 1;
+        int maxStates = 2_000_000;
+        boolean isCompound = false;
+        long seed = 1;
+        String outputDir = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--rows": rows = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--cols": cols = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--exit-row": exitRow = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--pieces": pieces = parsePieces(requireValue(args, ++i)); break;
+                    case "--layouts": layouts = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--keep": keep = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--min-moves": minMoves = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--max-states": maxStates = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--compound": isCompound = true; break;
+                    case "--seed": seed = Long.parseLong(requireValue(args, ++i)); break;
+                    case "--out": outputDir = requireValue(args, ++i); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (outputDir == null) {
+                throw new IllegalArgumentException("An output directory is required (--out)");
+            }
+            if (exitRow < 0) {
+                exitRow = (rows - 1) / 2;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        try {
+            PuzzleGenerator generator = new PuzzleGenerator(rows, cols, pieces, exitRow, isCompound, maxStates);
+            long startTime = System.currentTimeMillis();
+            List<Result> results = generator.generate(layouts, minMoves, new Random(seed));
+            List<Result> kept = results.subList(0, Math.min(keep, results.size()));
+            generator.write(Paths.get(outputDir), kept);
+            System.out.println("Analyzed " + layouts + " layouts in " + (System.currentTimeMillis() - startTime)
+                               + " ms; wrote " + kept.size() + " puzzles to " + outputDir
+                               + (kept.isEmpty() ? "" : " (hardest: " + kept.get(0).distance + " moves)"));
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Write the puzzles and a manifest.csv with their optimal move counts
+     */
+    public void write(Path dir, List<Result> results) throws IOException {
+        Files.createDirectories(dir);
+        String metric = isCompound ? "compound" : "single";
+        try (PrintWriter manifest = new PrintWriter(Files.newBufferedWriter(dir.resolve("manifest.csv")))) {
+            manifest.println("file,rows,cols,pieces,metric,optimal_moves,reachable_states,goal_states");
+            for (int i = 0; i < results.size(); i++) {
+                Result result = results.get(i);
+                String name = String.format("gen_%dx%d_%03d_%dmoves.txt", rows, cols, i + 1, result.distance);
+                Files.write(dir.resolve(name), toPuzzleText(result.layout, result.state).getBytes());
+                manifest.println(name + "," + rows + "," + cols + "," + (result.layout.lane.length - 1) + "," + metric
+                                 + "," + result.distance + "," + result.reachableStates + "," + result.goalStates);
+            }
+        }
+    }
+
+    private static int[] parsePieces(String spec) {
+        String[] parts = spec.split(",");
+        int[] lengths = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            lengths[i] = Integer.parseInt(parts[i].trim());
+        }
+        return lengths;
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: PuzzleGenerator [options] --out <directory>");
+        System.out.println("  --rows r, --cols c                           Board size (default: 6 6)");
+        System.out.println("  --pieces 2,2,3,...                           Lengths of the non-primary pieces (default: six cars, three trucks)");
+        System.out.println("  --exit-row r                                 Row of the primary piece and exit (default: middle)");
+        System.out.println("  --layouts n                                  Random layouts to analyze (default: 200)");
+        System.out.println("  --keep n                                     Hardest puzzles to write (default: 20)");
+        System.out.println("  --min-moves n                                Drop puzzles solvable in fewer moves");
+        System.out.println("  --max-states n                               Skip reachable sets larger than this (default: 2000000)");
+        System.out.println("  --compound                                   Count maximum-distance slides as one move");
+        System.out.println("  --seed n                                     Random seed (default: 1)");
+    }
+}
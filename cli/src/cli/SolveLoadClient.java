@@ -0,0 +1,232 @@
+package cli;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for SolveServer: sends solve requests from a number of concurrent clients
+ * and reports the throughput and latency percentiles of answered solves (status 200). Rejected
+ * requests (429, 503) and errors are counted separately, so fast rejections cannot make an
+ * overloaded server look quick.
+ *
+ * Usage: SolveLoadClient [--url url] [--concurrency n] [--requests n] [--warmup n] [--algo name]
+ *                        [--heuristic name] [--compound] [--deadline ms] puzzle files or directories...
+ */
+public class SolveLoadClient {
+
+    public static void main(String[] args) {
+        String url = "http://localhost:" + SolveServer.DEFAULT_PORT + "/solve";
+        int concurrency = 8;
+        int requests = 200;
+        int warmup = 20;
+        String algorithm = "astar";
+        String heuristic = "blocking";
+        boolean isCompound = false;
+        long deadline = 0;
+        List<String> puzzles = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--url": url = requireValue(args, ++i); break;
+                    case "--concurrency": concurrency = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--requests": requests = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--warmup": warmup = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--algo": algorithm = requireValue(args, ++i); break;
+                    case "--heuristic": heuristic = requireValue(args, ++i); break;
+                    case "--compound": isCompound = true; break;
+                    case "--deadline": deadline = Long.parseLong(requireValue(args, ++i)); break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        collectPuzzles(Paths.get(args[i]), puzzles);
+                }
+            }
+            if (puzzles.isEmpty()) {
+                throw new IllegalArgumentException("At least one puzzle file is required");
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+
+        List<String> bodies = new ArrayList<>();
+        for (String puzzle : puzzles) {
+            bodies.add("{\"puzzle\":" + Json.quote(puzzle) + ",\"algorithm\":" + Json.quote(algorithm)
+                       + ",\"heuristic\":" + Json.quote(heuristic) + ",\"compound\":" + isCompound
+                       + (deadline > 0 ? ",\"deadlineMs\":" + deadline : "") + "}");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(concurrency))
+            .build();
+        URI target = URI.create(url);
+
+        if (warmup > 0) {
+            run(client, target, bodies, concurrency, warmup);
+        }
+        Report report = run(client, target, bodies, concurrency, requests);
+        report.print(System.out);
+        System.exit(0);
+    }
+
+    /**
+     * Outcome of a load run
+     */
+    static class Report {
+        // Latency and status code of every response, in the same order
+        final long[] latenciesNanos;
+        final int[] statuses;
+        final Map<Integer, Integer> statusCounts;
+        final int failures;
+        final long elapsedNanos;
+
+        Report(long[] latenciesNanos, int[] statuses, Map<Integer, Integer> statusCounts, int failures,
+               long elapsedNanos) {
+            this.latenciesNanos = latenciesNanos;
+            this.statuses = statuses;
+            this.statusCounts = statusCounts;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void print(PrintStream out) {
+            long[] solves = latenciesWithStatus(200);
+            int answered = latenciesNanos.length;
+            int rejected = statusCounts.getOrDefault(429, 0) + statusCounts.getOrDefault(503, 0);
+            double seconds = elapsedNanos / 1e9;
+
+            out.println("Requests:     " + (answered + failures) + " (" + failures + " failed to connect)");
+            out.println("Status codes: " + statusCounts);
+            out.printf("Elapsed:      %.2f s%n", seconds);
+            out.printf("Throughput:   %.1f solves/s answered with 200 (%.1f responses/s of any status)%n",
+                       solves.length / seconds, answered / seconds);
+            if (solves.length > 0) {
+                out.printf("Latency:      p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms (200 only)%n",
+                           percentile(solves, 0.50), percentile(solves, 0.90),
+                           percentile(solves, 0.99), solves[solves.length - 1] / 1e6);
+            } else {
+                out.println("Latency:      no request was answered with 200");
+            }
+            out.printf("Rejected:     %d (429 or 503)%n", rejected);
+            out.printf("Other errors: %d%n", answered - solves.length - rejected);
+        }
+
+        /**
+         * Sorted latencies of the responses with the given status code
+         */
+        private long[] latenciesWithStatus(int status) {
+            long[] matching = new long[latenciesNanos.length];
+            int count = 0;
+            for (int i = 0; i < latenciesNanos.length; i++) {
+                if (statuses[i] == status) {
+                    matching[count++] = latenciesNanos[i];
+                }
+            }
+            long[] sorted = Arrays.copyOf(matching, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * Send the given number of requests with a fixed number of requests in flight
+     */
+    static Report run(HttpClient client, URI target, List<String> bodies, int concurrency, int requests) {
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Map<Integer, Integer> statusCounts = new ConcurrentSkipListMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int worker = 0; worker < concurrency; worker++) {
+            pool.execute(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(target)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(bodies.get(index % bodies.size())))
+                        .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        long latency = System.nanoTime() - sent;
+                        int slot = recorded.getAndIncrement();
+                        latencies[slot] = latency;
+                        statuses[slot] = response.statusCode();
+                        statusCounts.merge(response.statusCode(), 1, Integer::sum);
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int count = recorded.get();
+        return new Report(Arrays.copyOf(latencies, count), Arrays.copyOf(statuses, count), statusCounts,
+                          failures.get(), elapsed);
+    }
+
+    private static void collectPuzzles(Path path, List<String> puzzles) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*.txt")) {
+                List<Path> sorted = new ArrayList<>();
+                files.forEach(sorted::add);
+                Collections.sort(sorted);
+                for (Path file : sorted) {
+                    puzzles.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+                }
+            }
+        } else {
+            puzzles.add(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: SolveLoadClient [options] <puzzle file or directory>...");
+        System.out.println("  --url url                                    Solve endpoint (default: http://localhost:8080/solve)");
+        System.out.println("  --concurrency n                              Requests in flight (default: 8)");
+        System.out.println("  --requests n                                 Measured requests (default: 200)");
+        System.out.println("  --warmup n                                   Unmeasured requests sent first (default: 20)");
+        System.out.println("  --algo name, --heuristic name, --compound    Solve options sent with every request");
+        System.out.println("  --deadline ms                                Per-request deadline");
+    }
+}
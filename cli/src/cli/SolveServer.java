@@ -0,0 +1,439 @@
+package cli;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless HTTP/JSON solve service built on the JDK's HttpServer.
+ *
+ * POST /solve takes a JSON object:
+ *   {"puzzle": "6 6\n11\n...", "algorithm": "astar", "heuristic": "blocking",
+ *    "compound": false, "deadlineMs": 5000, "maxNodes": 0}
+ * and answers with the moves and search statistics. GET /health reports the load.
+ *
+ * Requests are parsed and validated on the HTTP threads, then handed to a fixed pool of
+ * solver threads behind a bounded queue. When the queue is full the request is rejected
+ * immediately with 429 so clients back off instead of piling up. The deadline covers the
+ * time spent queued: a request whose deadline passed before a worker picked it up gets 503,
+ * otherwise the remaining time becomes the solver's time limit. Every solve also gets a memory
+ * budget, and portfolio races share a pool of member threads no larger than the worker count;
+ * a race that finds no free member threads gets 429 like a full queue. Beam search expands its
+ * layers on the solve thread, so no solve uses more threads than it was given.
+ *
+ * Usage: SolveServer [--port n] [--workers n] [--queue n] [--default-deadline ms] [--max-deadline ms]
+ *                    [--max-memory mb]
+ */
+public class SolveServer {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final Set<String> ALGORITHMS = new HashSet<>(Arrays.asList(
+        "ucs", "greedy", "astar", "ara", "dijkstra", "beam", "ida", "extbfs", "portfolio"));
+    // Names Solver understands, short and as shown in the GUI; anything else would silently run Manhattan
+    private static final Set<String> HEURISTICS = new HashSet<>(Arrays.asList(
+        "manhattan", "manhattan distance", "direct", "direct distance",
+        "blocking", "blocking count", "clearing", "clearing moves"));
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor solvePool;
+    // One solver serves every worker, each solve gets its own request and options
+    private final Solver solver = new Solver();
+    private final ExecutorService httpPool;
+    // Threads portfolio races may add on top of the workers, one permit per member thread
+    private final Semaphore memberThreads;
+    private final int workers;
+    private final long defaultDeadlineMillis;
+    private final long maxDeadlineMillis;
+    private final long maxMemoryBytes;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * @param workers Number of solves running at the same time
+     * @param queueCapacity Solves allowed to wait for a worker before new requests get 429
+     * @param defaultDeadlineMillis Deadline of requests that do not set one
+     * @param maxDeadlineMillis Upper bound on any requested deadline
+     * @param maxMemoryBytes Estimated heap one solve may retain, shared by the members of a portfolio race
+     */
+    public SolveServer(int port, int workers, int queueCapacity, long defaultDeadlineMillis, long maxDeadlineMillis,
+                       long maxMemoryBytes) throws IOException {
+        if (workers < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Need at least one worker and a non-negative queue capacity");
+        }
+        if (maxMemoryBytes <= 0) {
+            throw new IllegalArgumentException("The memory budget per solve must be positive");
+        }
+        this.defaultDeadlineMillis = defaultDeadlineMillis;
+        this.maxDeadlineMillis = maxDeadlineMillis;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.workers = workers;
+        this.memberThreads = new Semaphore(workers);
+
+        BlockingQueue<Runnable> queue = queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+        this.solvePool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, queue,
+                                                daemonThreads("solve-worker"), new ThreadPoolExecutor.AbortPolicy());
+        this.httpPool = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+                                                     daemonThreads("solve-http"));
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(httpPool);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/health", this::handleHealth);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests, wait for running solves up to the given time, then shut down
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        solvePool.shutdown();
+        try {
+            solvePool.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        solvePool.shutdownNow();
+        httpPool.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long receivedAt = System.nanoTime();
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST with a JSON body");
+                return;
+            }
+
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                sendError(exchange, 413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+
+            SolveRequest request;
+            try {
+                request = SolveRequest.parse(new String(body, StandardCharsets.UTF_8), defaultDeadlineMillis, maxDeadlineMillis);
+            } catch (IllegalArgumentException | IOException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            long deadline = receivedAt + request.deadlineMillis * 1_000_000L;
+            long queuedAt = System.nanoTime();
+            try {
+                solvePool.execute(() -> runSolve(exchange, request, queuedAt, deadline));
+                accepted.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 429, "Solver is saturated, retry later");
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            sendError(exchange, 500, describe(e));
+        }
+    }
+
+    private void runSolve(HttpExchange exchange, SolveRequest request, long queuedAt, long deadline) {
+        try {
+            long startedAt = System.nanoTime();
+            long remainingMillis = (deadline - startedAt) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                expired.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Deadline expired while queued");
+                return;
+            }
+
+            SolveOptions options = new SolveOptions(remainingMillis, request.maxNodes, maxMemoryBytes);
+            // Beam layers would otherwise fan out over the common pool and use every core, whatever --workers says
+            options.setParallelExpansion(false);
+            Solution solution;
+            StopReason reason;
+            int nodesExamined;
+            String algorithm = request.algorithm;
+            String unsolvableReason = null;
+
+            if (algorithm.equals("portfolio")) {
+                PortfolioSolver portfolio = PortfolioSolver.withDefaultMembers(options, request.isCompound);
+                // A race larger than the whole pool takes every permit and so runs alone
+                int threads = Math.min(portfolio.getMemberCount(), workers);
+                if (!memberThreads.tryAcquire(threads)) {
+                    rejected.incrementAndGet();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendError(exchange, 429, "No threads free for a portfolio race, retry later");
+                    return;
+                }
+                // The members run side by side, so they split the memory budget of one solve
+                options.setMaxMemoryBytes(Math.max(1, maxMemoryBytes / portfolio.getMemberCount()));
+                try {
+                    solution = portfolio.solve(request.board, request.isCompound);
+                } finally {
+                    memberThreads.release(threads);
+                }
+                reason = portfolio.getLastStopReason();
+                nodesExamined = portfolio.getLastNodesExamined();
+                if (portfolio.getLastWinner() != null) {
+                    algorithm = "portfolio:" + portfolio.getLastWinner();
+                }
+            } else {
+                SearchResult result = solver.solve(new SearchRequest(algorithm, request.board, request.heuristic,
+                                                                     request.isCompound).setOptions(options));
+                solution = result.getSolution();
+                reason = result.getStopReason();
+                nodesExamined = result.getNodesExamined();
+                unsolvableReason = result.getUnsolvableReason();
+            }
+            long finishedAt = System.nanoTime();
+
+            StringBuilder json = new StringBuilder(256);
+            String status = solution != null ? "solved"
+                : reason.isBudgetExceeded() || reason == StopReason.CANCELLED ? "stopped" : "unsolvable";
+            json.append("{\"status\":").append(Json.quote(status));
+            json.append(",\"algorithm\":").append(Json.quote(algorithm));
+            json.append(",\"stopReason\":").append(Json.quote(reason.describe()));
+            if (unsolvableReason != null) {
+                json.append(",\"unsolvableReason\":").append(Json.quote(unsolvableReason));
+            }
+            json.append(",\"statesExamined\":").append(nodesExamined);
+            json.append(",\"queueMs\":").append((startedAt - queuedAt) / 1_000_000L);
+            json.append(",\"solveMs\":").append((finishedAt - startedAt) / 1_000_000L);
+            if (solution != null) {
+                json.append(",\"moveCount\":").append(solution.getMoves().size());
+                json.append(",\"moves\":[");
+                List<Move> moves = solution.getMoves();
+                for (int i = 0; i < moves.size(); i++) {
+                    Move move = moves.get(i);
+                    int distance = move instanceof CompoundMove ? ((CompoundMove) move).getDistance() : 1;
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append("{\"piece\":").append(Json.quote(String.valueOf(move.getPiece().getId())))
+                        .append(",\"direction\":").append(Json.quote(move.getDirection()))
+                        .append(",\"distance\":").append(distance).append('}');
+                }
+                json.append(']');
+            }
+            json.append('}');
+
+            send(exchange, 200, json.toString());
+            completed.incrementAndGet();
+        } catch (IOException | RuntimeException | Error e) {
+            // Errors too, otherwise a solve that ran out of memory would leave the client waiting forever
+            try {
+                sendError(exchange, 500, describe(e));
+            } catch (IOException ignored) {
+                // Client already gone
+            }
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        String json = "{\"status\":\"ok\",\"active\":" + solvePool.getActiveCount()
+            + ",\"queued\":" + solvePool.getQueue().size()
+            + ",\"accepted\":" + accepted.get() + ",\"rejected\":" + rejected.get()
+            + ",\"expired\":" + expired.get() + ",\"completed\":" + completed.get() + "}";
+        send(exchange, 200, json);
+    }
+
+    /**
+     * Validated contents of a /solve request
+     */
+    static class SolveRequest {
+        final Board board;
+        final String algorithm;
+        final String heuristic;
+        final boolean isCompound;
+        final long deadlineMillis;
+        final long maxNodes;
+
+        private SolveRequest(Board board, String algorithm, String heuristic, boolean isCompound,
+                             long deadlineMillis, long maxNodes) {
+            this.board = board;
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+            this.isCompound = isCompound;
+            this.deadlineMillis = deadlineMillis;
+            this.maxNodes = maxNodes;
+        }
+
+        static SolveRequest parse(String body, long defaultDeadlineMillis, long maxDeadlineMillis) throws IOException {
+            Map<String, Object> fields = Json.parseObject(body);
+
+            Object puzzle = fields.get("puzzle");
+            if (!(puzzle instanceof String)) {
+                throw new IllegalArgumentException("Field \"puzzle\" must hold the puzzle text");
+            }
+            String algorithm = stringField(fields, "algorithm", "astar").toLowerCase();
+            if (!ALGORITHMS.contains(algorithm)) {
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+            }
+            String heuristic = stringField(fields, "heuristic", "manhattan");
+            if (!HEURISTICS.contains(heuristic.toLowerCase())) {
+                throw new IllegalArgumentException("Unknown heuristic: " + heuristic);
+            }
+            boolean isCompound = Boolean.TRUE.equals(fields.get("compound"));
+            long deadline = longField(fields, "deadlineMs", defaultDeadlineMillis);
+            if (deadline <= 0) {
+                throw new IllegalArgumentException("deadlineMs must be positive");
+            }
+            long maxNodes = longField(fields, "maxNodes", 0);
+
+            Board board = Board.parse((String) puzzle);
+            return new SolveRequest(board, algorithm, heuristic, isCompound, Math.min(deadline, maxDeadlineMillis), maxNodes);
+        }
+
+        private static String stringField(Map<String, Object> fields, String name, String fallback) {
+            Object value = fields.get(name);
+            if (value == null) {
+                return fallback;
+            }
+            if (!(value instanceof String)) {
+                throw new IllegalArgumentException("Field \"" + name + "\" must be a string");
+            }
+            return (String) value;
+        }
+
+        private static long longField(Map<String, Object> fields, String name, long fallback) {
+            Object value = fields.get(name);
+            if (value == null) {
+                return fallback;
+            }
+            if (!(value instanceof Double)) {
+                throw new IllegalArgumentException("Field \"" + name + "\" must be a number");
+            }
+            return ((Double) value).longValue();
+        }
+    }
+
+    /**
+     * Read the request body, or null when it is larger than the limit
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (out.size() + read > MAX_BODY_BYTES) {
+                    return null;
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Error message for a response, falling back to the exception type when there is no message
+     */
+    private static String describe(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        send(exchange, code, "{\"error\":" + Json.quote(message) + "}");
+    }
+
+    private static void send(HttpExchange exchange, int code, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int queue = -1;
+        long defaultDeadline = 10_000;
+        long maxDeadline = 60_000;
+        long maxMemoryMb = -1;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port": port = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--workers": workers = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--queue": queue = Integer.parseInt(requireValue(args, ++i)); break;
+                    case "--default-deadline": defaultDeadline = Long.parseLong(requireValue(args, ++i)); break;
+                    case "--max-deadline": maxDeadline = Long.parseLong(requireValue(args, ++i)); break;
+                    case "--max-memory": maxMemoryMb = Long.parseLong(requireValue(args, ++i)); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+        if (queue < 0) {
+            queue = workers * 4;
+        }
+        if (maxMemoryMb < 0) {
+            // Half the heap split between the workers leaves room for the estimate being low
+            maxMemoryMb = Math.max(1, Runtime.getRuntime().maxMemory() / 2 / Math.max(1, workers) / (1024 * 1024));
+        }
+
+        try {
+            SolveServer solveServer = new SolveServer(port, workers, queue, defaultDeadline, maxDeadline,
+                                                      maxMemoryMb * 1024L * 1024L);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> solveServer.stop(1)));
+            solveServer.start();
+            System.out.println("Solve service listening on http://localhost:" + solveServer.getPort()
+                               + "/solve (" + workers + " workers, queue " + queue + ")");
+            Thread.currentThread().join();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error starting solve service: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: SolveServer [options]");
+        System.out.println("  --port n                                     Port to listen on (default: 8080)");
+        System.out.println("  --workers n                                  Concurrent solves (default: number of CPUs)");
+        System.out.println("  --queue n                                    Solves waiting for a worker before 429 (default: 4 per worker)");
+        System.out.println("  --default-deadline ms                        Deadline of requests without deadlineMs (default: 10000)");
+        System.out.println("  --max-deadline ms                            Cap on requested deadlines (default: 60000)");
+        System.out.println("  --max-memory mb                              Estimated retained-heap budget per solve (default: half the heap split between the workers)");
+    }
+}
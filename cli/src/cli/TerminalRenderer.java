@@ -0,0 +1,352 @@
+package cli;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws boards and solutions on an ANSI terminal
+ * Every frame is built in one reused StringBuilder and written through a buffer with a single
+ * flush, instead of one print per cell. The animated mode draws the first board once, then moves
+ * the cursor back over it and rewrites only the cells that changed since the previous step.
+ */
+public class TerminalRenderer {
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";     // Primary piece
+    private static final String GREEN = "\u001B[32m";   // Exit
+    private static final String YELLOW = "\u001B[33m";  // Moving piece
+    private static final String HIDE_CURSOR = "\u001B[?25l";
+    private static final String SHOW_CURSOR = "\u001B[?25h";
+    private static final String CLEAR_LINE = "\u001B[2K";
+
+    // Cell colors, indexes into COLORS
+    private static final byte PLAIN = 0;
+    private static final byte PRIMARY = 1;
+    private static final byte EXIT = 2;
+    private static final byte MOVING = 3;
+    private static final String[] COLORS = { RESET, RED, GREEN, YELLOW };
+
+    // Total animation time aimed for, and the bounds on a single frame
+    private static final long ANIMATION_TARGET_MILLIS = 20_000;
+    private static final long MIN_FRAME_MILLIS = 30;
+    private static final long MAX_FRAME_MILLIS = 400;
+
+    private final Writer out;
+    private final StringBuilder frame = new StringBuilder(4096);
+
+    // Screen cells of the last laid out board, row-major with a fixed row width
+    private char[] chars = new char[0];
+    private byte[] colors = new byte[0];
+    private int rows;
+    private int cols;
+
+    // Cells on screen before the current layout, for the animated mode
+    private char[] shownChars = new char[0];
+    private byte[] shownColors = new byte[0];
+
+    public TerminalRenderer() {
+        this(System.out);
+    }
+
+    public TerminalRenderer(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Print a board with the primary piece and exit highlighted
+     */
+    public void print(Board board) {
+        frame.setLength(0);
+        layout(board, '\0', false);
+        appendScreen();
+        write(true);
+    }
+
+    /**
+     * Print a board with the piece of the last move highlighted as well
+     */
+    public void printWithMove(Board board, Move lastMove) {
+        frame.setLength(0);
+        layout(board, lastMove != null ? lastMove.getPiece().getId() : '\0', false);
+        appendScreen();
+        write(true);
+    }
+
+    /**
+     * Print a final board with the primary piece shown outside, next to the exit
+     */
+    public void printWithExitedPiece(Board board) {
+        frame.setLength(0);
+        layout(board, '\0', true);
+        appendScreen();
+        write(true);
+    }
+
+    /**
+     * Print every board of a solution one after another, flushing once at the end
+     */
+    public void printSolution(Solution solution) {
+        frame.setLength(0);
+        frame.append("\nPapan Awal\n");
+        layout(solution.getStates().get(0), '\0', false);
+        appendScreen();
+        write(false);
+
+        int moveCount = solution.getMoves().size();
+        for (int i = 0; i < moveCount; i++) {
+            Move move = solution.getMoves().get(i);
+            boolean last = i == moveCount - 1;
+            frame.setLength(0);
+            frame.append("\nGerakan ").append(i + 1).append(": ").append(move).append('\n');
+
+            // Compound moves highlight the moving piece, the last move shows P next to the exit
+            char movingId = !last && move instanceof CompoundMove ? move.getPiece().getId() : '\0';
+            layout(last ? solution.getStates().get(solution.getStates().size() - 1) : solution.getStates().get(i + 1),
+                   movingId, last);
+            appendScreen();
+            write(false);
+        }
+
+        frame.setLength(0);
+        appendSummary(solution);
+        write(true);
+    }
+
+    /**
+     * Play a solution in place, paced so that long solutions still finish in about 20 seconds
+     */
+    public void animate(Solution solution) {
+        int moveCount = Math.max(1, solution.getMoves().size());
+        long frameMillis = Math.max(MIN_FRAME_MILLIS, Math.min(MAX_FRAME_MILLIS, ANIMATION_TARGET_MILLIS / moveCount));
+        animate(solution, frameMillis);
+    }
+
+    /**
+     * Play a solution in place: the board is drawn once and each step only rewrites the cells
+     * that changed, with the current move on a status line below it
+     * @param frameMillis Pause between two steps
+     */
+    public void animate(Solution solution, long frameMillis) {
+        // Boards are rebuilt one move at a time, so a solution without its states works too
+        PlaybackModel playback = PlaybackModel.of(solution);
+        int moveCount = playback.getMoveCount();
+
+        frame.setLength(0);
+        frame.append(HIDE_CURSOR).append('\n');
+        layout(playback.getBoard(0), '\0', false);
+        appendScreen();
+        frame.append("Papan Awal\n");
+        write(true);
+
+        try {
+            for (int step = 1; step <= moveCount; step++) {
+                Thread.sleep(frameMillis);
+
+                Move move = playback.getMove(step - 1);
+                boolean last = step == moveCount;
+                keepShownCells();
+                layout(playback.getBoard(step), last ? '\0' : move.getPiece().getId(), last);
+
+                frame.setLength(0);
+                appendChangedCells();
+                frame.append("\u001B[1A\r").append(CLEAR_LINE)
+                     .append("Gerakan ").append(step).append('/').append(moveCount).append(": ").append(move).append('\n');
+                write(true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            frame.setLength(0);
+            frame.append(SHOW_CURSOR);
+            write(true);
+        }
+
+        frame.setLength(0);
+        appendSummary(solution);
+        write(true);
+    }
+
+    /**
+     * Lay a board out into screen cells the way the board has always been printed: the exit row
+     * above or below the grid, and the exit cell in front of or after the exit's own row only
+     */
+    private void layout(Board board, char movingId, boolean exited) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        Position exit = board.getExitPosition();
+        Exit side = exit != null ? board.getExitSide() : null;
+
+        rows = height + (side == Exit.TOP || side == Exit.BOTTOM ? 1 : 0);
+        cols = width + 2;
+        int size = rows * cols;
+        if (chars.length != size) {
+            chars = new char[size];
+            colors = new byte[size];
+        }
+        Arrays.fill(chars, ' ');
+        Arrays.fill(colors, PLAIN);
+
+        int row = 0;
+        if (side == Exit.TOP) {
+            layoutExitRow(row++, exit.col, exited);
+        }
+
+        // The primary piece has left the board in the exited view
+        boolean hidePrimary = exited && board.isSolved();
+        char[][] grid = board.getGrid();
+        for (int i = 0; i < height; i++, row++) {
+            int col = 0;
+            if (side == Exit.LEFT && i == exit.row) {
+                if (exited) {
+                    col = put(row, col, 'P', PRIMARY);
+                }
+                col = put(row, col, 'K', EXIT);
+            }
+
+            for (int j = 0; j < width; j++) {
+                char c = grid[i][j];
+                if (c == 'P') {
+                    // Primary piece always stays red
+                    col = hidePrimary ? put(row, col, '.', PLAIN) : put(row, col, c, PRIMARY);
+                } else {
+                    col = put(row, col, c, c == movingId ? MOVING : PLAIN);
+                }
+            }
+
+            if (side == Exit.RIGHT && i == exit.row) {
+                col = put(row, col, 'K', EXIT);
+                if (exited) {
+                    put(row, col, 'P', PRIMARY);
+                }
+            }
+        }
+
+        if (side == Exit.BOTTOM) {
+            layoutExitRow(row, exit.col, exited);
+        }
+    }
+
+    private void layoutExitRow(int row, int exitCol, boolean exited) {
+        put(row, exitCol, 'K', EXIT);
+        if (exited) {
+            put(row, exitCol + 1, 'P', PRIMARY);
+        }
+    }
+
+    private int put(int row, int col, char c, byte color) {
+        chars[row * cols + col] = c;
+        colors[row * cols + col] = color;
+        return col + 1;
+    }
+
+    /**
+     * Append the whole laid out board, trailing blanks left off
+     */
+    private void appendScreen() {
+        for (int row = 0; row < rows; row++) {
+            int end = cols;
+            while (end > 0 && chars[row * cols + end - 1] == ' ') {
+                end--;
+            }
+            appendCells(row, 0, end);
+            frame.append('\n');
+        }
+    }
+
+    /**
+     * Append cursor moves and the cells that differ from what is on screen
+     * The cursor rests at the start of the line below the status line, which is below the board.
+     */
+    private void appendChangedCells() {
+        if (shownChars.length != chars.length) {
+            // Nothing to compare against, draw the board again underneath
+            appendScreen();
+            frame.append('\n');
+            return;
+        }
+
+        for (int row = 0; row < rows; row++) {
+            int linesUp = rows - row + 1;
+            int col = 0;
+            while (col < cols) {
+                if (!changed(row, col)) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < cols && changed(row, col)) {
+                    col++;
+                }
+                frame.append("\u001B[").append(linesUp).append("A\r");
+                if (start > 0) {
+                    frame.append("\u001B[").append(start).append('C');
+                }
+                appendCells(row, start, col);
+                frame.append("\r\u001B[").append(linesUp).append('B');
+            }
+        }
+    }
+
+    private boolean changed(int row, int col) {
+        int index = row * cols + col;
+        return chars[index] != shownChars[index] || colors[index] != shownColors[index];
+    }
+
+    /**
+     * Append a run of cells, switching color only where it changes
+     */
+    private void appendCells(int row, int from, int to) {
+        byte current = PLAIN;
+        for (int col = from; col < to; col++) {
+            int index = row * cols + col;
+            if (colors[index] != current) {
+                current = colors[index];
+                frame.append(COLORS[current]);
+            }
+            frame.append(chars[index]);
+        }
+        if (current != PLAIN) {
+            frame.append(RESET);
+        }
+    }
+
+    /**
+     * Remember the cells now on screen before the next board is laid out
+     */
+    private void keepShownCells() {
+        char[] swapChars = shownChars;
+        byte[] swapColors = shownColors;
+        shownChars = chars;
+        shownColors = colors;
+        chars = swapChars;
+        colors = swapColors;
+    }
+
+    private void appendSummary(Solution solution) {
+        frame.append("\n[Primary piece has reached the exit!]\n");
+        frame.append("\nMove sequence:\n");
+
+        int count = 0;
+        for (Move move : solution.getMoves()) {
+            frame.append(move).append(' ');
+            count++;
+
+            // Add newline every 16 moves for readability
+            if (count % 16 == 0) {
+                frame.append('\n');
+            }
+        }
+        frame.append('(').append(solution.getMoves().size()).append(" moves)\n");
+    }
+
+    private void write(boolean flush) {
+        try {
+            out.append(frame);
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
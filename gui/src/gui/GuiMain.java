@@ -1,9 +1,11 @@
 package gui;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -18,8 +20,7 @@ public class GuiMain extends Application {
     @Override
     public void start(Stage primaryStage) throws Exception {
         try {
-            // Create necessary directories
-            createDirectories();
+            // Only what the first frame needs happens here, the rest is loaded once the window is up
             
             // Try to load FXML
             URL fxmlUrl = findResource("gui/fxml/MainView.fxml");
@@ -51,26 +52,6 @@ public class GuiMain extends Application {
                 System.out.println("Loaded CSS from: " + cssUrl.toExternalForm());
             } else {
                 System.out.println("Warning: Could not find styles.css, using default styles");
-                
-                // Try to load from file directly
-                File cssFile = new File("src/resources/styles.css");
-                if (cssFile.exists()) {
-                    scene.getStylesheets().add(cssFile.toURI().toString());
-                    System.out.println("Loaded CSS from file: " + cssFile.getAbsolutePath());
-                }
-            }
-            
-            // Set application icon
-            try {
-                File iconFile = new File("src/resources/images/icon.png");
-                if (iconFile.exists()) {
-                    primaryStage.getIcons().add(new Image(iconFile.toURI().toString()));
-                    System.out.println("Loaded icon from: " + iconFile.getAbsolutePath());
-                } else {
-                    System.out.println("Icon file not found, using default icon");
-                }
-            } catch (Exception e) {
-                System.err.println("Error loading icon (non-critical): " + e.getMessage());
             }
             
             primaryStage.setTitle("Kessoku No Owari ♪");
@@ -79,6 +60,15 @@ public class GuiMain extends Application {
             primaryStage.setMinHeight(700);
             
             primaryStage.show();
+            Startup.logFirstFrame();
+            
+            // Everything below runs in the background after the window is on screen
+            Startup.runInBackground(this::createDirectories);
+            Startup.runInBackground(() -> loadIcon(primaryStage));
+            Startup.preloadView("/gui/fxml/MatrixInputWindow.fxml");
+            Startup.preloadView("/gui/fxml/VisualizationView.fxml");
+            Startup.preloadView("/gui/fxml/ComparisonView.fxml");
+            Startup.warmUpSolver();
             
         } catch (Exception e) {
             System.err.println("Error loading GUI:");
@@ -87,6 +77,24 @@ public class GuiMain extends Application {
         }
     }
     
+    /**
+     * Set the application icon; the image is decoded off the FX thread
+     */
+    private void loadIcon(Stage stage) {
+        // Resources ship on the classpath, so this works whatever the working directory is
+        try (InputStream iconStream = getClass().getClassLoader().getResourceAsStream("resources/images/icon.png")) {
+            if (iconStream != null) {
+                Image icon = new Image(iconStream);
+                Platform.runLater(() -> stage.getIcons().add(icon));
+                System.out.println("Loaded icon from the classpath");
+            } else {
+                System.out.println("Icon resource not found, using default icon");
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading icon (non-critical): " + e.getMessage());
+        }
+    }
+    
     /**
      * Find a resource file by trying multiple paths
      */
@@ -103,24 +111,11 @@ public class GuiMain extends Application {
         if (resource != null) return resource;
         
         // Try without / prefix
-        resource = getClass().getResource(path);
-        if (resource != null) return resource;
-        
-        // Try as file
-        File file = new File("src/" + path);
-        if (file.exists()) {
-            try {
-                return file.toURI().toURL();
-            } catch (Exception e) {
-                // Ignore
-            }
-        }
-        
-        return null;
+        return getClass().getResource(path);
     }
     
     /**
-     * Create necessary directories for resources
+     * Create the puzzle input and output directories
      */
     private void createDirectories() {
         try {
@@ -128,16 +123,14 @@ public class GuiMain extends Application {
             new File("test/input").mkdirs();
             new File("test/output").mkdirs();
             
-            // Create resources directories
-            new File("src/resources/images").mkdirs();
-            
-            System.out.println("Created resource directories");
+            System.out.println("Created test directories");
         } catch (Exception e) {
             System.err.println("Error creating directories (non-critical): " + e.getMessage());
         }
     }
     
     public static void main(String[] args) {
+        Startup.markLaunch();
         launch(args);
     }
 }
\ No newline at end of file
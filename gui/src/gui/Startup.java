@@ -0,0 +1,134 @@
+package gui;
+
+import cli.Board;
+import cli.SearchRequest;
+import cli.Solver;
+import javafx.animation.AnimationTimer;
+import javafx.fxml.FXMLLoader;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Work that does not have to happen before the main window is on screen
+ * Tasks run one at a time on a low priority daemon thread so they never compete with the
+ * FX thread for long. Secondary views are loaded ahead of time and handed out on first use.
+ */
+public final class Startup {
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "startup-loader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Views loaded in the background, by resource path
+    private static final Map<String, Future<FXMLLoader>> PRELOADED = new ConcurrentHashMap<>();
+
+    // Small puzzle that exercises move generation, hashing and the heuristics
+    private static final String WARM_UP_PUZZLE = "6 6\n11\nAAB..F\n..BCDF\nGPPCDFK\nGH.III\nGHJ...\nLLJMM.";
+
+    private static volatile long launchNanos = System.nanoTime();
+
+    private Startup() {}
+
+    /**
+     * Mark the moment the application was launched, the reference for time-to-first-frame
+     */
+    static void markLaunch() {
+        launchNanos = System.nanoTime();
+    }
+
+    /**
+     * Log how long it took until the first frame after the window was shown
+     */
+    static void logFirstFrame() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                System.out.printf("First frame after %d ms%n", (System.nanoTime() - launchNanos) / 1_000_000);
+            }
+        }.start();
+    }
+
+    /**
+     * Run a task on the background loader
+     */
+    public static void runInBackground(Runnable task) {
+        LOADER.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Background startup task failed (non-critical): " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Start loading an FXML view in the background so the next takeView returns at once
+     * @param path Resource path, e.g. /gui/fxml/MatrixInputWindow.fxml
+     */
+    public static void preloadView(String path) {
+        PRELOADED.computeIfAbsent(path, key -> {
+            FutureTask<FXMLLoader> task = new FutureTask<>(() -> load(key));
+            LOADER.execute(task);
+            return task;
+        });
+    }
+
+    /**
+     * Get a loaded FXML view, preloaded if possible, and start preloading the next instance
+     * A view can only be shown once, so every call returns a fresh loader.
+     */
+    public static FXMLLoader takeView(String path) throws IOException {
+        Future<FXMLLoader> preloaded = PRELOADED.remove(path);
+        FXMLLoader loader = null;
+        if (preloaded != null) {
+            try {
+                loader = preloaded.get();
+            } catch (ExecutionException e) {
+                System.err.println("Preloading " + path + " failed, loading it now: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (loader == null) {
+            loader = load(path);
+        }
+        preloadView(path);
+        return loader;
+    }
+
+    /**
+     * Solve a small puzzle a few times so the first real solve runs compiled code
+     */
+    public static void warmUpSolver() {
+        runInBackground(() -> {
+            long start = System.nanoTime();
+            try {
+                Board board = Board.parse(WARM_UP_PUZZLE);
+                Solver solver = new Solver();
+                for (int i = 0; i < 3; i++) {
+                    solver.solve(new SearchRequest("astar", board, "Manhattan Distance", true));
+                    solver.solve(new SearchRequest("astar", board, "Blocking Count", false));
+                    solver.solve(new SearchRequest("ucs", board, null, true));
+                }
+                System.out.printf("Solver warmed up in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException e) {
+                System.err.println("Solver warm-up skipped: " + e.getMessage());
+            }
+        });
+    }
+
+    private static FXMLLoader load(String path) throws IOException {
+        URL url = Startup.class.getResource(path);
+        if (url == null) {
+            throw new IOException("Cannot find " + path);
+        }
+        FXMLLoader loader = new FXMLLoader(url);
+        loader.load();
+        return loader;
+    }
+}
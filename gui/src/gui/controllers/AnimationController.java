@@ -0,0 +1,456 @@
+package gui.controllers;
+
+import cli.*;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.paint.Color;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Controller for smooth animation of Rush Hour puzzle states
+ * Implements state-by-state animation with interpolation between states
+ * and special handling for primary piece exiting the board.
+ * Playback is driven by the frame clock: every pulse advances by the elapsed time times
+ * the speed, so frames are never queued up or dropped in bulk at high speeds.
+ */
+public class AnimationController {
+    private Canvas boardCanvas;
+    private AnimationTimer animation;
+    private PlaybackModel playback;
+    private List<Move> moves;
+    private int currentStateIndex = 0;
+    private boolean isPlaying = false;
+    
+    // Playback position in moves (2.25 is a quarter into the third move) and the last pulse
+    private double position = 0;
+    private long lastFrameNanos = 0;
+    
+    // Precomputed per segment: the board it starts from, the piece that slides and the pixel
+    // distance it travels. The extra last segment slides the primary piece out of the exit.
+    private int segmentCount;
+    private char[] segmentPiece;
+    private double[] segmentDeltaX;
+    private double[] segmentDeltaY;
+    private Label moveLabel;
+    private Label statsLabel;
+    private Slider speedSlider;
+    private Button playButton;
+    private Button pauseButton;
+    private Button resetButton;
+    private int width;
+    private int height;
+    
+    // Constants for visualization
+    private static final int CELL_SIZE = 60;
+    private static final int PADDING = 40;
+    private Map<Character, Color> pieceColors = new HashMap<>();
+    private BoardRenderer renderer;
+    
+    /**
+     * Initialize the controller
+     */
+    public AnimationController(Canvas canvas, Label moveLabel, Label statsLabel, 
+                              Slider speedSlider, Button playButton, Button pauseButton, 
+                              Button resetButton, Solution solution) {
+        this.boardCanvas = canvas;
+        this.moveLabel = moveLabel;
+        this.statsLabel = statsLabel;
+        this.speedSlider = speedSlider;
+        this.playButton = playButton;
+        this.pauseButton = pauseButton;
+        this.resetButton = resetButton;
+        // Boards are replayed from checkpoints instead of holding every state
+        this.playback = PlaybackModel.of(solution);
+        this.moves = playback.getMoves();
+        
+        // Initialize piece colors
+        initializePieceColors();
+        
+        // Set up the canvas size based on board dimensions
+        Board initialBoard = playback.getBoard(0);
+        this.width = initialBoard.getWidth();
+        this.height = initialBoard.getHeight();
+        boardCanvas.setWidth(width * CELL_SIZE + PADDING * 2);
+        boardCanvas.setHeight(height * CELL_SIZE + PADDING * 2);
+        
+        // Board, grid and exit are painted once; pieces come from cached sprites
+        renderer = new BoardRenderer(boardCanvas, CELL_SIZE, PADDING, pieceColors,
+                                     this::paintStaticLayer, this::paintPiece);
+        
+        // Set up animation
+        computeSegments();
+        setupAnimation();
+        
+        // Draw initial state
+        renderer.draw(initialBoard);
+        updateInfo();
+    }
+    
+    /**
+     * Initialize colors for pieces
+     */
+    private void initializePieceColors() {
+        // Define a set of visually distinct colors
+        Color[] colors = {
+            Color.CRIMSON,           // Primary piece (P)
+            Color.ROYALBLUE,
+            Color.LIMEGREEN,
+            Color.GOLD,
+            Color.DARKORANGE,
+            Color.MEDIUMPURPLE,
+            Color.DEEPSKYBLUE,
+            Color.HOTPINK,
+            Color.FORESTGREEN,
+            Color.CHOCOLATE,
+            Color.SLATEBLUE,
+            Color.TOMATO,
+            Color.TEAL,
+            Color.INDIANRED,
+            Color.MEDIUMSEAGREEN,
+            Color.STEELBLUE,
+            Color.DARKVIOLET,
+            Color.SANDYBROWN,
+            Color.CORAL,
+            Color.DARKORANGE,
+            Color.DARKCYAN,
+            Color.MEDIUMORCHID,
+            Color.LIGHTCORAL,
+            Color.LIGHTSEAGREEN,
+            Color.LIGHTSLATEGRAY,
+            Color.LIGHTSTEELBLUE
+        };
+        
+        // Assign colors to pieces in initial board
+        Board initialBoard = playback.getBoard(0);
+        int colorIndex = 1; // Start at 1, reserve 0 for primary piece
+        
+        // Assign primary piece color first
+        pieceColors.put('P', colors[0]);
+        
+        // Assign colors to other pieces
+        for (Piece piece : initialBoard.getPieces()) {
+            if (piece.getId() != 'P') {
+                pieceColors.put(piece.getId(), colors[colorIndex % colors.length]);
+                colorIndex++;
+            }
+        }
+    }
+    
+    /**
+     * Precompute how far each move slides its piece, once per solution
+     */
+    private void computeSegments() {
+        int moveCount = playback.getMoveCount();
+        Board last = playback.getBoard(moveCount);
+        Piece primary = last.getPrimaryPiece();
+        boolean exits = last.isSolved() && primary != null;
+        
+        segmentCount = moveCount + (exits ? 1 : 0);
+        segmentPiece = new char[segmentCount];
+        segmentDeltaX = new double[segmentCount];
+        segmentDeltaY = new double[segmentCount];
+        
+        for (int i = 0; i < moveCount; i++) {
+            Move move = moves.get(i);
+            char id = move.getPiece().getId();
+            Piece before = playback.getBoard(i).getPieceById(id);
+            Piece after = playback.getBoard(i + 1).getPieceById(id);
+            segmentPiece[i] = id;
+            
+            if (before != null && after != null) {
+                segmentDeltaX[i] = (after.getLeftmostCol() - before.getLeftmostCol()) * CELL_SIZE;
+                segmentDeltaY[i] = (after.getTopmostRow() - before.getTopmostRow()) * CELL_SIZE;
+            } else {
+                // The piece left the board, fall back to the move itself
+                int distance = move instanceof CompoundMove ? ((CompoundMove) move).getDistance() : 1;
+                setDelta(i, move.getDirection(), distance);
+            }
+        }
+        
+        if (exits) {
+            // Slide the primary piece all the way through the exit
+            segmentPiece[moveCount] = primary.getId();
+            switch (last.getExitSide()) {
+                case RIGHT: setDelta(moveCount, "right", primary.getSize()); break;
+                case LEFT: setDelta(moveCount, "left", primary.getSize()); break;
+                case BOTTOM: setDelta(moveCount, "down", primary.getSize()); break;
+                case TOP: setDelta(moveCount, "up", primary.getSize()); break;
+            }
+        }
+    }
+    
+    private void setDelta(int segment, String direction, int distance) {
+        if (direction.equals("right")) {
+            segmentDeltaX[segment] = distance * CELL_SIZE;
+        } else if (direction.equals("left")) {
+            segmentDeltaX[segment] = -distance * CELL_SIZE;
+        } else if (direction.equals("down")) {
+            segmentDeltaY[segment] = distance * CELL_SIZE;
+        } else if (direction.equals("up")) {
+            segmentDeltaY[segment] = -distance * CELL_SIZE;
+        }
+    }
+    
+    /**
+     * Set up the frame-clock animation
+     * The speed slider is read on every pulse, so changing it needs no rebuilding.
+     */
+    private void setupAnimation() {
+        animation = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (lastFrameNanos == 0) {
+                    lastFrameNanos = now;
+                    return;
+                }
+                double elapsedSeconds = (now - lastFrameNanos) / 1e9;
+                lastFrameNanos = now;
+                
+                // Speed is in moves per second
+                position = Math.min(segmentCount, position + elapsedSeconds * speedSlider.getValue());
+                updateVisualization();
+                
+                // If we reached the end, stop
+                if (position >= segmentCount) {
+                    pause();
+                }
+            }
+        };
+    }
+    
+    /**
+     * Update visualization based on the playback position
+     * Frames within a move only interpolate precomputed deltas and reuse the playback's cached board.
+     * When a new move starts, PlaybackModel replays that one move into a fresh board, and seeking
+     * backwards replays from the nearest checkpoint.
+     */
+    private void updateVisualization() {
+        if (segmentCount == 0) {
+            renderer.draw(playback.getBoard(0));
+            return;
+        }
+        
+        int segment = (int) position;
+        double fraction = position - segment;
+        if (segment >= segmentCount) {
+            segment = segmentCount - 1;
+            fraction = 1;
+        }
+        
+        // Draw the board the segment starts from with its piece part way along
+        renderer.draw(playback.getBoard(segment), segmentPiece[segment],
+                      fraction * segmentDeltaX[segment], fraction * segmentDeltaY[segment]);
+        
+        // Labels only change when a new move starts
+        int stateIndex = Math.min(segment + 1, moves.size());
+        if (stateIndex != currentStateIndex) {
+            currentStateIndex = stateIndex;
+            updateInfo();
+        }
+    }
+    
+    /**
+     * Update info labels
+     */
+    private void updateInfo() {
+        // Update move information
+        if (currentStateIndex == 0) {
+            moveLabel.setText("Initial Board Configuration");
+        } else if (currentStateIndex <= moves.size()) {
+            Move move = moves.get(currentStateIndex - 1);
+            moveLabel.setText(String.format("Move %d of %d: %s", 
+                currentStateIndex, moves.size(), move.toString()));
+        }
+    }
+    
+    /**
+     * Paint the static layer: background, grid lines and exit
+     * This canvas always shows the whole board at scale 1, so everything is in view.
+     */
+    private void paintStaticLayer(GraphicsContext gc, Board board, Rectangle2D visible, boolean detailed) {
+        // Draw board background
+        gc.setFill(Color.rgb(240, 240, 240));
+        gc.fillRect(PADDING, PADDING, width * CELL_SIZE, height * CELL_SIZE);
+        
+        // Draw grid lines
+        gc.setStroke(Color.DARKGRAY);
+        gc.setLineWidth(1);
+        for (int i = 0; i <= width; i++) {
+            gc.strokeLine(PADDING + i * CELL_SIZE, PADDING, 
+                          PADDING + i * CELL_SIZE, PADDING + height * CELL_SIZE);
+        }
+        for (int i = 0; i <= height; i++) {
+            gc.strokeLine(PADDING, PADDING + i * CELL_SIZE, 
+                          PADDING + width * CELL_SIZE, PADDING + i * CELL_SIZE);
+        }
+        
+        // Draw exit
+        drawExit(gc, board);
+    }
+    
+    /**
+     * Draw exit on the board
+     */
+    private void drawExit(GraphicsContext gc, Board board) {
+        Exit exitSide = board.getExitSide();
+        Position exitPos = board.getExitPosition();
+        
+        gc.setFill(Color.LIGHTGREEN);
+        gc.setStroke(Color.DARKGREEN);
+        gc.setLineWidth(2);
+        
+        switch (exitSide) {
+            case TOP:
+                gc.fillRect(PADDING + exitPos.col * CELL_SIZE, PADDING - 20, CELL_SIZE, 20);
+                gc.strokeRect(PADDING + exitPos.col * CELL_SIZE, PADDING - 20, CELL_SIZE, 20);
+                
+                // Draw exit arrow
+                gc.setFill(Color.DARKGREEN);
+                double xTop = PADDING + exitPos.col * CELL_SIZE + CELL_SIZE / 2;
+                double yTop = PADDING - 5;
+                gc.fillPolygon(
+                    new double[] {xTop, xTop - 10, xTop + 10},
+                    new double[] {yTop - 10, yTop, yTop},
+                    3
+                );
+                break;
+                
+            case BOTTOM:
+                gc.fillRect(PADDING + exitPos.col * CELL_SIZE, 
+                           PADDING + height * CELL_SIZE, CELL_SIZE, 20);
+                gc.strokeRect(PADDING + exitPos.col * CELL_SIZE, 
+                             PADDING + height * CELL_SIZE, CELL_SIZE, 20);
+                             
+                // Draw exit arrow
+                gc.setFill(Color.DARKGREEN);
+                double xBottom = PADDING + exitPos.col * CELL_SIZE + CELL_SIZE / 2;
+                double yBottom = PADDING + height * CELL_SIZE + 15;
+                gc.fillPolygon(
+                    new double[] {xBottom, xBottom - 10, xBottom + 10},
+                    new double[] {yBottom + 10, yBottom, yBottom},
+                    3
+                );
+                break;
+                
+            case LEFT:
+                gc.fillRect(PADDING - 20, PADDING + exitPos.row * CELL_SIZE, 20, CELL_SIZE);
+                gc.strokeRect(PADDING - 20, PADDING + exitPos.row * CELL_SIZE, 20, CELL_SIZE);
+                
+                // Draw exit arrow
+                gc.setFill(Color.DARKGREEN);
+                double xLeft = PADDING - 10;
+                double yLeft = PADDING + exitPos.row * CELL_SIZE + CELL_SIZE / 2;
+                gc.fillPolygon(
+                    new double[] {xLeft - 10, xLeft, xLeft},
+                    new double[] {yLeft, yLeft - 10, yLeft + 10},
+                    3
+                );
+                break;
+                
+            case RIGHT:
+                gc.fillRect(PADDING + width * CELL_SIZE, 
+                           PADDING + exitPos.row * CELL_SIZE, 20, CELL_SIZE);
+                gc.strokeRect(PADDING + width * CELL_SIZE, 
+                             PADDING + exitPos.row * CELL_SIZE, 20, CELL_SIZE);
+                             
+                // Draw exit arrow
+                gc.setFill(Color.DARKGREEN);
+                double xRight = PADDING + width * CELL_SIZE + 10;
+                double yRight = PADDING + exitPos.row * CELL_SIZE + CELL_SIZE / 2;
+                gc.fillPolygon(
+                    new double[] {xRight + 10, xRight, xRight},
+                    new double[] {yRight, yRight - 10, yRight + 10},
+                    3
+                );
+                break;
+        }
+        
+        // Draw exit label
+        gc.setFill(Color.BLACK);
+        gc.fillText("EXIT", PADDING + width * CELL_SIZE + 25, PADDING + 15);
+    }
+    
+    /**
+     * Paint a piece sprite with rounded corners and shadow into its cell rectangle
+     */
+    private void paintPiece(GraphicsContext gc, char id, Color color, double cellX, double cellY,
+                            double cellsWidth, double cellsHeight) {
+        // Calculate dimensions
+        double x = cellX + 5;
+        double y = cellY + 5;
+        double width = cellsWidth - 10;
+        double height = cellsHeight - 10;
+        
+        // Draw piece with rounded corners and shadows
+        gc.setFill(Color.rgb(0, 0, 0, 0.3));
+        gc.fillRoundRect(x + 3, y + 3, width, height, 10, 10);
+        
+        gc.setFill(color);
+        gc.fillRoundRect(x, y, width, height, 10, 10);
+        
+        gc.setStroke(color.darker());
+        gc.setLineWidth(2);
+        gc.strokeRoundRect(x, y, width, height, 10, 10);
+        
+        // Add a highlight effect
+        gc.setFill(Color.rgb(255, 255, 255, 0.3));
+        gc.fillRoundRect(x + 5, y + 5, width - 10, height / 3, 10, 10);
+        
+        // Draw piece ID
+        gc.setFill(Color.WHITE);
+        gc.fillText(String.valueOf(id), x + width / 2 - 5, y + height / 2 + 5);
+    }
+    
+    /**
+     * Play the animation
+     */
+    public void play() {
+        // Only play if not at the end
+        if (position < segmentCount) {
+            lastFrameNanos = 0;
+            animation.start();
+            isPlaying = true;
+            playButton.setDisable(true);
+            pauseButton.setDisable(false);
+        }
+    }
+    
+    /**
+     * Pause the animation
+     */
+    public void pause() {
+        if (isPlaying) {
+            animation.stop();
+            isPlaying = false;
+            playButton.setDisable(false);
+            pauseButton.setDisable(true);
+        }
+    }
+    
+    /**
+     * Reset the animation to the beginning
+     */
+    public void reset() {
+        pause();
+        position = 0;
+        currentStateIndex = 0;
+        renderer.draw(playback.getBoard(0));
+        updateInfo();
+        playButton.setDisable(false);
+    }
+    
+    /**
+     * Clean up resources
+     */
+    public void cleanup() {
+        if (animation != null) {
+            animation.stop();
+        }
+    }
+}
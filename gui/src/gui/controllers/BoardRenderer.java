@@ -0,0 +1,364 @@
+package gui.controllers;
+
+import cli.*;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Layered board renderer shared by the board views
+ * The static layer (background, grid, exit) is painted once into an image and every piece
+ * is drawn from a sprite cached per piece, color and size. A redraw only repaints the
+ * rectangle swept by the pieces that moved since the previous frame, and sliding a piece
+ * across the same board does not allocate.
+ * The canvas is a window onto the board at some zoom and pan: only what intersects the
+ * window is painted, and when zoomed far out pieces become flat blocks without grid lines.
+ */
+public class BoardRenderer {
+
+    /**
+     * Paints everything that does not change while a solution plays back
+     * Coordinates are board pixels; the viewport transform is already applied to gc.
+     */
+    public interface StaticPainter {
+        /**
+         * @param visible Board pixels inside the window, anything outside is not shown
+         * @param detailed False when zoomed out so far that fine details would only be noise
+         */
+        void paint(GraphicsContext gc, Board board, Rectangle2D visible, boolean detailed);
+    }
+
+    /**
+     * Paints a piece into the cell rectangle it covers
+     */
+    public interface PiecePainter {
+        void paint(GraphicsContext gc, char id, Color color, double x, double y, double width, double height);
+    }
+
+    // Below this many screen pixels per cell, pieces are drawn as flat blocks
+    private static final double DETAIL_CELL_PIXELS = 16;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final int cellSize;
+    private final int padding;
+    private final Map<Character, Color> pieceColors;
+    private final StaticPainter staticPainter;
+    private final PiecePainter piecePainter;
+
+    // Viewport: screen pixels per board pixel and the board pixel shown at the canvas origin
+    private double scale = 1.0;
+    private double originX;
+    private double originY;
+
+    // Static layer and the board geometry it was painted for
+    private Image staticLayer;
+    private int staticBoardWidth;
+    private int staticBoardHeight;
+    private Exit staticExitSide;
+    private int staticExitRow;
+    private int staticExitCol;
+    private double staticCanvasWidth;
+    private double staticCanvasHeight;
+
+    // Sprites keyed by piece id; color and size of a piece never change within a puzzle.
+    // They are rendered at a whole multiple of the cell size so zooming in stays sharp.
+    private final Map<Character, Image> sprites = new HashMap<>();
+    private int spriteResolution = 1;
+
+    // What is currently on the canvas: last drawn screen rectangle {x, y, width, height} of every piece
+    private final Map<Character, double[]> drawn = new HashMap<>();
+    private final Set<Character> present = new HashSet<>();
+    private Board drawnBoard;
+    private char movingId;
+    private double movingOffsetX;
+    private double movingOffsetY;
+
+    public BoardRenderer(Canvas canvas, int cellSize, int padding, Map<Character, Color> pieceColors,
+                         StaticPainter staticPainter, PiecePainter piecePainter) {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+        this.cellSize = cellSize;
+        this.padding = padding;
+        this.pieceColors = pieceColors;
+        this.staticPainter = staticPainter;
+        this.piecePainter = piecePainter;
+    }
+
+    /**
+     * Drop every cached layer, e.g. after a new puzzle is loaded or colors are reassigned
+     */
+    public void invalidate() {
+        staticLayer = null;
+        sprites.clear();
+        drawn.clear();
+        drawnBoard = null;
+    }
+
+    /**
+     * Show the board at a zoom scale with the given board pixel at the top left of the canvas
+     * The next draw repaints the whole canvas if the viewport changed.
+     */
+    public void setViewport(double scale, double originX, double originY) {
+        if (scale == this.scale && originX == this.originX && originY == this.originY) {
+            return;
+        }
+        this.scale = scale;
+        this.originX = originX;
+        this.originY = originY;
+        staticLayer = null;
+        drawn.clear();
+        drawnBoard = null;
+
+        int resolution = Math.max(1, (int) Math.ceil(scale));
+        if (resolution != spriteResolution) {
+            spriteResolution = resolution;
+            sprites.clear();
+        }
+    }
+
+    /**
+     * Whether pieces are drawn with full detail at the current zoom
+     */
+    public boolean isDetailed() {
+        return cellSize * scale >= DETAIL_CELL_PIXELS;
+    }
+
+    /**
+     * Draw a board with every piece at rest
+     */
+    public void draw(Board board) {
+        draw(board, '\0', 0, 0);
+    }
+
+    /**
+     * Draw a board with one piece shifted by an offset in board pixels from its cells
+     * Only the area covered by pieces whose rectangle changed since the last call is repainted.
+     */
+    public void draw(Board board, char movingId, double offsetX, double offsetY) {
+        if (!ensureStaticLayer(board) || drawnBoard == null) {
+            drawAll(board, movingId, offsetX, offsetY);
+            return;
+        }
+
+        // Same board, same piece: only the sliding piece changed
+        double[] moving = board == drawnBoard && movingId == this.movingId ? drawn.get(movingId) : null;
+        if (moving != null) {
+            double oldX = moving[0];
+            double oldY = moving[1];
+            moving[0] += (offsetX - movingOffsetX) * scale;
+            moving[1] += (offsetY - movingOffsetY) * scale;
+            movingOffsetX = offsetX;
+            movingOffsetY = offsetY;
+            if (moving[0] != oldX || moving[1] != oldY) {
+                double left = Math.min(oldX, moving[0]);
+                double top = Math.min(oldY, moving[1]);
+                repaint(left, top, Math.max(oldX, moving[0]) + moving[2] - left,
+                        Math.max(oldY, moving[1]) + moving[3] - top);
+            }
+            return;
+        }
+
+        // Union of the old and new rectangles of every piece that moved
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        present.clear();
+        for (Piece piece : board.getPieces()) {
+            char id = piece.getId();
+            present.add(id);
+            double x = pieceX(piece, id == movingId ? offsetX : 0);
+            double y = pieceY(piece, id == movingId ? offsetY : 0);
+            double w = pieceWidth(piece);
+            double h = pieceHeight(piece);
+            double[] last = drawn.get(id);
+            if (last != null && last[0] == x && last[1] == y && last[2] == w && last[3] == h) {
+                continue;
+            }
+            if (last != null) {
+                minX = Math.min(minX, last[0]);
+                minY = Math.min(minY, last[1]);
+                maxX = Math.max(maxX, last[0] + last[2]);
+                maxY = Math.max(maxY, last[1] + last[3]);
+            }
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x + w);
+            maxY = Math.max(maxY, y + h);
+        }
+        // Pieces that left the board since the last frame leave their old rectangle behind
+        Iterator<Map.Entry<Character, double[]>> it = drawn.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Character, double[]> entry = it.next();
+            if (!present.contains(entry.getKey())) {
+                double[] last = entry.getValue();
+                minX = Math.min(minX, last[0]);
+                minY = Math.min(minY, last[1]);
+                maxX = Math.max(maxX, last[0] + last[2]);
+                maxY = Math.max(maxY, last[1] + last[3]);
+                it.remove();
+            }
+        }
+
+        remember(board, movingId, offsetX, offsetY);
+        if (minX <= maxX) {
+            repaint(minX, minY, maxX - minX, maxY - minY);
+        }
+    }
+
+    /**
+     * Restore the static layer and the pieces of the last drawn board inside a canvas rectangle
+     * Useful for overlays that are painted on top of the board and need a clean background.
+     */
+    public void repaint(double x, double y, double width, double height) {
+        if (staticLayer == null || drawnBoard == null) {
+            return;
+        }
+
+        // Snap outwards to whole pixels and stay inside the canvas
+        double left = Math.max(0, Math.floor(x));
+        double top = Math.max(0, Math.floor(y));
+        double right = Math.min(canvas.getWidth(), Math.ceil(x + width));
+        double bottom = Math.min(canvas.getHeight(), Math.ceil(y + height));
+        if (right <= left || bottom <= top) {
+            return;
+        }
+        double w = right - left;
+        double h = bottom - top;
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(left, top, w, h);
+        gc.clip();
+
+        gc.clearRect(left, top, w, h);
+        gc.drawImage(staticLayer, left, top, w, h, left, top, w, h);
+
+        // The moving piece goes last so it slides over the pieces at rest
+        boolean detailed = isDetailed();
+        List<Piece> pieces = drawnBoard.getPieces();
+        Piece moving = null;
+        for (int i = 0; i < pieces.size(); i++) {
+            Piece piece = pieces.get(i);
+            if (piece.getId() == movingId) {
+                moving = piece;
+            } else {
+                drawPieceIfVisible(piece, detailed, left, top, right, bottom);
+            }
+        }
+        if (moving != null) {
+            drawPieceIfVisible(moving, detailed, left, top, right, bottom);
+        }
+
+        gc.restore();
+    }
+
+    private void drawAll(Board board, char movingId, double offsetX, double offsetY) {
+        drawn.clear();
+        remember(board, movingId, offsetX, offsetY);
+        repaint(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    private void remember(Board board, char movingId, double offsetX, double offsetY) {
+        this.drawnBoard = board;
+        this.movingId = movingId;
+        this.movingOffsetX = offsetX;
+        this.movingOffsetY = offsetY;
+        for (Piece piece : board.getPieces()) {
+            char id = piece.getId();
+            double[] rect = drawn.computeIfAbsent(id, k -> new double[4]);
+            rect[0] = pieceX(piece, id == movingId ? offsetX : 0);
+            rect[1] = pieceY(piece, id == movingId ? offsetY : 0);
+            rect[2] = pieceWidth(piece);
+            rect[3] = pieceHeight(piece);
+        }
+    }
+
+    private void drawPieceIfVisible(Piece piece, boolean detailed, double left, double top, double right, double bottom) {
+        double[] rect = drawn.get(piece.getId());
+        if (rect == null || rect[0] >= right || rect[1] >= bottom
+                || rect[0] + rect[2] <= left || rect[1] + rect[3] <= top) {
+            return;
+        }
+        if (detailed) {
+            gc.drawImage(sprite(piece), rect[0], rect[1], rect[2], rect[3]);
+        } else {
+            // Level of detail: a flat block with a small gap to its neighbours
+            double inset = cellSize * scale * 0.1;
+            gc.setFill(pieceColors.getOrDefault(piece.getId(), Color.GRAY));
+            gc.fillRect(rect[0] + inset, rect[1] + inset, rect[2] - 2 * inset, rect[3] - 2 * inset);
+        }
+    }
+
+    /**
+     * Repaint the static layer when the viewport, the canvas or the board geometry changed
+     * @return false when the layer was (re)built and the whole canvas has to be drawn
+     */
+    private boolean ensureStaticLayer(Board board) {
+        Position exit = board.getExitPosition();
+        if (staticLayer != null && staticBoardWidth == board.getWidth() && staticBoardHeight == board.getHeight()
+                && staticExitSide == board.getExitSide() && staticExitRow == exit.row && staticExitCol == exit.col
+                && staticCanvasWidth == canvas.getWidth() && staticCanvasHeight == canvas.getHeight()) {
+            return true;
+        }
+
+        // The layer is as large as the canvas, not the board
+        Canvas layer = new Canvas(canvas.getWidth(), canvas.getHeight());
+        GraphicsContext layerGc = layer.getGraphicsContext2D();
+        layerGc.setTransform(scale, 0, 0, scale, -originX * scale, -originY * scale);
+        Rectangle2D visible = new Rectangle2D(originX, originY, canvas.getWidth() / scale, canvas.getHeight() / scale);
+        staticPainter.paint(layerGc, board, visible, isDetailed());
+        staticLayer = layer.snapshot(transparent(), null);
+        staticBoardWidth = board.getWidth();
+        staticBoardHeight = board.getHeight();
+        staticExitSide = board.getExitSide();
+        staticExitRow = exit.row;
+        staticExitCol = exit.col;
+        staticCanvasWidth = canvas.getWidth();
+        staticCanvasHeight = canvas.getHeight();
+        return false;
+    }
+
+    private Image sprite(Piece piece) {
+        char id = piece.getId();
+        Image sprite = sprites.get(id);
+        if (sprite == null) {
+            Color color = pieceColors.getOrDefault(id, Color.GRAY);
+            int cols = piece.getRightmostCol() - piece.getLeftmostCol() + 1;
+            int rows = piece.getBottommostRow() - piece.getTopmostRow() + 1;
+            Canvas scratch = new Canvas(cols * cellSize * spriteResolution, rows * cellSize * spriteResolution);
+            GraphicsContext scratchGc = scratch.getGraphicsContext2D();
+            scratchGc.scale(spriteResolution, spriteResolution);
+            piecePainter.paint(scratchGc, id, color, 0, 0, cols * cellSize, rows * cellSize);
+            sprite = scratch.snapshot(transparent(), null);
+            sprites.put(id, sprite);
+        }
+        return sprite;
+    }
+
+    private static SnapshotParameters transparent() {
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return parameters;
+    }
+
+    private double pieceX(Piece piece, double offset) {
+        return (padding + piece.getLeftmostCol() * cellSize + offset - originX) * scale;
+    }
+
+    private double pieceY(Piece piece, double offset) {
+        return (padding + piece.getTopmostRow() * cellSize + offset - originY) * scale;
+    }
+
+    private double pieceWidth(Piece piece) {
+        return (piece.getRightmostCol() - piece.getLeftmostCol() + 1) * cellSize * scale;
+    }
+
+    private double pieceHeight(Piece piece) {
+        return (piece.getBottommostRow() - piece.getTopmostRow() + 1) * cellSize * scale;
+    }
+}
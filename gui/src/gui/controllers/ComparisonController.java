@@ -0,0 +1,357 @@
+package gui.controllers;
+
+import cli.*;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Controller for the comparison window: runs every selected algorithm, heuristic and move
+ * mode on the loaded board at the same time, each with the same budget, and fills a table
+ * as the runs finish. Running searches report their progress every quarter second.
+ */
+public class ComparisonController {
+    @FXML private VBox algorithmBox;
+    @FXML private VBox heuristicBox;
+    @FXML private CheckBox singleMovesCheck;
+    @FXML private CheckBox compoundMovesCheck;
+    @FXML private Spinner<Integer> timeLimitSpinner;
+    @FXML private Spinner<Integer> maxNodesSpinner;
+    @FXML private Spinner<Integer> memoryLimitSpinner;
+    @FXML private Button runButton;
+    @FXML private Button cancelButton;
+    @FXML private Button exportButton;
+    @FXML private Label progressLabel;
+    @FXML private TableView<Row> resultsTable;
+    @FXML private TableColumn<Row, String> algorithmColumn;
+    @FXML private TableColumn<Row, String> heuristicColumn;
+    @FXML private TableColumn<Row, String> modeColumn;
+    @FXML private TableColumn<Row, String> statusColumn;
+    @FXML private TableColumn<Row, String> movesColumn;
+    @FXML private TableColumn<Row, String> statesColumn;
+    @FXML private TableColumn<Row, String> timeColumn;
+    @FXML private TableColumn<Row, String> memoryColumn;
+    @FXML private TableColumn<Row, String> rateColumn;
+
+    private static final String CSV_HEADER =
+        "algorithm,heuristic,moves_mode,status,moves,states_examined,time_ms,peak_memory_mb,nodes_per_sec";
+
+    private final List<CheckBox> algorithmChecks = new ArrayList<>();
+    private final List<CheckBox> heuristicChecks = new ArrayList<>();
+    private final ObservableList<Row> rows = FXCollections.observableArrayList();
+
+    private Board board;
+    private Stage stage;
+    private Consumer<String> onSummary;
+
+    // Current comparison
+    private ExecutorService pool;
+    private Timeline refresher;
+    private int remaining;
+
+    /**
+     * One run in the table
+     */
+    public static class Row {
+        private final StringProperty algorithm = new SimpleStringProperty();
+        private final StringProperty heuristic = new SimpleStringProperty();
+        private final StringProperty mode = new SimpleStringProperty();
+        private final StringProperty status = new SimpleStringProperty("queued");
+        private final StringProperty moves = new SimpleStringProperty("");
+        private final StringProperty states = new SimpleStringProperty("");
+        private final StringProperty time = new SimpleStringProperty("");
+        private final StringProperty memory = new SimpleStringProperty("");
+        private final StringProperty rate = new SimpleStringProperty("");
+
+        private final SolveJob job;
+        private SolveJob.Outcome outcome;
+
+        Row(String algorithm, String heuristic, boolean isCompound, SolveJob job) {
+            this.algorithm.set(algorithm);
+            this.heuristic.set(heuristic);
+            this.mode.set(isCompound ? "compound" : "single");
+            this.job = job;
+        }
+
+        /**
+         * Show the progress of a search that is still running
+         */
+        void showProgress() {
+            if (outcome != null || !job.isRunning()) {
+                return;
+            }
+            int nodes = job.getNodesExaminedSoFar();
+            long elapsed = job.getElapsedMillis();
+            status.set("running");
+            states.set(String.valueOf(nodes));
+            time.set(String.valueOf(elapsed));
+            rate.set(formatRate(nodes, elapsed));
+        }
+
+        void showOutcome(SolveJob.Outcome outcome) {
+            this.outcome = outcome;
+            if (outcome.error != null) {
+                status.set("error: " + outcome.error.getMessage());
+                return;
+            }
+            status.set(outcome.solution != null ? "solved" : outcome.stopReason.describe());
+            moves.set(outcome.solution != null ? String.valueOf(outcome.solution.getMoves().size()) : "-");
+            states.set(String.valueOf(outcome.nodesExamined));
+            time.set(String.valueOf(outcome.executionTime));
+            memory.set(outcome.peakMemoryBytes > 0 ? String.format("%.1f", outcome.peakMemoryBytes / (1024.0 * 1024.0)) : "-");
+            rate.set(formatRate(outcome.nodesExamined, outcome.executionTime));
+        }
+
+        private static String formatRate(int nodes, long millis) {
+            return millis > 0 ? String.valueOf(Math.round(nodes * 1000.0 / millis)) : "-";
+        }
+
+        public StringProperty algorithmProperty() { return algorithm; }
+        public StringProperty heuristicProperty() { return heuristic; }
+        public StringProperty modeProperty() { return mode; }
+        public StringProperty statusProperty() { return status; }
+        public StringProperty movesProperty() { return moves; }
+        public StringProperty statesProperty() { return states; }
+        public StringProperty timeProperty() { return time; }
+        public StringProperty memoryProperty() { return memory; }
+        public StringProperty rateProperty() { return rate; }
+    }
+
+    @FXML
+    public void initialize() {
+        for (String algorithm : MainController.ALGORITHMS) {
+            CheckBox check = new CheckBox(algorithm);
+            algorithmChecks.add(check);
+            algorithmBox.getChildren().add(check);
+        }
+        for (String heuristic : MainController.HEURISTICS) {
+            CheckBox check = new CheckBox(heuristic);
+            heuristicChecks.add(check);
+            heuristicBox.getChildren().add(check);
+        }
+
+        algorithmColumn.setCellValueFactory(cell -> cell.getValue().algorithmProperty());
+        heuristicColumn.setCellValueFactory(cell -> cell.getValue().heuristicProperty());
+        modeColumn.setCellValueFactory(cell -> cell.getValue().modeProperty());
+        statusColumn.setCellValueFactory(cell -> cell.getValue().statusProperty());
+        movesColumn.setCellValueFactory(cell -> cell.getValue().movesProperty());
+        statesColumn.setCellValueFactory(cell -> cell.getValue().statesProperty());
+        timeColumn.setCellValueFactory(cell -> cell.getValue().timeProperty());
+        memoryColumn.setCellValueFactory(cell -> cell.getValue().memoryProperty());
+        rateColumn.setCellValueFactory(cell -> cell.getValue().rateProperty());
+        resultsTable.setItems(rows);
+
+        runButton.setOnAction(e -> runComparison());
+        cancelButton.setOnAction(e -> cancelComparison());
+        exportButton.setOnAction(e -> exportCsv());
+        cancelButton.setDisable(true);
+        exportButton.setDisable(true);
+    }
+
+    /**
+     * Set up the window for a board, starting from the sidebar's current choices
+     * @param onSummary Receives a one-line summary for the main window's stats label
+     */
+    public void init(Board board, String algorithm, String heuristic, boolean isCompound,
+                     int timeLimitSeconds, int maxNodes, int memoryLimitMb, Stage stage, Consumer<String> onSummary) {
+        this.board = board;
+        this.stage = stage;
+        this.onSummary = onSummary;
+
+        for (CheckBox check : algorithmChecks) {
+            check.setSelected(check.getText().equals(algorithm));
+        }
+        for (CheckBox check : heuristicChecks) {
+            check.setSelected(check.getText().equals(heuristic));
+        }
+        singleMovesCheck.setSelected(!isCompound);
+        compoundMovesCheck.setSelected(isCompound);
+
+        // Every run gets the same budget; without one a slow algorithm would hold up the table
+        timeLimitSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 3600,
+            timeLimitSeconds > 0 ? timeLimitSeconds : 30, 5));
+        maxNodesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 100_000_000, maxNodes, 10_000));
+        memoryLimitSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 65_536, memoryLimitMb, 64));
+
+        progressLabel.setText(String.format("Board %dx%d, %d pieces", board.getWidth(), board.getHeight(),
+                                            board.getPieces().size()));
+
+        // Closing the window stops whatever is still running
+        stage.setOnHidden(e -> cancelComparison());
+    }
+
+    /**
+     * Start one run per selected combination, as many at a time as there are cores
+     */
+    private void runComparison() {
+        List<String> heuristics = new ArrayList<>();
+        for (CheckBox check : heuristicChecks) {
+            if (check.isSelected()) heuristics.add(check.getText());
+        }
+        List<Boolean> modes = new ArrayList<>();
+        if (singleMovesCheck.isSelected()) modes.add(false);
+        if (compoundMovesCheck.isSelected()) modes.add(true);
+
+        long timeLimitMillis = timeLimitSpinner.getValue() * 1000L;
+        long maxNodes = maxNodesSpinner.getValue();
+        long maxMemoryBytes = memoryLimitSpinner.getValue() * 1024L * 1024L;
+
+        rows.clear();
+        for (CheckBox check : algorithmChecks) {
+            if (!check.isSelected()) continue;
+            String algorithm = check.getText();
+            // Algorithms without a heuristic run once per move mode
+            List<String> runHeuristics = MainController.usesHeuristic(algorithm)
+                ? heuristics : Collections.singletonList("-");
+            for (String heuristic : runHeuristics) {
+                for (boolean isCompound : modes) {
+                    SolveJob job = new SolveJob(board, algorithm, heuristic, isCompound,
+                                                timeLimitMillis, maxNodes, maxMemoryBytes);
+                    rows.add(new Row(algorithm, heuristic, isCompound, job));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            progressLabel.setText("Select at least one algorithm, heuristic and move mode");
+            return;
+        }
+
+        int threads = Math.min(rows.size(), Runtime.getRuntime().availableProcessors());
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "comparison-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        remaining = rows.size();
+        for (Row row : rows) {
+            row.job.whenDone(outcome -> Platform.runLater(() -> runFinished(row, outcome)));
+            row.job.startOn(pool);
+        }
+        pool.shutdown();
+
+        refresher = new Timeline(new KeyFrame(Duration.millis(250), e -> {
+            for (Row row : rows) {
+                row.showProgress();
+            }
+            resultsTable.refresh();
+        }));
+        refresher.setCycleCount(Timeline.INDEFINITE);
+        refresher.play();
+
+        runButton.setDisable(true);
+        cancelButton.setDisable(false);
+        exportButton.setDisable(true);
+        progressLabel.setText(String.format("Running %d searches on %d threads...", rows.size(), threads));
+    }
+
+    private void runFinished(Row row, SolveJob.Outcome outcome) {
+        row.showOutcome(outcome);
+        resultsTable.refresh();
+        remaining--;
+        if (remaining > 0) {
+            progressLabel.setText(String.format("%d of %d searches done", rows.size() - remaining, rows.size()));
+            return;
+        }
+
+        if (refresher != null) {
+            refresher.stop();
+        }
+        runButton.setDisable(false);
+        cancelButton.setDisable(true);
+        exportButton.setDisable(false);
+
+        String summary = summarize();
+        progressLabel.setText(summary);
+        if (onSummary != null) {
+            onSummary.accept(summary);
+        }
+    }
+
+    /**
+     * Shortest solution found, ties broken by time
+     */
+    private String summarize() {
+        Row best = null;
+        int solved = 0;
+        for (Row row : rows) {
+            SolveJob.Outcome outcome = row.outcome;
+            if (outcome == null || outcome.solution == null) continue;
+            solved++;
+            if (best == null
+                    || outcome.solution.getMoves().size() < best.outcome.solution.getMoves().size()
+                    || (outcome.solution.getMoves().size() == best.outcome.solution.getMoves().size()
+                        && outcome.executionTime < best.outcome.executionTime)) {
+                best = row;
+            }
+        }
+        if (best == null) {
+            return String.format("Comparison: %d runs, none solved", rows.size());
+        }
+        return String.format("Comparison: %d of %d runs solved | Best: %s / %s / %s, %d moves in %d ms",
+            solved, rows.size(), best.algorithm.get(), best.heuristic.get(), best.mode.get(),
+            best.outcome.solution.getMoves().size(), best.outcome.executionTime);
+    }
+
+    private void cancelComparison() {
+        for (Row row : rows) {
+            row.job.cancel();
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void exportCsv() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Comparison");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        fileChooser.setInitialFileName("comparison.csv");
+        File testOutputDir = new File("test/output");
+        if (testOutputDir.isDirectory()) {
+            fileChooser.setInitialDirectory(testOutputDir);
+        }
+
+        File file = fileChooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (Row row : rows) {
+                writer.write(String.join(",", csvField(row.algorithm.get()), csvField(row.heuristic.get()),
+                    row.mode.get(), csvField(row.status.get()), row.moves.get(), row.states.get(), row.time.get(),
+                    row.memory.get(), row.rate.get()));
+                writer.write('\n');
+            }
+            progressLabel.setText("Exported to " + file.getAbsolutePath());
+        } catch (IOException e) {
+            progressLabel.setText("Error exporting: " + e.getMessage());
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -1,6 +1,7 @@
 package gui.controllers;
 
 import cli.*;
+import gui.Startup;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,7 +15,6 @@ import javafx.stage.Stage;
 import javafx.application.Platform;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -217,14 +217,8 @@ public class InputController {
         }
         
         try {
-            // Save to temporary file and parse
-            File tempFile = File.createTempFile("rushHour", ".txt");
-            try (FileWriter writer = new FileWriter(tempFile)) {
-                writer.write(configText);
-            }
-            
-            currentBoard = Board.readFromFile(tempFile.getAbsolutePath());
-            tempFile.delete();
+            // Parse straight from memory, no temporary file needed
+            currentBoard = Board.parse(configText);
             
             // Check if primary piece is aligned with exit
             if (!currentBoard.isPrimaryPieceAlignedWithExit()) {
@@ -322,13 +316,7 @@ public class InputController {
         
         // Parse the configuration
         try {
-            File tempFile = File.createTempFile("rushHourMatrix", ".txt");
-            try (FileWriter writer = new FileWriter(tempFile)) {
-                writer.write(config.toString());
-            }
-            
-            currentBoard = Board.readFromFile(tempFile.getAbsolutePath());
-            tempFile.delete();
+            currentBoard = Board.parse(config);
             
             updateStatus("Matrix configuration loaded successfully!", false);
             solveButton.setDisable(false);
@@ -406,8 +394,8 @@ public class InputController {
     private void openVisualization(Solution solution, Board initialBoard, String algorithm, 
                                  String heuristic, long executionTime) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/fxml/VisualizationView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = Startup.takeView("/gui/fxml/VisualizationView.fxml");
+            Parent root = loader.getRoot();
             
             VisualizationController controller = loader.getController();
             controller.initialize(solution, initialBoard, algorithm, heuristic, executionTime);
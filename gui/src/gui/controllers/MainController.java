@@ -1,6 +1,7 @@
 package gui.controllers;
 
 import cli.*;
+import gui.Startup;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -9,6 +10,7 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
@@ -26,6 +28,7 @@ import javafx.util.Duration;
 import javafx.scene.Node;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -55,6 +58,9 @@ public class MainController {
     @FXML private Text statusText;
     @FXML private ProgressBar progressBar;
     @FXML private Button compoundButton;
+    @FXML private Spinner<Integer> timeLimitSpinner;
+    @FXML private Spinner<Integer> maxNodesSpinner;
+    @FXML private Spinner<Integer> memoryLimitSpinner;
     
     // Board visualization elements
     @FXML private StackPane canvasContainer;
@@ -69,6 +75,9 @@ public class MainController {
     @FXML private Slider speedSlider;
     @FXML private Label moveLabel;
     @FXML private Label statsLabel;
+    @FXML private HBox seekControls;
+    @FXML private Slider seekSlider;
+    @FXML private ListView<Move> moveListView;
     @FXML private ComboBox<String> songComboBox;
     @FXML private Button pauseSongButton;
     @FXML private BorderPane boardContainer;
@@ -87,25 +96,52 @@ public class MainController {
     
     // Solution and animation state
     private Solution solution;
-    private List<Board> boardStates;
-    private List<Move> moves;
+    private PlaybackModel playback;
     private int currentStateIndex = 0;
+    private boolean updatingPlaybackControls = false;
     private Timeline animation;
     private boolean isPlaying = false;
     private long executionTime;
     private int nodesExamined;
+    private StopReason stopReason;
     private boolean isCompound = true;
     
     // Zoom controller
     private ZoomController zoomController;
     
+    // Search started when a board is loaded, before Solve is clicked
+    private SolveJob speculativeJob;
+    private boolean isSolving = false;
+    
+    // Algorithms and heuristics offered in the sidebar and the comparison window
+    static final List<String> ALGORITHMS = Arrays.asList(
+        "Uniform Cost Search (UCS)",
+        "Greedy Best First Search",
+        "A* Search",
+        "Anytime A* (ARA*)",
+        "Dijkstra's Algorithm",
+        "Beam Search [Not Complete Search]",
+        "Iterative Deepening A*",
+        "External-Memory BFS",
+        "Portfolio (race algorithms)"
+    );
+    static final List<String> HEURISTICS = Arrays.asList(
+        "Manhattan Distance",
+        "Direct Distance",
+        "Blocking Count",
+        "Clearing Moves"
+    );
+    
     // Visualization constants
     private static final int CELL_SIZE = 60;
     private static final int PADDING = 40;
     private final Map<Character, Color> pieceColors = new HashMap<>();
+    private BoardRenderer boardRenderer;
+    private Board displayedBoard;
 
     // Misc
     private MediaPlayer mediaPlayer;
+    private long musicRequest;
     private final String SONG_PATH = "src/resources/song/";
     private String playedSong = "If_I_could_be_a_constellation.mp3";
     
@@ -135,8 +171,10 @@ public class MainController {
         // Initialize input components
         initializeInputs();
         
-        // Initialize zoom controls
-        createZoomControls();
+        // Initialize seek slider and move list
+        initializePlaybackControls();
+        
+        // Zoom controls are created with the canvas when the first board is shown
         
         // Set initial status
         updateStatus("Ready to load configuration");
@@ -222,6 +260,14 @@ public class MainController {
             zoomableArea.setId("zoomableCanvasContainer");
             zoomableArea.getStyleClass().add("zoomable-canvas-container");
             
+            // The canvas is only as large as the visible area; the zoom controller decides
+            // which part of the board it shows
+            zoomableArea.setMinSize(0, 0);
+            zoomableArea.setPrefSize(700, 500);
+            VBox.setVgrow(zoomableArea, Priority.ALWAYS);
+            boardCanvas.widthProperty().bind(zoomableArea.widthProperty());
+            boardCanvas.heightProperty().bind(zoomableArea.heightProperty());
+            
             // Save the original parent of the canvas
             Parent originalParent = boardCanvas.getParent();
             
@@ -321,6 +367,11 @@ public class MainController {
         colSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 25, 6));
         piecesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 50, 12));
         
+        // Search budgets, 0 means no limit
+        timeLimitSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 3600, 0, 5));
+        maxNodesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 100_000_000, 0, 10_000));
+        memoryLimitSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 65_536, 0, 64));
+        
         // Add a listener to prevent 1x1 boards
         rowSpinner.valueProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal == 1 && colSpinner.getValue() == 1) {
@@ -343,32 +394,26 @@ public class MainController {
         });
         
         // Initialize algorithm dropdown
-        algorithmComboBox.getItems().addAll(
-            "Uniform Cost Search (UCS)",
-            "Greedy Best First Search",
-            "A* Search",
-            "Dijkstra's Algorithm",
-            "Beam Search [Not Complete Search]",
-            "Iterative Deepening A*"
-        );
+        algorithmComboBox.getItems().addAll(ALGORITHMS);
         algorithmComboBox.getSelectionModel().selectFirst();
         
         // Initialize heuristic dropdown
-        heuristicComboBox.getItems().addAll(
-            "Manhattan Distance",
-            "Direct Distance",
-            "Blocking Count",
-            "Clearing Moves"
-        );
+        heuristicComboBox.getItems().addAll(HEURISTICS);
         heuristicComboBox.getSelectionModel().selectFirst();
         
         // Initially disable heuristic for UCS
         heuristicComboBox.setDisable(true);
         algorithmComboBox.setOnAction(e -> {
             String selected = algorithmComboBox.getValue();
-            boolean needsHeuristic = selected.contains("Greedy") || selected.contains("A*") || selected.contains("Beam") || selected.contains("Iterative");
-            heuristicComboBox.setDisable(!needsHeuristic);
+            heuristicComboBox.setDisable(!usesHeuristic(selected));
+            settingsChanged();
         });
+        heuristicComboBox.setOnAction(e -> settingsChanged());
+        
+        // Budget changes make a speculative search stale too
+        timeLimitSpinner.valueProperty().addListener((obs, oldVal, newVal) -> settingsChanged());
+        maxNodesSpinner.valueProperty().addListener((obs, oldVal, newVal) -> settingsChanged());
+        memoryLimitSpinner.valueProperty().addListener((obs, oldVal, newVal) -> settingsChanged());
         
         // Setup text area with sample configuration
         configTextArea.setText("6 6\n11\nAAB..F\n..BCDF\nGPPCDFK\nGH.III\nGHJ...\nLLJMM.");
@@ -380,6 +425,13 @@ public class MainController {
         solveButton.setDisable(true);
     }
     
+    /**
+     * Check whether the selected algorithm takes a heuristic
+     */
+    static boolean usesHeuristic(String algorithm) {
+        return algorithm.contains("Greedy") || algorithm.contains("A*") || algorithm.contains("Beam") || algorithm.contains("Iterative");
+    }
+    
     /**
      * Check if zoom controls should be shown based on board size
      */
@@ -396,16 +448,17 @@ public class MainController {
      * Initialize canvas and animation
      */
     private void initializeCanvas() {
+        // Initialize zoom controls
+        createZoomControls();
+        
         // Setup animation
         animation = new Timeline(
             new KeyFrame(Duration.seconds(1.0 / speedSlider.getValue()), e -> {
-                if (currentStateIndex < boardStates.size() - 1) {
-                    currentStateIndex++;
-                    drawBoard(boardStates.get(currentStateIndex));
-                    updateMoveInfo();
+                if (currentStateIndex < playback.getMoveCount()) {
+                    showStep(currentStateIndex + 1, true);
                     
                     // If solved
-                    if (currentStateIndex == boardStates.size() - 1) {
+                    if (currentStateIndex == playback.getMoveCount()) {
                         updateStatus("Puzzle solved successfully!");
                     }
                 } else {
@@ -429,6 +482,13 @@ public class MainController {
             zoomSlider
         );
         
+        // Panning, zooming and resizing redraw the visible part of the board
+        zoomController.setOnViewportChanged(() -> {
+            if (displayedBoard != null) {
+                drawBoard(displayedBoard);
+            }
+        });
+        
         // Show zoom controls for large boards
         checkAndShowZoomControls();
     }
@@ -440,19 +500,16 @@ public class MainController {
     }
 
     /**
-     * Adjust canvas size based on board dimensions
+     * Fit the zoom to the board dimensions
+     * The canvas keeps the size of its container; only the zoom and the visible window change.
      */
     private void adjustCanvasSize(Board board) {
         int width = board.getWidth();
         int height = board.getHeight();
         
-        // Calculate required canvas size
-        double canvasWidth = width * CELL_SIZE + PADDING * 2;
-        double canvasHeight = height * CELL_SIZE + PADDING * 2;
-        
-        // Set canvas size
-        boardCanvas.setWidth(canvasWidth);
-        boardCanvas.setHeight(canvasHeight);
+        // Size of the whole board in board pixels
+        double contentWidth = width * CELL_SIZE + PADDING * 2;
+        double contentHeight = height * CELL_SIZE + PADDING * 2;
         
         // Determine if zoom controls should be shown based on board size
         boolean largeBoard = width > 10 || height > 10;
@@ -479,37 +536,37 @@ public class MainController {
             verticalZoomControls.setManaged(largeBoard);
         }
         
-        // Check if we need to scale the board to fit in the view
-        if (largeBoard && zoomController != null && zoomableArea != null) {
-            // Get the available space for the canvas
-            // Use the parent of the zoomable area to determine available space
-            double availableWidth = zoomableArea.getWidth() - (largeBoard ? 70 : 0); // 50px for controls + 20px margin
-            double availableHeight = zoomableArea.getHeight();
-            
-            // If the board is larger than available space, calculate scaling
-            if (canvasWidth > availableWidth || canvasHeight > availableHeight) {
-                double widthRatio = availableWidth / canvasWidth;
-                double heightRatio = availableHeight / canvasHeight;
-                double scaleFactor = Math.min(widthRatio, heightRatio) * 0.9; // 90% of max scale to leave a margin
-                
-                // Ensure scaling is within our zoom limits
-                scaleFactor = Math.max(0.25, Math.min(scaleFactor, 1.0));
-                
-                // Apply zoom
-                zoomController.zoom(scaleFactor);
-                
-                // Update slider value
-                if (zoomSlider != null) {
-                    zoomSlider.setValue(scaleFactor);
+        if (zoomController == null) {
+            return;
+        }
+        
+        // The container is laid out on the next pulse the first time a board is shown
+        zoomController.setContentSize(contentWidth, contentHeight);
+        if (boardCanvas.getWidth() <= 0 || boardCanvas.getHeight() <= 0) {
+            Platform.runLater(() -> {
+                if (boardCanvas.getWidth() > 0 && boardCanvas.getHeight() > 0) {
+                    adjustCanvasSize(board);
                 }
-                
-                // Update zoom percentage label
-                updateZoomPercentLabel();
-            } else {
-                // Board fits, reset zoom
-                zoomController.resetZoom();
-            }
+            });
+            return;
         }
+        
+        // Scale at which the whole board fits, leaving room for the zoom controls
+        double availableWidth = boardCanvas.getWidth() - (largeBoard ? 70 : 0); // 50px for controls + 20px margin
+        double availableHeight = boardCanvas.getHeight();
+        double fitScale = Math.min(availableWidth / contentWidth, availableHeight / contentHeight) * 0.9; // 90% to leave a margin
+        
+        // Allow zooming out far enough to see the whole board, however large
+        zoomController.setZoomLimits(Math.min(0.25, Math.max(0.01, fitScale)), 3.0);
+        
+        // Check if we need to scale the board to fit in the view
+        if (largeBoard && fitScale < 1.0 && fitScale > 0) {
+            zoomController.zoom(fitScale);
+        } else {
+            // Board fits, reset zoom
+            zoomController.resetZoom();
+        }
+        updateZoomPercentLabel();
     }
 
     /**
@@ -525,6 +582,7 @@ public class MainController {
         
         // Initialize colors
         initializePieceColors(board);
+        boardRenderer().invalidate();
         
         // Initialize canvas and zoom controller if not yet initialized
         if (animation == null) {
@@ -549,14 +607,18 @@ public class MainController {
     private void handleToggleCompound() {
         isCompound = !isCompound;
         updateCompoundButtonText();
+        settingsChanged();
     }
     private void resetBoardState() {
+        // The board is about to change
+        cancelSpeculativeSolve();
+        
         // Reset solution and board state
         this.solution = null;
-        this.boardStates = null;
-        this.moves = null;
+        this.playback = null;
         this.currentStateIndex = 0;
         this.nodesExamined = 0;
+        this.stopReason = null;
         
         // Reset animation state
         if (animation != null) {
@@ -569,6 +631,9 @@ public class MainController {
         if (pauseButton != null) pauseButton.setDisable(true);
         if (resetButton != null) resetButton.setDisable(false);
         
+        // Hide seek slider and move list
+        showPlaybackControls(false);
+        
         // Reset labels
         if (moveLabel != null) moveLabel.setText("");
         if (statsLabel != null) statsLabel.setText("");
@@ -648,6 +713,9 @@ public class MainController {
                     
                     // Show the board
                     displayInitialBoard(currentBoard);
+                    
+                    // Most of the time Solve is clicked next, get a head start
+                    startSpeculativeSolve();
                 });
                 
             } catch (IOException e) {
@@ -709,15 +777,8 @@ public class MainController {
         // Run parsing in background
         new Thread(() -> {
             try {
-                // Save to temporary file and parse using FileParser
-                File tempFile = File.createTempFile("rushHour", ".txt");
-                try (FileWriter writer = new FileWriter(tempFile)) {
-                    writer.write(configText);
-                }
-                
-                // Use the same FileParser logic used in Board.readFromFile
-                currentBoard = Board.readFromFile(tempFile.getAbsolutePath());
-                tempFile.delete();
+                // Parse straight from memory with the same FileParser rules used for files
+                currentBoard = Board.parse(configText);
                 
                 Platform.runLater(() -> {
                     progressBar.setVisible(false);
@@ -741,6 +802,9 @@ public class MainController {
                     
                     // Show the board
                     displayInitialBoard(currentBoard);
+                    
+                    // Most of the time Solve is clicked next, get a head start
+                    startSpeculativeSolve();
                 });
                 
             } catch (Exception e) {
@@ -760,8 +824,9 @@ public class MainController {
     @FXML
     private void handleCreateMatrix() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/fxml/MatrixInputWindow.fxml"));
-            Parent root = loader.load();
+            // Usually already loaded in the background during startup
+            FXMLLoader loader = Startup.takeView("/gui/fxml/MatrixInputWindow.fxml");
+            Parent root = loader.getRoot();
 
             if (root == null) {
                 updateStatus("Error loading matrix input window", true);
@@ -810,15 +875,8 @@ public class MainController {
         // Run parsing in background
         new Thread(() -> {
             try {
-                // Save to temporary file and parse using FileParser
-                File tempFile = File.createTempFile("rushHour", ".txt");
-                try (FileWriter writer = new FileWriter(tempFile)) {
-                    writer.write(finalConfigText);
-                }
-                
-                // Use the same FileParser logic used in Board.readFromFile
-                currentBoard = Board.readFromFile(tempFile.getAbsolutePath());
-                tempFile.delete();
+                // Parse straight from memory with the same FileParser rules used for files
+                currentBoard = Board.parse(finalConfigText);
                 
                 Platform.runLater(() -> {
                     progressBar.setVisible(false);
@@ -842,6 +900,9 @@ public class MainController {
                     
                     // Show the board
                     displayInitialBoard(currentBoard);
+                    
+                    // Most of the time Solve is clicked next, get a head start
+                    startSpeculativeSolve();
                 });
                 
             } catch (Exception e) {
@@ -869,90 +930,183 @@ public class MainController {
         String heuristic = heuristicComboBox.getValue();
         
         // Disable UI during solving
+        isSolving = true;
         solveButton.setDisable(true);
         progressBar.setVisible(true);
         progressBar.setProgress(ProgressIndicator.INDETERMINATE_PROGRESS);
         updateStatus("Solving puzzle using " + algorithm + "...");
         
-        // Run solving in background thread
-        new Thread(() -> {
-            try {
-                Solver solver = new Solver();
-                Solution solution = null;
-                
-                long startTime = System.currentTimeMillis();
-                
-                // Select algorithm based on combo box selection
-                if (algorithm.contains("UCS")) {
-                    solution = solver.solveUCS(currentBoard, isCompound);
-                } else if (algorithm.contains("Dijkstra")) {
-                    solution = solver.solveDijkstra(currentBoard, isCompound);
-                } else if (algorithm.contains("Greedy")) {
-                    solution = solver.solveGreedy(currentBoard, heuristic, isCompound);
-                } else if (algorithm.contains("A*")) {
-                    solution = solver.solveAStar(currentBoard, heuristic, isCompound);
-                } else if (algorithm.contains("Beam")) {
-                    solution = solver.solveBeam(currentBoard, heuristic, isCompound);
-                } else if (algorithm.contains("Iterative")) {
-                    solution = solver.solveIDAStar(currentBoard, heuristic, isCompound);
+        // Take over the speculative search when it is solving the same thing, it may already be done
+        SolveJob job = speculativeJob;
+        speculativeJob = null;
+        if (job != null && !matchesSettings(job)) {
+            job.cancel();
+            job = null;
+        }
+        if (job != null) {
+            // Backing off for the UI spent part of the time limit, so such a search starts over with all of it
+            if (job.lostTimeToYielding()) {
+                job.cancel();
+                job = null;
+            } else {
+                job.attach(message -> Platform.runLater(() -> updateStatus(message)));
+            }
+        }
+        if (job == null) {
+            job = newSolveJob();
+            job.attach(message -> Platform.runLater(() -> updateStatus(message)));
+            job.start(false);
+        }
+        
+        job.whenDone(outcome -> Platform.runLater(() -> showOutcome(outcome, algorithm, heuristic)));
+    }
+
+    /**
+     * Handle compare button click, opens the side-by-side comparison for the loaded board
+     */
+    @FXML
+    private void handleCompare() {
+        if (currentBoard == null) {
+            updateStatus("Error: Please load a board configuration first", true);
+            return;
+        }
+
+        try {
+            FXMLLoader loader = Startup.takeView("/gui/fxml/ComparisonView.fxml");
+            Parent root = loader.getRoot();
+            ComparisonController controller = loader.getController();
+
+            // The comparison runs on every core, the speculative search would only slow it down
+            cancelSpeculativeSolve();
+
+            Stage compareStage = new Stage();
+            compareStage.setTitle("Compare Algorithms");
+            compareStage.setScene(new Scene(root));
+            controller.init(currentBoard, algorithmComboBox.getValue(), heuristicComboBox.getValue(), isCompound,
+                            timeLimitSpinner.getValue(), maxNodesSpinner.getValue(), memoryLimitSpinner.getValue(),
+                            compareStage, summary -> {
+                                statsLabel.setText(summary);
+                                updateStatus("Comparison finished");
+                            });
+            compareStage.show();
+        } catch (IOException e) {
+            updateStatus("Error opening comparison: " + e.getMessage(), true);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Search with the board and the settings currently in the sidebar
+     */
+    private SolveJob newSolveJob() {
+        // Budgets from the sidebar (0 disables a limit)
+        return new SolveJob(currentBoard, algorithmComboBox.getValue(), heuristicComboBox.getValue(), isCompound,
+                            timeLimitSpinner.getValue() * 1000L,
+                            maxNodesSpinner.getValue(),
+                            memoryLimitSpinner.getValue() * 1024L * 1024L);
+    }
+    
+    private boolean matchesSettings(SolveJob job) {
+        return job.matches(currentBoard, algorithmComboBox.getValue(), heuristicComboBox.getValue(), isCompound,
+                           timeLimitSpinner.getValue() * 1000L,
+                           maxNodesSpinner.getValue(),
+                           memoryLimitSpinner.getValue() * 1024L * 1024L);
+    }
+    
+    /**
+     * Start solving the loaded board in the background before Solve is clicked
+     * Any earlier speculative search is cancelled, its settings or its board are stale.
+     */
+    private void startSpeculativeSolve() {
+        cancelSpeculativeSolve();
+        if (currentBoard == null || !SolveJob.canSpeculate(algorithmComboBox.getValue())) {
+            return;
+        }
+        speculativeJob = newSolveJob();
+        speculativeJob.start(true);
+    }
+    
+    private void cancelSpeculativeSolve() {
+        if (speculativeJob != null) {
+            speculativeJob.cancel();
+            speculativeJob = null;
+        }
+    }
+    
+    /**
+     * Restart the speculative search after a setting changed, unless a solve is running
+     */
+    private void settingsChanged() {
+        if (currentBoard != null && !isSolving) {
+            startSpeculativeSolve();
+        }
+    }
+    
+    /**
+     * Show the result of a search started by the Solve button
+     */
+    private void showOutcome(SolveJob.Outcome outcome, String algorithm, String heuristic) {
+        isSolving = false;
+        progressBar.setVisible(false);
+        solveButton.setDisable(false);
+        
+        if (outcome.error != null) {
+            updateStatus("Error solving puzzle: " + outcome.error.getMessage(), true);
+            outcome.error.printStackTrace();
+            return;
+        }
+        
+        // Store the execution time and solution as class members
+        this.executionTime = outcome.executionTime;
+        this.solution = outcome.solution;
+        this.stopReason = outcome.stopReason;
+        
+        if (outcome.solution != null) {
+            displaySolution(outcome.solution, outcome.algorithmLabel, heuristic, executionTime);
+        } else {
+            // Even when no solution is found, show examined nodes and time
+            int nodesExamined = outcome.nodesExamined;
+            if (stopReason.isBudgetExceeded()) {
+                // Show the closest state the search reached before the budget ran out
+                Solution partial = outcome.partialSolution;
+                String partialInfo = "";
+                if (partial != null) {
+                    partialInfo = " Best partial path: " + partial.getMoves().size() + " moves.";
+                    drawBoard(partial.getStates().get(partial.getStates().size() - 1));
                 }
-                
-                long endTime = System.currentTimeMillis();
-                final long executionTime = endTime - startTime;
-                
-                final Solution finalSolution = solution;
-                
-                // Update UI on JavaFX thread
-                Platform.runLater(() -> {
-                    progressBar.setVisible(false);
-                    solveButton.setDisable(false);
-                    
-                    // Store the execution time and solution as class members
-                    this.executionTime = executionTime;
-                    this.solution = finalSolution;
-                    
-                    if (finalSolution != null) {
-                        displaySolution(finalSolution, algorithm, heuristic, executionTime);
-                    } else {
-                        // Even when no solution is found, show examined nodes and time
-                        int nodesExamined = solver.getLastNodesExamined();
-                        updateStatus("No solution found for this configuration. Examined " + nodesExamined + " states in " + executionTime + " ms.", true);
-                        
-                        // Store the nodes examined for saving
-                        this.nodesExamined = nodesExamined;
-                        
-                        // Enable save button to allow saving the no-solution result
-                        animationControls.setVisible(true);
-                        playButton.setDisable(true);
-                        pauseButton.setDisable(true);
-                        resetButton.setDisable(true);
-                        
-                        // Update stats label with the info
-                        statsLabel.setText(String.format(
-                            "Algorithm: %s | Heuristic: %s | States Examined: %d | Time: %d ms | No Solution Found",
-                            algorithm, 
-                            (algorithm.contains("UCS") || algorithm.contains("Dijkstra")) ? "-" : heuristic,
-                            nodesExamined,
-                            executionTime
-                        ));
-                    }
-                });
-                
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    progressBar.setVisible(false);
-                    solveButton.setDisable(false);
-                    updateStatus("Error solving puzzle: " + e.getMessage(), true);
-                    e.printStackTrace();
-                });
+                updateStatus("Search stopped (" + stopReason.describe() + ") after examining " + nodesExamined + " states in " + executionTime + " ms." + partialInfo, true);
+            } else if (stopReason == StopReason.UNSOLVABLE && outcome.unsolvableReason != null) {
+                updateStatus("No solution exists: " + outcome.unsolvableReason + ".", true);
+            } else {
+                updateStatus("No solution found for this configuration. Examined " + nodesExamined + " states in " + executionTime + " ms.", true);
             }
-        }).start();
+            
+            // Store the nodes examined for saving
+            this.nodesExamined = nodesExamined;
+            
+            // Enable save button to allow saving the no-solution result
+            animationControls.setVisible(true);
+            playButton.setDisable(true);
+            pauseButton.setDisable(true);
+            resetButton.setDisable(true);
+            
+            // Update stats label with the info
+            statsLabel.setText(String.format(
+                "Algorithm: %s | Heuristic: %s | States Examined: %d | Time: %d ms | %s",
+                algorithm, 
+                usesHeuristic(algorithm) ? heuristic : "-",
+                nodesExamined,
+                executionTime,
+                stopReason.isBudgetExceeded() ? "Stopped: " + stopReason.describe() : "No Solution Found"
+            ));
+        }
     }
 
     private void displaySolution(Solution solution, String algorithm, String heuristic, long executionTime) {
-        this.solution = solution;
-        this.boardStates = solution.getStates();
-        this.moves = solution.getMoves();
+        // Boards are rebuilt from checkpoints on demand, so only the first state is kept
+        this.playback = PlaybackModel.of(solution);
+        this.solution = new Solution(solution.getMoves(), Collections.singletonList(playback.getBoard(0)),
+                                     solution.getStatesExamined(), solution.getStopReason());
         this.currentStateIndex = 0;
         
         // Initialize canvas animation if needed
@@ -968,14 +1122,25 @@ public class MainController {
         pauseButton.setDisable(true);
         
         // Set appropriate canvas size based on board size
-        adjustCanvasSize(boardStates.get(0));
+        adjustCanvasSize(playback.getBoard(0));
+        boardRenderer().invalidate();
+        
+        // Fill seek slider and move list
+        updatingPlaybackControls = true;
+        seekSlider.setMax(playback.getMoveCount());
+        seekSlider.setValue(0);
+        moveListView.setItems(FXCollections.observableList(playback.getMoves()));
+        moveListView.getSelectionModel().clearSelection();
+        moveListView.scrollTo(0);
+        updatingPlaybackControls = false;
+        showPlaybackControls(true);
         
         // Draw initial state
-        drawBoard(boardStates.get(0));
+        drawBoard(playback.getBoard(0));
         
         // For UCS and Dijkstra, display "-" as the heuristic since they don't use heuristics
         String displayHeuristic = heuristic;
-        if (algorithm.contains("UCS") || algorithm.contains("Dijkstra")) {
+        if (!usesHeuristic(algorithm)) {
             displayHeuristic = "-";
         }
         
@@ -985,7 +1150,7 @@ public class MainController {
             algorithm, 
             displayHeuristic,
             solution.getStatesExamined(),
-            moves.size(),
+            playback.getMoveCount(),
             executionTime
         ));
         
@@ -1030,26 +1195,45 @@ public class MainController {
         }
     }
     
+    /**
+     * Renderer that keeps the static board layer and piece sprites between frames
+     */
+    private BoardRenderer boardRenderer() {
+        if (boardRenderer == null) {
+            boardRenderer = new BoardRenderer(boardCanvas, CELL_SIZE, PADDING, pieceColors,
+                                              this::paintStaticLayer, this::paintPiece);
+        }
+        return boardRenderer;
+    }
+    
     /**
      * Draw the board on canvas with zoom support
+     * Only pieces that moved since the previous call are repainted.
      */
     private void drawBoard(Board board) {
-        GraphicsContext gc = boardCanvas.getGraphicsContext2D();
-        int width = board.getWidth();
-        int height = board.getHeight();
-        
-        // Calculate required canvas size
-        double canvasWidth = width * CELL_SIZE + PADDING * 2;
-        double canvasHeight = height * CELL_SIZE + PADDING * 2;
+        displayedBoard = board;
         
-        // If canvas size doesn't match, update it
-        if (boardCanvas.getWidth() < canvasWidth || boardCanvas.getHeight() < canvasHeight) {
-            boardCanvas.setWidth(canvasWidth);
-            boardCanvas.setHeight(canvasHeight);
+        // The canvas only covers the visible window, show the part of the board inside it
+        if (zoomController != null) {
+            boardRenderer().setViewport(zoomController.getZoomScale(),
+                                        zoomController.getViewX(), zoomController.getViewY());
         }
         
-        // Clear canvas
-        gc.clearRect(0, 0, boardCanvas.getWidth(), boardCanvas.getHeight());
+        // Static layer and unchanged pieces stay on the canvas
+        boardRenderer().draw(board);
+        
+        // Draw mini-map for large boards
+        if (board.getWidth() > 12 || board.getHeight() > 12) {
+            drawMiniMap(boardCanvas.getGraphicsContext2D(), board);
+        }
+    }
+    
+    /**
+     * Paint the parts of the board that never move: background, grid lines, exit and arrow
+     */
+    private void paintStaticLayer(GraphicsContext gc, Board board, Rectangle2D visible, boolean detailed) {
+        int width = board.getWidth();
+        int height = board.getHeight();
         
         // Draw board background with rounded corners
         gc.setFill(Color.rgb(240, 240, 240, 0.9));
@@ -1060,16 +1244,25 @@ public class MainController {
         gc.setFill(Color.LIGHTGRAY);
         gc.fillRoundRect(PADDING, PADDING, width * CELL_SIZE, height * CELL_SIZE, 10, 10);
         
-        // Draw grid lines
-        gc.setStroke(Color.DARKGRAY);
-        gc.setLineWidth(1);
-        for (int i = 0; i <= width; i++) {
-            gc.strokeLine(PADDING + i * CELL_SIZE, PADDING, 
-                         PADDING + i * CELL_SIZE, PADDING + height * CELL_SIZE);
-        }
-        for (int i = 0; i <= height; i++) {
-            gc.strokeLine(PADDING, PADDING + i * CELL_SIZE, 
-                         PADDING + width * CELL_SIZE, PADDING + i * CELL_SIZE);
+        // Draw grid lines, only those in view; when zoomed far out they would blur into gray
+        if (detailed) {
+            int firstCol = Math.max(0, (int) Math.floor((visible.getMinX() - PADDING) / CELL_SIZE));
+            int lastCol = Math.min(width, (int) Math.ceil((visible.getMaxX() - PADDING) / CELL_SIZE));
+            int firstRow = Math.max(0, (int) Math.floor((visible.getMinY() - PADDING) / CELL_SIZE));
+            int lastRow = Math.min(height, (int) Math.ceil((visible.getMaxY() - PADDING) / CELL_SIZE));
+            double top = PADDING + firstRow * CELL_SIZE;
+            double bottom = PADDING + lastRow * CELL_SIZE;
+            double left = PADDING + firstCol * CELL_SIZE;
+            double right = PADDING + lastCol * CELL_SIZE;
+            
+            gc.setStroke(Color.DARKGRAY);
+            gc.setLineWidth(1);
+            for (int i = firstCol; i <= lastCol; i++) {
+                gc.strokeLine(PADDING + i * CELL_SIZE, top, PADDING + i * CELL_SIZE, bottom);
+            }
+            for (int i = firstRow; i <= lastRow; i++) {
+                gc.strokeLine(left, PADDING + i * CELL_SIZE, right, PADDING + i * CELL_SIZE);
+            }
         }
         
         // Draw exit
@@ -1103,16 +1296,6 @@ public class MainController {
         
         // Draw exit arrow
         drawExitArrow(gc, board);
-        
-        // Draw pieces
-        for (Piece piece : board.getPieces()) {
-            drawPiece(gc, piece);
-        }
-        
-        // Draw mini-map for large boards
-        if (board.getWidth() > 12 || board.getHeight() > 12) {
-            drawMiniMap(gc, board);
-        }
     }
     
     /**
@@ -1127,9 +1310,12 @@ public class MainController {
         double miniMapRatio = Math.min(miniMapSize / width, miniMapSize / height);
         double miniMapWidth = width * miniMapRatio;
         double miniMapHeight = height * miniMapRatio;
-        double miniMapX = boardCanvas.getWidth() - miniMapWidth - 20;
+        double miniMapX = boardCanvas.getWidth() - miniMapWidth - 90; // clear of the zoom controls
         double miniMapY = 20;
         
+        // Restore the board under the mini-map so its translucent background does not stack up
+        boardRenderer().repaint(miniMapX - 5, miniMapY - 5, miniMapWidth + 10, miniMapHeight + 10);
+        
         // Draw mini-map background
         gc.setFill(Color.rgb(30, 30, 30, 0.7));
         gc.fillRoundRect(miniMapX - 5, miniMapY - 5, miniMapWidth + 10, miniMapHeight + 10, 10, 10);
@@ -1140,15 +1326,6 @@ public class MainController {
         
         // Draw pieces in mini-map
         for (Piece piece : board.getPieces()) {
-            List<Position> positions = piece.getPositions();
-            
-            // Calculate bounding box
-            int minRow = positions.stream().mapToInt(p -> p.row).min().orElse(0);
-            int maxRow = positions.stream().mapToInt(p -> p.row).max().orElse(0);
-            int minCol = positions.stream().mapToInt(p -> p.col).min().orElse(0);
-            int maxCol = positions.stream().mapToInt(p -> p.col).max().orElse(0);
-            
-            // Draw piece in mini-map
             Color color = pieceColors.get(piece.getId());
             if (color == null) {
                 color = Color.GRAY;
@@ -1156,29 +1333,28 @@ public class MainController {
             
             gc.setFill(color);
             gc.fillRect(
-                miniMapX + minCol * miniMapRatio,
-                miniMapY + minRow * miniMapRatio,
-                (maxCol - minCol + 1) * miniMapRatio,
-                (maxRow - minRow + 1) * miniMapRatio
+                miniMapX + piece.getLeftmostCol() * miniMapRatio,
+                miniMapY + piece.getTopmostRow() * miniMapRatio,
+                (piece.getRightmostCol() - piece.getLeftmostCol() + 1) * miniMapRatio,
+                (piece.getBottommostRow() - piece.getTopmostRow() + 1) * miniMapRatio
             );
         }
         
-        // Draw view port if zoomed
-        if (zoomController != null && zoomController.getZoomScale() > 1.0) {
-            double viewportWidth = miniMapWidth / zoomController.getZoomScale();
-            double viewportHeight = miniMapHeight / zoomController.getZoomScale();
-            
-            // Calculate center of viewport based on translation
-            double centerX = miniMapX + miniMapWidth / 2;
-            double centerY = miniMapY + miniMapHeight / 2;
+        // Draw the part of the board that is in view when it does not all fit
+        if (zoomController != null && !zoomController.isContentFullyVisible()) {
+            double scale = zoomController.getZoomScale();
+            double viewLeft = Math.max(0, (zoomController.getViewX() - PADDING) / CELL_SIZE);
+            double viewTop = Math.max(0, (zoomController.getViewY() - PADDING) / CELL_SIZE);
+            double viewRight = Math.min(width, (zoomController.getViewX() + boardCanvas.getWidth() / scale - PADDING) / CELL_SIZE);
+            double viewBottom = Math.min(height, (zoomController.getViewY() + boardCanvas.getHeight() / scale - PADDING) / CELL_SIZE);
             
             gc.setStroke(Color.WHITE);
             gc.setLineWidth(2);
             gc.strokeRect(
-                centerX - viewportWidth / 2,
-                centerY - viewportHeight / 2,
-                viewportWidth,
-                viewportHeight
+                miniMapX + viewLeft * miniMapRatio,
+                miniMapY + viewTop * miniMapRatio,
+                Math.max(0, viewRight - viewLeft) * miniMapRatio,
+                Math.max(0, viewBottom - viewTop) * miniMapRatio
             );
         }
     }
@@ -1237,31 +1413,15 @@ public class MainController {
     }
 
     /**
-     * Draw piece with 3D effect
+     * Paint a piece sprite with 3D effect into its cell rectangle
      */
-    private void drawPiece(GraphicsContext gc, Piece piece) {
-        Color color = pieceColors.get(piece.getId());
-        if (color == null) {
-            color = Color.GRAY; // Default color if not found
-        }
-        
-        gc.setFill(color);
-        gc.setStroke(color.darker());
-        gc.setLineWidth(3);
-        
-        List<Position> positions = piece.getPositions();
-        
-        // Calculate bounding box
-        int minRow = positions.stream().mapToInt(p -> p.row).min().orElse(0);
-        int maxRow = positions.stream().mapToInt(p -> p.row).max().orElse(0);
-        int minCol = positions.stream().mapToInt(p -> p.col).min().orElse(0);
-        int maxCol = positions.stream().mapToInt(p -> p.col).max().orElse(0);
-        
+    private void paintPiece(GraphicsContext gc, char id, Color color, double cellX, double cellY,
+                            double cellsWidth, double cellsHeight) {
         // Draw piece as rounded rectangle with shadow
-        double x = PADDING + minCol * CELL_SIZE + 5;
-        double y = PADDING + minRow * CELL_SIZE + 5;
-        double width = (maxCol - minCol + 1) * CELL_SIZE - 10;
-        double height = (maxRow - minRow + 1) * CELL_SIZE - 10;
+        double x = cellX + 5;
+        double y = cellY + 5;
+        double width = cellsWidth - 10;
+        double height = cellsHeight - 10;
         
         // Draw shadow
         gc.setFill(Color.rgb(0, 0, 0, 0.3));
@@ -1271,6 +1431,7 @@ public class MainController {
         gc.setFill(color);
         gc.fillRoundRect(x, y, width, height, 15, 15);
         gc.setStroke(color.darker());
+        gc.setLineWidth(3);
         gc.strokeRoundRect(x, y, width, height, 15, 15);
         
         // Add highlight effect
@@ -1282,7 +1443,7 @@ public class MainController {
         gc.setFont(javafx.scene.text.Font.font("Arial", javafx.scene.text.FontWeight.BOLD, 24));
         double textX = x + width / 2 - 10;
         double textY = y + height / 2 + 8;
-        gc.fillText(String.valueOf(piece.getId()), textX, textY);
+        gc.fillText(String.valueOf(id), textX, textY);
     }
     
     /**
@@ -1291,13 +1452,82 @@ public class MainController {
     private void updateMoveInfo() {
         if (currentStateIndex == 0) {
             moveLabel.setText("Initial Board Configuration");
-        } else if (currentStateIndex > moves.size()) {
+        } else if (currentStateIndex > playback.getMoveCount()) {
             moveLabel.setText("Puzzle Solved!");
         } else {
-            Move currentMove = moves.get(currentStateIndex - 1);
+            Move currentMove = playback.getMove(currentStateIndex - 1);
             moveLabel.setText(String.format("Move %d of %d: %s", 
-                currentStateIndex, moves.size(), currentMove.toString()));
+                currentStateIndex, playback.getMoveCount(), currentMove.toString()));
+        }
+    }
+    
+    /**
+     * Set up the seek slider and the move list
+     */
+    private void initializePlaybackControls() {
+        // The list only creates cells for the rows in view, so long solutions stay cheap
+        moveListView.setCellFactory(list -> new ListCell<Move>() {
+            @Override
+            protected void updateItem(Move move, boolean empty) {
+                super.updateItem(move, empty);
+                setText(empty || move == null ? null
+                        : (getIndex() + 1) + ". " + move.getPiece().getId() + " " + move.toString());
+            }
+        });
+        
+        // Clicking a move shows the board after it
+        moveListView.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
+            if (!updatingPlaybackControls && playback != null && newVal.intValue() >= 0) {
+                showStep(newVal.intValue() + 1, false);
+            }
+        });
+        
+        // Dragging the slider scrubs through the steps
+        seekSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (!updatingPlaybackControls && playback != null) {
+                int step = (int) Math.round(newVal.doubleValue());
+                if (step != currentStateIndex) {
+                    showStep(step, true);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Show or hide the seek slider and the move list
+     */
+    private void showPlaybackControls(boolean visible) {
+        if (seekControls != null) {
+            seekControls.setVisible(visible);
+            seekControls.setManaged(visible);
+        }
+        if (moveListView != null) {
+            moveListView.setVisible(visible);
+            moveListView.setManaged(visible);
+        }
+    }
+    
+    /**
+     * Jump to a step of the solution, rebuilding its board from the nearest checkpoint
+     * @param scrollList Bring the current move into view in the move list
+     */
+    private void showStep(int step, boolean scrollList) {
+        currentStateIndex = step;
+        drawBoard(playback.getBoard(step));
+        updateMoveInfo();
+        
+        // Keep slider and list in sync without triggering their listeners
+        updatingPlaybackControls = true;
+        seekSlider.setValue(step);
+        if (step == 0) {
+            moveListView.getSelectionModel().clearSelection();
+        } else {
+            moveListView.getSelectionModel().select(step - 1);
+            if (scrollList) {
+                moveListView.scrollTo(Math.max(0, step - 3));
+            }
         }
+        updatingPlaybackControls = false;
     }
     
     /**
@@ -1324,7 +1554,7 @@ public class MainController {
      */
     @FXML
     private void handlePlay() {
-        if (!isPlaying && currentStateIndex < boardStates.size() - 1) {
+        if (!isPlaying && currentStateIndex < playback.getMoveCount()) {
             animation.play();
             isPlaying = true;
             playButton.setDisable(true);
@@ -1358,9 +1588,7 @@ public class MainController {
     @FXML
     private void handleReset() {
         pauseAnimation();
-        currentStateIndex = 0;
-        drawBoard(boardStates.get(0));
-        updateMoveInfo();
+        showStep(0, true);
         playButton.setDisable(false);
         updateStatus("Reset to initial configuration");
     }
@@ -1378,8 +1606,11 @@ public class MainController {
         
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save Solution");
-        fileChooser.getExtensionFilters().add(
-            new FileChooser.ExtensionFilter("Text Files", "*.txt")
+        FileChooser.ExtensionFilter movesOnlyFilter = new FileChooser.ExtensionFilter("Move List Only", "*.txt");
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("Text Files", "*.txt"),
+            new FileChooser.ExtensionFilter("Compressed Text Files", "*.txt.gz"),
+            movesOnlyFilter
         );
         
         // Use algorithm name in suggested filename
@@ -1397,7 +1628,7 @@ public class MainController {
         File file = fileChooser.showSaveDialog(rootContainer.getScene().getWindow());
         if (file != null) {
             try {
-                saveSolution(file);
+                saveSolution(file, fileChooser.getSelectedExtensionFilter() == movesOnlyFilter);
                 if (solution != null) {
                     updateStatus("Solution saved to: " + file.getName());
                 } else {
@@ -1410,111 +1641,46 @@ public class MainController {
     }
 
     /**
-     * Save solution to file
+     * Save solution to file; a ".gz" name is compressed, compact mode leaves out the boards
      */
-    private void saveSolution(File file) throws IOException {
-        try (FileWriter writer = new FileWriter(file)) {
-            // For UCS and Dijkstra, display "-" as the heuristic
-            String displayHeuristic = heuristicComboBox.getValue();
-            if (algorithmComboBox.getValue().contains("UCS") || 
-                algorithmComboBox.getValue().contains("Dijkstra")) {
-                displayHeuristic = "-";
-            }
-            
-            writer.write("=== Rush Hour Solution ===\n");
-            writer.write("Algorithm: " + algorithmComboBox.getValue() + "\n");
-            
-            // Write heuristic info if applicable
-            writer.write("Heuristic: " + displayHeuristic + "\n");
-            
-            // Check if we have a solution
-            if (solution != null) {
-                writer.write("Number of states examined: " + solution.getStatesExamined() + "\n");
-                writer.write("Number of moves: " + solution.getMoves().size() + "\n");
-            } else {
-                // No solution found case
-                writer.write("Number of states examined: " + nodesExamined + "\n");
-                writer.write("Number of moves: NO SOLUTION FOUND\n");
-            }
-            
-            writer.write("Execution time: " + executionTime + " ms\n");
-            writer.write("\n");
-            
-            // Only write solution steps if a solution was found
-            if (solution != null) {
-                writer.write("Papan Awal\n");
-                writeBoard(writer, boardStates.get(0));
-                writer.write("\n");
-                
-                for (int i = 0; i < moves.size(); i++) {
-                    writer.write("Gerakan " + (i + 1) + ": " + moves.get(i) + "\n");
-                    writeBoard(writer, boardStates.get(i + 1));
-                    writer.write("\n");
-                }
-                
-                writer.write("[Primary piece has reached the exit!]\n");
-            } else {
-                // Write initial board only
-                writer.write("Papan Awal\n");
-                writeBoard(writer, currentBoard);
-                writer.write("\n");
-                writer.write("[No solution found for this configuration]\n");
-            }
+    private void saveSolution(File file, boolean compact) throws IOException {
+        // For UCS and Dijkstra, display "-" as the heuristic
+        String displayHeuristic = heuristicComboBox.getValue();
+        if (!usesHeuristic(algorithmComboBox.getValue())) {
+            displayHeuristic = "-";
         }
-    }
-    
-    /**
-     * Write board to file
-     */
-    private void writeBoard(FileWriter writer, Board board) throws IOException {
-        int width = board.getWidth();
-        int height = board.getHeight();
         
-        // Write top exit if exists
-        Exit exitSide = board.getExitSide();
-        Position exitPosition = board.getExitPosition();
+        List<String> header = new ArrayList<>();
+        header.add("Algorithm: " + algorithmComboBox.getValue());
+        header.add("Heuristic: " + displayHeuristic);
         
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.write("K");
-                } else {
-                    writer.write(" ");
-                }
+        // Check if we have a solution
+        if (solution != null) {
+            header.add("Number of states examined: " + solution.getStatesExamined());
+            header.add("Number of moves: " + solution.getMoves().size());
+        } else {
+            // No solution found case
+            header.add("Number of states examined: " + nodesExamined);
+            if (stopReason != null && stopReason.isBudgetExceeded()) {
+                header.add("Number of moves: SEARCH STOPPED (" + stopReason.describe() + ")");
+            } else {
+                header.add("Number of moves: NO SOLUTION FOUND");
             }
-            writer.write("\n");
         }
+        header.add("Execution time: " + executionTime + " ms");
         
-        // Write board content
-        for (int i = 0; i < height; i++) {
-            // Write left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                writer.write("K");
-            }
+        Path path = file.toPath();
+        try (SolutionWriter writer = new SolutionWriter(path, SolutionWriter.isGzipPath(path))) {
+            writer.setCompact(compact);
+            writer.writeHeader(header);
             
-            // Write board cells
-            for (int j = 0; j < width; j++) {
-                writer.write(board.getGridAt(i, j));
-            }
-            
-            // Write right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                writer.write("K");
-            }
-            
-            writer.write("\n");
-        }
-        
-        // Write bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    writer.write("K");
-                } else {
-                    writer.write(" ");
-                }
+            // Only write solution steps if a solution was found
+            if (solution != null) {
+                writer.writeSolution(playback.getBoard(0), playback.getMoves());
+            } else {
+                // Write initial board only
+                writer.writeNoSolution(currentBoard, "No solution found for this configuration");
             }
-            writer.write("\n");
         }
     }
 
@@ -1545,29 +1711,45 @@ public class MainController {
 
     /**
      * Play background music
+     * The media is opened on the background loader; only starting playback touches the FX thread.
      */
     public void playBackgroundMusic(String filename) {
-        try {
-            System.out.println("Playing background music: " + filename);
-            if (mediaPlayer != null) {
-                mediaPlayer.stop();
-            }
-
-            File file = new File(SONG_PATH + filename);
-            if (!file.exists()) {
-                System.err.println("Audio file not found: " + file.getAbsolutePath());
-                return;
-            }
-
-            Media media = new Media(file.toURI().toString());
-            mediaPlayer = new MediaPlayer(media);
-            mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE); // loop the song
-            mediaPlayer.play();
-            playedSong = filename;
-            pauseSongButton.setText("Pause");
-        } catch (Exception e) {
-            System.err.println("Error playing music: " + e.getMessage());
-            e.printStackTrace();
+        System.out.println("Playing background music: " + filename);
+        if (mediaPlayer != null) {
+            mediaPlayer.stop();
         }
+        
+        // A song picked while an earlier one is still loading wins
+        long request = ++musicRequest;
+        Startup.runInBackground(() -> {
+            try {
+                File file = new File(SONG_PATH + filename);
+                if (!file.exists()) {
+                    System.err.println("Audio file not found: " + file.getAbsolutePath());
+                    return;
+                }
+                
+                Media media = new Media(file.toURI().toString());
+                MediaPlayer player = new MediaPlayer(media);
+                player.setCycleCount(MediaPlayer.INDEFINITE); // loop the song
+                
+                Platform.runLater(() -> {
+                    if (request != musicRequest) {
+                        player.dispose();
+                        return;
+                    }
+                    if (mediaPlayer != null) {
+                        mediaPlayer.dispose();
+                    }
+                    mediaPlayer = player;
+                    mediaPlayer.play();
+                    playedSong = filename;
+                    pauseSongButton.setText("Pause");
+                });
+            } catch (Exception e) {
+                System.err.println("Error playing music: " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,373 @@
+package gui.controllers;
+
+import cli.Exit;
+import javafx.fxml.FXML;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Stage;
+import java.util.Arrays;
+
+/**
+ * Grid editor for typing in a puzzle by hand
+ * The whole grid is one canvas backed by a char array, so the window opens at once even
+ * for large boards. Arrow keys move the cursor, typing a letter fills the cell and picks it
+ * as the brush, dragging paints the brush (right button erases), and clicking a border cell
+ * places the exit.
+ */
+public class MatrixInputWindowController {
+    @FXML private Canvas matrixCanvas;
+    @FXML private Label statusLabel;
+    @FXML private Button okButton;
+
+    private static final char EMPTY = '.';
+    private static final char EXIT = 'K';
+    private static final double MAX_GRID_SIZE = 720;
+
+    private int rows;
+    private int cols;
+    private double cellSize;
+    private char[] cells = new char[0];
+    private Stage stage;
+
+    // Exit on one of the borders, index is the row (left/right) or column (top/bottom)
+    private Exit exitSide = Exit.NONE;
+    private int exitIndex;
+
+    // Cursor in board coordinates and the piece painted by dragging ('\0' before any is typed)
+    private int cursorRow;
+    private int cursorCol;
+    private char brush;
+    private boolean erasing;
+
+    private String finalString = "";
+
+    public void initialize() {
+        matrixCanvas.setFocusTraversable(true);
+        matrixCanvas.setOnKeyPressed(this::handleKeyPressed);
+        matrixCanvas.setOnKeyTyped(this::handleKeyTyped);
+        matrixCanvas.setOnMousePressed(this::handleMousePressed);
+        matrixCanvas.setOnMouseDragged(this::handleMouseDragged);
+
+        okButton.setOnAction(e -> {
+            if (exitSide == Exit.NONE) {
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setTitle("Missing Exit");
+                alert.setHeaderText("No Exit Selected");
+                alert.setContentText("Please click one of the border cells to mark it as the exit (K).");
+                alert.showAndWait();
+                return;
+            }
+
+            finalString = buildString();
+            System.out.println("Final String: " + finalString);
+
+            // Exit is selected — close the window
+            stage.close();
+        });
+    }
+
+    public void initMatrix(int rows, int cols, Stage stage) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stage = stage;
+
+        cells = new char[rows * cols];
+        Arrays.fill(cells, EMPTY);
+        exitSide = Exit.NONE;
+        cursorRow = 0;
+        cursorCol = 0;
+        brush = '\0';
+
+        // One extra cell on every side for the exit
+        cellSize = Math.max(12, Math.min(40, Math.floor(MAX_GRID_SIZE / Math.max(rows + 2, cols + 2))));
+        matrixCanvas.setWidth((cols + 2) * cellSize);
+        matrixCanvas.setHeight((rows + 2) * cellSize);
+
+        drawAll();
+        updateStatus();
+        matrixCanvas.requestFocus();
+    }
+
+    public String getFinalString() {
+        return finalString;
+    }
+
+    /**
+     * Write the grid in the puzzle file layout, with K on the line or column of the exit
+     */
+    private String buildString() {
+        StringBuilder sb = new StringBuilder((rows + 1) * (cols + 2));
+        if (exitSide == Exit.TOP) {
+            appendExitLine(sb);
+            sb.append('\n');
+        }
+        for (int row = 0; row < rows; row++) {
+            if (exitSide == Exit.LEFT) {
+                sb.append(row == exitIndex ? EXIT : ' ');
+            }
+            sb.append(cells, row * cols, cols);
+            if (exitSide == Exit.RIGHT && row == exitIndex) {
+                sb.append(EXIT);
+            }
+            sb.append('\n');
+        }
+        if (exitSide == Exit.BOTTOM) {
+            appendExitLine(sb);
+        }
+        return sb.toString();
+    }
+
+    private void appendExitLine(StringBuilder sb) {
+        for (int col = 0; col < exitIndex; col++) {
+            sb.append(' ');
+        }
+        sb.append(EXIT);
+    }
+
+    private void handleKeyPressed(KeyEvent event) {
+        switch (event.getCode()) {
+            case UP:    moveCursor(cursorRow - 1, cursorCol); break;
+            case DOWN:  moveCursor(cursorRow + 1, cursorCol); break;
+            case LEFT:  moveCursor(cursorRow, cursorCol - 1); break;
+            case RIGHT: moveCursor(cursorRow, cursorCol + 1); break;
+            case DELETE:
+                setCell(cursorRow, cursorCol, EMPTY);
+                break;
+            case BACK_SPACE:
+                // Clear the previous cell, like deleting the last typed character
+                if (cursorCol > 0) {
+                    moveCursor(cursorRow, cursorCol - 1);
+                } else if (cursorRow > 0) {
+                    moveCursor(cursorRow - 1, cols - 1);
+                }
+                setCell(cursorRow, cursorCol, EMPTY);
+                break;
+            default:
+                return;
+        }
+        event.consume();
+    }
+
+    private void handleKeyTyped(KeyEvent event) {
+        String text = event.getCharacter();
+        if (text == null || text.length() != 1) {
+            return;
+        }
+        char c = Character.toUpperCase(text.charAt(0));
+        if (c == EMPTY || c == ' ') {
+            setCell(cursorRow, cursorCol, EMPTY);
+        } else if (Character.isUpperCase(c) && c != EXIT) {
+            brush = c;
+            setCell(cursorRow, cursorCol, c);
+        } else {
+            return;
+        }
+
+        // Advance like a text editor, wrapping to the next row
+        if (cursorCol + 1 < cols) {
+            moveCursor(cursorRow, cursorCol + 1);
+        } else if (cursorRow + 1 < rows) {
+            moveCursor(cursorRow + 1, 0);
+        }
+        updateStatus();
+        event.consume();
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        matrixCanvas.requestFocus();
+        int row = (int) Math.floor(event.getY() / cellSize) - 1;
+        int col = (int) Math.floor(event.getX() / cellSize) - 1;
+        erasing = event.getButton() == MouseButton.SECONDARY;
+
+        if (row >= 0 && row < rows && col >= 0 && col < cols) {
+            moveCursor(row, col);
+            paintAt(row, col);
+        } else if (event.getButton() == MouseButton.PRIMARY) {
+            setExitAt(row, col);
+        }
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        int row = (int) Math.floor(event.getY() / cellSize) - 1;
+        int col = (int) Math.floor(event.getX() / cellSize) - 1;
+        if (row >= 0 && row < rows && col >= 0 && col < cols) {
+            paintAt(row, col);
+        }
+    }
+
+    /**
+     * Fill a cell with the brush, or clear it when dragging with the secondary button
+     */
+    private void paintAt(int row, int col) {
+        if (erasing) {
+            setCell(row, col, EMPTY);
+        } else if (brush != '\0') {
+            setCell(row, col, brush);
+        }
+    }
+
+    /**
+     * Place the exit on a border cell; corners and cells inside the board are ignored
+     */
+    private void setExitAt(int row, int col) {
+        Exit side;
+        int index;
+        if (row == -1 && col >= 0 && col < cols) {
+            side = Exit.TOP;
+            index = col;
+        } else if (row == rows && col >= 0 && col < cols) {
+            side = Exit.BOTTOM;
+            index = col;
+        } else if (col == -1 && row >= 0 && row < rows) {
+            side = Exit.LEFT;
+            index = row;
+        } else if (col == cols && row >= 0 && row < rows) {
+            side = Exit.RIGHT;
+            index = row;
+        } else {
+            return;
+        }
+
+        Exit oldSide = exitSide;
+        int oldIndex = exitIndex;
+        exitSide = side;
+        exitIndex = index;
+        if (oldSide != Exit.NONE) {
+            drawExitCell(oldSide, oldIndex);
+        }
+        drawExitCell(side, index);
+        updateStatus();
+    }
+
+    private void setCell(int row, int col, char value) {
+        if (cells[row * cols + col] != value) {
+            cells[row * cols + col] = value;
+            drawCell(row, col);
+        }
+    }
+
+    private void moveCursor(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return;
+        }
+        int oldRow = cursorRow;
+        int oldCol = cursorCol;
+        cursorRow = row;
+        cursorCol = col;
+        drawCell(oldRow, oldCol);
+        drawCell(row, col);
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        if (statusLabel == null) {
+            return;
+        }
+        statusLabel.setText(String.format("Row %d, Col %d   Brush: %s   Exit: %s",
+            cursorRow + 1, cursorCol + 1,
+            brush == '\0' ? "none (type a letter)" : String.valueOf(brush),
+            exitSide == Exit.NONE ? "click a border cell" : exitSide.toString().toLowerCase()));
+    }
+
+    private void drawAll() {
+        GraphicsContext gc = matrixCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, matrixCanvas.getWidth(), matrixCanvas.getHeight());
+
+        // Border cells where the exit can go
+        for (int col = 0; col < cols; col++) {
+            drawExitCell(Exit.TOP, col);
+            drawExitCell(Exit.BOTTOM, col);
+        }
+        for (int row = 0; row < rows; row++) {
+            drawExitCell(Exit.LEFT, row);
+            drawExitCell(Exit.RIGHT, row);
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                drawCell(row, col);
+            }
+        }
+    }
+
+    /**
+     * Repaint one board cell: its piece color and letter, and the cursor if it is there
+     */
+    private void drawCell(int row, int col) {
+        GraphicsContext gc = matrixCanvas.getGraphicsContext2D();
+        double x = (col + 1) * cellSize;
+        double y = (row + 1) * cellSize;
+        char c = cells[row * cols + col];
+
+        gc.setFill(Color.WHITE);
+        gc.fillRect(x, y, cellSize, cellSize);
+        if (c != EMPTY) {
+            gc.setFill(pieceColor(c));
+            gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+            drawLetter(gc, c, x, y);
+        }
+
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setLineWidth(1);
+        gc.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+
+        if (row == cursorRow && col == cursorCol) {
+            gc.setStroke(Color.DODGERBLUE);
+            gc.setLineWidth(2);
+            gc.strokeRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        }
+    }
+
+    /**
+     * Repaint one border cell, highlighted when it holds the exit
+     */
+    private void drawExitCell(Exit side, int index) {
+        GraphicsContext gc = matrixCanvas.getGraphicsContext2D();
+        double x, y;
+        switch (side) {
+            case TOP:    x = (index + 1) * cellSize; y = 0; break;
+            case BOTTOM: x = (index + 1) * cellSize; y = (rows + 1) * cellSize; break;
+            case LEFT:   x = 0; y = (index + 1) * cellSize; break;
+            default:     x = (cols + 1) * cellSize; y = (index + 1) * cellSize; break;
+        }
+
+        boolean isExit = side == exitSide && index == exitIndex;
+        gc.setFill(isExit ? Color.web("#ffe082") : Color.web("#eeeeee")); // yellow highlight
+        gc.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        if (isExit) {
+            drawLetter(gc, EXIT, x, y);
+        }
+    }
+
+    private void drawLetter(GraphicsContext gc, char c, double x, double y) {
+        if (cellSize < 14) {
+            return;
+        }
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, cellSize * 0.5));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.fillText(String.valueOf(c), x + cellSize / 2, y + cellSize / 2);
+    }
+
+    /**
+     * Stable color per letter; the primary piece is always red
+     */
+    private static Color pieceColor(char c) {
+        if (c == 'P') {
+            return Color.rgb(255, 120, 120);
+        }
+        return Color.hsb((c * 137.5) % 360, 0.45, 0.95);
+    }
+}
@@ -0,0 +1,321 @@
+package gui.controllers;
+
+import cli.*;
+import javafx.application.Platform;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * One search started from the main view, either for the Solve button or speculatively
+ * as soon as a board is loaded so the answer is often ready before it is asked for.
+ * A speculative job runs on a minimum priority thread and backs off while the FX thread is
+ * slow to respond; attaching to it makes it a normal search that runs at full speed.
+ */
+final class SolveJob {
+
+    /**
+     * Everything the main view shows after a search
+     */
+    static final class Outcome {
+        final Solution solution;
+        final StopReason stopReason;
+        final int nodesExamined;
+        final String algorithmLabel;
+        final Solution partialSolution;
+        final String unsolvableReason;
+        final long executionTime;
+        final long peakMemoryBytes;
+        final Exception error;
+
+        Outcome(Solution solution, StopReason stopReason, int nodesExamined, String algorithmLabel,
+                Solution partialSolution, String unsolvableReason, long executionTime, long peakMemoryBytes,
+                Exception error) {
+            this.solution = solution;
+            this.stopReason = stopReason;
+            this.nodesExamined = nodesExamined;
+            this.algorithmLabel = algorithmLabel;
+            this.partialSolution = partialSolution;
+            this.unsolvableReason = unsolvableReason;
+            this.executionTime = executionTime;
+            this.peakMemoryBytes = peakMemoryBytes;
+            this.error = error;
+        }
+    }
+
+    private final Board board;
+    private final String algorithm;
+    private final String heuristic;
+    private final boolean isCompound;
+    private final long timeLimitMillis;
+    private final long maxNodes;
+    private final long maxMemoryBytes;
+
+    // Every search of the main view goes through this one solver
+    private static final Solver SOLVER = new Solver();
+
+    private final IdleToken token = new IdleToken();
+    private final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+    private Thread thread;
+    private volatile long startNanos;
+    private volatile Consumer<String> progressListener;
+
+    SolveJob(Board board, String algorithm, String heuristic, boolean isCompound,
+             long timeLimitMillis, long maxNodes, long maxMemoryBytes) {
+        this.board = board;
+        this.algorithm = algorithm;
+        this.heuristic = heuristic;
+        this.isCompound = isCompound;
+        this.timeLimitMillis = timeLimitMillis;
+        this.maxNodes = maxNodes;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Whether a speculative search is worth starting for an algorithm
+     * The portfolio runs its own threads and the external-memory search writes to disk, neither
+     * of which should happen behind the user's back.
+     */
+    static boolean canSpeculate(String algorithm) {
+        return algorithm != null && !algorithm.contains("Portfolio") && !algorithm.contains("External");
+    }
+
+    /**
+     * Whether this job searches exactly what the given settings would
+     */
+    boolean matches(Board board, String algorithm, String heuristic, boolean isCompound,
+                    long timeLimitMillis, long maxNodes, long maxMemoryBytes) {
+        return this.board == board && this.algorithm.equals(algorithm) && this.isCompound == isCompound
+            && (!MainController.usesHeuristic(algorithm) || this.heuristic.equals(heuristic))
+            && this.timeLimitMillis == timeLimitMillis && this.maxNodes == maxNodes
+            && this.maxMemoryBytes == maxMemoryBytes;
+    }
+
+    /**
+     * Start the search on its own thread
+     * @param speculative Run at minimum priority and yield to the UI until attached
+     */
+    void start(boolean speculative) {
+        token.idle = speculative;
+        thread = new Thread(this::run, speculative ? "speculative-solve" : "solve");
+        thread.setDaemon(true);
+        thread.setPriority(speculative ? Thread.MIN_PRIORITY : Thread.NORM_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Run the search as a task of an executor, at whatever priority its threads have
+     */
+    void startOn(Executor executor) {
+        executor.execute(this::run);
+    }
+
+    /**
+     * Whether the search has begun and is not over yet
+     */
+    boolean isRunning() {
+        return startNanos != 0 && !outcome.isDone();
+    }
+
+    /**
+     * States examined so far by a running search, counted by the budget checks made on every
+     * expansion; 0 for a portfolio, whose members check tokens of their own. Only for display.
+     */
+    int getNodesExaminedSoFar() {
+        return algorithm.contains("Portfolio") ? 0 : token.checks;
+    }
+
+    /**
+     * Milliseconds since the search began, 0 before it starts
+     */
+    long getElapsedMillis() {
+        return startNanos != 0 ? (System.nanoTime() - startNanos) / 1_000_000 : 0;
+    }
+
+    /**
+     * Turn a speculative search into a normal one, the user is now waiting for it
+     */
+    void attach(Consumer<String> progressListener) {
+        this.progressListener = progressListener;
+        token.idle = false;
+        if (thread != null) {
+            thread.setPriority(Thread.NORM_PRIORITY);
+        }
+    }
+
+    /**
+     * Stop the search; a finished job is left as it is
+     */
+    void cancel() {
+        token.cancel();
+    }
+
+    /**
+     * Get the outcome if the search is already over, otherwise null
+     */
+    Outcome getOutcomeIfDone() {
+        return outcome.getNow(null);
+    }
+
+    /**
+     * Whether the search had to slow down for the UI, which also used up part of its time limit
+     */
+    boolean hasYielded() {
+        return token.pausedNanos > 0;
+    }
+
+    /**
+     * Whether backing off for the UI cost the search time it was meant to have: it yielded under a
+     * time limit and is either still running or stopped because that limit ran out
+     */
+    boolean lostTimeToYielding() {
+        if (timeLimitMillis <= 0 || !hasYielded()) {
+            return false;
+        }
+        Outcome finished = getOutcomeIfDone();
+        return finished == null || finished.stopReason == StopReason.TIME_LIMIT;
+    }
+
+    /**
+     * Get the outcome once the search is over, on the thread that finished it
+     */
+    void whenDone(Consumer<Outcome> action) {
+        outcome.thenAccept(action);
+    }
+
+    private void run() {
+        startNanos = System.nanoTime();
+        SolveOptions options = new SolveOptions(timeLimitMillis, maxNodes, maxMemoryBytes).setCancellationToken(token);
+
+        try {
+            if (algorithm.contains("Portfolio")) {
+                runPortfolio(options);
+                return;
+            }
+
+            SearchResult result = SOLVER.solve(new SearchRequest(algorithmKey(algorithm), board, heuristic, isCompound)
+                .setOptions(options)
+                .setListener((improved, bound) -> {
+                    // Report each improved ARA* solution while the search keeps running until its deadline
+                    Consumer<String> listener = progressListener;
+                    if (listener != null) {
+                        listener.accept(String.format("ARA* found %d moves (at most %.2fx optimal), still improving...",
+                                                      improved.getMoves().size(), bound));
+                    }
+                }));
+
+            outcome.complete(new Outcome(result.getSolution(), result.getStopReason(), result.getNodesExamined(), algorithm,
+                                         result.getPartialSolution(), result.getUnsolvableReason(),
+                                         searchMillis(), result.getPeakMemoryBytes(), null));
+        } catch (Exception e) {
+            outcome.complete(new Outcome(null, null, 0, algorithm, null, null, 0, 0, e));
+        }
+    }
+
+    /**
+     * A portfolio race reports its own stats and the member that won
+     */
+    private void runPortfolio(SolveOptions options) {
+        PortfolioSolver portfolio = PortfolioSolver.withDefaultMembers(options, isCompound);
+        Solution solution = portfolio.solve(board, isCompound);
+        String algorithmLabel = portfolio.getLastWinner() != null
+            ? algorithm + " - winner: " + portfolio.getLastWinner() : algorithm;
+        outcome.complete(new Outcome(solution, portfolio.getLastStopReason(), portfolio.getLastNodesExamined(),
+                                     algorithmLabel, null, null, searchMillis(), 0, null));
+    }
+
+    /**
+     * Milliseconds since the search began, not counting time spent backing off for the UI
+     */
+    private long searchMillis() {
+        return (System.nanoTime() - startNanos - token.pausedNanos) / 1_000_000;
+    }
+
+    /**
+     * Solver key of an algorithm as named in the sidebar
+     */
+    static String algorithmKey(String algorithm) {
+        if (algorithm.contains("UCS")) return "ucs";
+        if (algorithm.contains("Dijkstra")) return "dijkstra";
+        if (algorithm.contains("Greedy")) return "greedy";
+        if (algorithm.contains("Iterative")) return "ida";
+        if (algorithm.contains("ARA*")) return "ara";
+        if (algorithm.contains("A*")) return "astar";
+        if (algorithm.contains("Beam")) return "beam";
+        if (algorithm.contains("External")) return "extbfs";
+        throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+    }
+
+    /**
+     * Cancellation token that also throttles an idle search
+     * Searches poll it on every expansion. While idle it probes how quickly the FX thread picks
+     * up a runnable and sleeps while the UI is lagging, so a speculative search never makes the
+     * window stutter even on a single core.
+     */
+    private static final class IdleToken extends CancellationToken {
+        private static final long PROBE_INTERVAL_NANOS = 50_000_000L;
+        private static final long BUSY_LAG_NANOS = 20_000_000L;
+        private static final long BACK_OFF_MILLIS = 10;
+
+        volatile boolean idle;
+        volatile long pausedNanos;
+
+        // Budget checks so far, one per expanded state
+        volatile int checks;
+
+        // Last probe of the FX thread: when it was posted and how late it ran
+        private volatile long probePostedAt;
+        private volatile boolean probePending;
+        private volatile long lastLagNanos;
+        private int calls;
+
+        @Override
+        public boolean isCancelled() {
+            checks++;
+            if (super.isCancelled()) {
+                return true;
+            }
+            if (idle && (++calls & 0xFF) == 0) {
+                yieldToUi();
+            }
+            return super.isCancelled();
+        }
+
+        private void yieldToUi() {
+            long now = System.nanoTime();
+            if (!probePending && now - probePostedAt >= PROBE_INTERVAL_NANOS) {
+                probePending = true;
+                probePostedAt = now;
+                try {
+                    Platform.runLater(() -> {
+                        lastLagNanos = System.nanoTime() - probePostedAt;
+                        probePending = false;
+                    });
+                } catch (IllegalStateException e) {
+                    // The FX toolkit is gone, there is no UI left to yield to
+                    idle = false;
+                    probePending = false;
+                    return;
+                }
+            }
+
+            // Busy while the last probe ran late or the current one is still waiting
+            while (idle && !super.isCancelled()
+                    && (lastLagNanos > BUSY_LAG_NANOS || (probePending && System.nanoTime() - probePostedAt > BUSY_LAG_NANOS))) {
+                long pauseStart = System.nanoTime();
+                try {
+                    Thread.sleep(BACK_OFF_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                pausedNanos += System.nanoTime() - pauseStart;
+                if (!probePending) {
+                    // Probe again to find out whether the UI has caught up
+                    lastLagNanos = 0;
+                    return;
+                }
+            }
+        }
+    }
+}
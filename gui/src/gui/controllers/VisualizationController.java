@@ -0,0 +1,175 @@
+package gui.controllers;
+
+import cli.*;
+import javafx.fxml.FXML;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Controller for the visualization view that integrates with the AnimationController
+ * to display smooth animations of the Rush Hour puzzle solution
+ */
+public class VisualizationController {
+    
+    @FXML private Canvas boardCanvas;
+    @FXML private Button playButton;
+    @FXML private Button pauseButton;
+    @FXML private Button resetButton;
+    @FXML private Button saveButton;
+    @FXML private Slider speedSlider;
+    @FXML private Label statusLabel;
+    @FXML private Label statsLabel;
+    @FXML private Label currentMoveLabel;
+    
+    private Solution solution;
+    private Board initialBoard;
+    private AnimationController animationController;
+    private String algorithmUsed;
+    private String heuristicUsed;
+    private long executionTime;
+    
+    /**
+     * Initialize the controller with solution data
+     */
+    public void initialize(Solution solution, Board initialBoard, String algorithm, 
+                        String heuristic, long executionTime) {
+        this.solution = solution;
+        this.initialBoard = initialBoard;
+        this.algorithmUsed = algorithm;
+        this.heuristicUsed = heuristic;
+        this.executionTime = executionTime;
+        
+        // For UCS and Dijkstra, display "-" as the heuristic since they don't use heuristics
+        String displayHeuristic = heuristic;
+        if (algorithm.contains("UCS") || algorithm.contains("Dijkstra")) {
+            displayHeuristic = "-";
+        }
+        
+        // Set stats label with algorithm info
+        statsLabel.setText(String.format(
+            "Algorithm: %s | Heuristic: %s | States Examined: %d | Moves: %d | Time: %d ms",
+            algorithm, 
+            displayHeuristic,
+            solution.getStatesExamined(),
+            solution.getMoves().size(),
+            executionTime
+        ));
+        
+        // Initialize the animation controller
+        animationController = new AnimationController(
+            boardCanvas, currentMoveLabel, statusLabel, speedSlider,
+            playButton, pauseButton, resetButton, solution
+        );
+        
+        // Set button actions
+        playButton.setOnAction(e -> {
+            animationController.play();
+        });
+        
+        pauseButton.setOnAction(e -> {
+            animationController.pause();
+        });
+        
+        resetButton.setOnAction(e -> {
+            animationController.reset();
+        });
+        
+        saveButton.setOnAction(e -> {
+            handleSave();
+        });
+        
+        // Initial state
+        pauseButton.setDisable(true);
+    }
+    
+    /**
+     * Handle save button click
+     */
+    @FXML
+    private void handleSave() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Solution");
+        fileChooser.getExtensionFilters().add(
+            new FileChooser.ExtensionFilter("Text Files", "*.txt")
+        );
+        fileChooser.setInitialFileName("rush_hour_solution.txt");
+        
+        // Try to use test/output directory if it exists
+        File outputDir = new File("test/output");
+        if (outputDir.exists() && outputDir.isDirectory()) {
+            fileChooser.setInitialDirectory(outputDir);
+        }
+        
+        File file = fileChooser.showSaveDialog(saveButton.getScene().getWindow());
+        if (file != null) {
+            try {
+                saveSolution(file);
+                showInfo("Solution saved successfully!");
+            } catch (IOException e) {
+                showError("Error saving solution: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Save solution to a file with visualization of primary piece exiting
+     */
+    private void saveSolution(File file) throws IOException {
+        // For UCS and Dijkstra, display "-" as the heuristic
+        String displayHeuristic = heuristicUsed;
+        if (algorithmUsed.contains("UCS") || algorithmUsed.contains("Dijkstra")) {
+            displayHeuristic = "-";
+        }
+        if (displayHeuristic == null || displayHeuristic.isEmpty()) {
+            displayHeuristic = "-";
+        }
+        
+        SolutionWriter.save(file.toPath(), Arrays.asList(
+            "Algorithm: " + algorithmUsed,
+            "Heuristic: " + displayHeuristic,
+            "States examined: " + solution.getStatesExamined(),
+            "Total moves: " + solution.getMoves().size(),
+            "Execution time: " + executionTime + " ms"
+        ), solution.getStates().get(0), solution.getMoves(), false);
+    }
+    
+    /**
+     * Show info message
+     */
+    private void showInfo(String message) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+            javafx.scene.control.Alert.AlertType.INFORMATION);
+        alert.setTitle("Information");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+    
+    /**
+     * Show error message
+     */
+    private void showError(String message) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(
+            javafx.scene.control.Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+    
+    /**
+     * Clean up resources before closing
+     */
+    public void cleanup() {
+        if (animationController != null) {
+            animationController.cleanup();
+        }
+    }
+}
\ No newline at end of file
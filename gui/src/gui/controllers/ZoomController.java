@@ -0,0 +1,343 @@
+package gui.controllers;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.Slider;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.geometry.Point2D;
+import javafx.scene.Cursor;
+
+/**
+ * Controller for zoom and pan over a canvas that shows a window onto a larger board
+ * The canvas itself is never scaled: it keeps the size of its container and this controller
+ * only tracks which part of the content (in board pixels) is in view and at what scale.
+ * Whoever draws the canvas asks for the viewport and is told when it changes.
+ */
+public class ZoomController {
+    private final Canvas canvas;
+    private final StackPane canvasContainer;
+    private final Button zoomInButton;
+    private final Button zoomOutButton;
+    private final Slider zoomSlider;
+
+    // Zoom state
+    private double zoomScale = 1.0;
+    private double minZoom = 0.25;
+    private double maxZoom = 3.0;
+    private double zoomFactor = 1.1;
+
+    // Size of the content in board pixels and the content point at the center of the canvas
+    private double contentWidth = 0;
+    private double contentHeight = 0;
+    private double centerX = 0;
+    private double centerY = 0;
+
+    // Pan state
+    private Point2D lastMousePosition;
+    private boolean isPanning = false;
+
+    // Called whenever the visible window moves or changes scale
+    private Runnable onViewportChanged;
+
+    /**
+     * Create a new zoom controller
+     * @param canvas The canvas showing the content
+     * @param canvasContainer The container holding the canvas
+     * @param zoomInButton Button for zooming in (optional, can be null)
+     * @param zoomOutButton Button for zooming out (optional, can be null)
+     * @param zoomSlider Slider for zoom control (optional, can be null)
+     */
+    public ZoomController(Canvas canvas, StackPane canvasContainer,
+                         Button zoomInButton, Button zoomOutButton, Slider zoomSlider) {
+        this.canvas = canvas;
+        this.canvasContainer = canvasContainer;
+        this.zoomInButton = zoomInButton;
+        this.zoomOutButton = zoomOutButton;
+        this.zoomSlider = zoomSlider;
+
+        setupEventHandlers();
+        setupButtons();
+        setupSlider();
+    }
+
+    /**
+     * Set up mouse event handlers for zoom and pan
+     */
+    private void setupEventHandlers() {
+        // Scroll zoom
+        canvas.setOnScroll(this::handleScroll);
+
+        // Pan with mouse drag
+        canvas.setOnMousePressed(this::handleMousePressed);
+        canvas.setOnMouseDragged(this::handleMouseDragged);
+        canvas.setOnMouseReleased(this::handleMouseReleased);
+
+        // A resized window shows more or less of the content
+        canvas.widthProperty().addListener((obs, oldVal, newVal) -> viewportChanged());
+        canvas.heightProperty().addListener((obs, oldVal, newVal) -> viewportChanged());
+    }
+
+    /**
+     * Set the size of the content in board pixels
+     * The view is centered on the content.
+     */
+    public void setContentSize(double width, double height) {
+        this.contentWidth = width;
+        this.contentHeight = height;
+        this.centerX = width / 2;
+        this.centerY = height / 2;
+        viewportChanged();
+    }
+
+    /**
+     * Register the callback that redraws the canvas when the viewport changes
+     */
+    public void setOnViewportChanged(Runnable onViewportChanged) {
+        this.onViewportChanged = onViewportChanged;
+    }
+
+    /**
+     * Content x coordinate shown at the left edge of the canvas
+     */
+    public double getViewX() {
+        return centerX - canvas.getWidth() / 2 / zoomScale;
+    }
+
+    /**
+     * Content y coordinate shown at the top edge of the canvas
+     */
+    public double getViewY() {
+        return centerY - canvas.getHeight() / 2 / zoomScale;
+    }
+
+    /**
+     * Whether the whole content is in view at the current zoom
+     */
+    public boolean isContentFullyVisible() {
+        return contentWidth * zoomScale <= canvas.getWidth() && contentHeight * zoomScale <= canvas.getHeight();
+    }
+
+    /**
+     * Update cursor based on whether there is anything to pan to
+     */
+    private void updateCursor() {
+        if (!isContentFullyVisible()) {
+            canvas.setCursor(Cursor.HAND); // Indicate draggable
+        } else {
+            canvas.setCursor(Cursor.DEFAULT);
+        }
+    }
+
+    /**
+     * Set up zoom buttons
+     */
+    private void setupButtons() {
+        if (zoomInButton != null) {
+            zoomInButton.setOnAction(e -> zoomIn());
+        }
+
+        if (zoomOutButton != null) {
+            zoomOutButton.setOnAction(e -> zoomOut());
+        }
+    }
+
+    /**
+     * Set up zoom slider
+     */
+    private void setupSlider() {
+        if (zoomSlider != null) {
+            // Set slider range and initial value
+            zoomSlider.setMin(minZoom);
+            zoomSlider.setMax(maxZoom);
+            zoomSlider.setValue(zoomScale);
+
+            // Update zoom when slider changes
+            zoomSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+                // Only update if the change is significant
+                if (Math.abs(newVal.doubleValue() - zoomScale) > 0.01) {
+                    zoom(newVal.doubleValue());
+                }
+            });
+        }
+    }
+
+    /**
+     * Handle scroll events for zooming around the mouse position
+     */
+    private void handleScroll(ScrollEvent event) {
+        double delta = event.getDeltaY() > 0 ? zoomFactor : 1 / zoomFactor;
+        double newScale = Math.max(minZoom, Math.min(maxZoom, zoomScale * delta));
+
+        // Only apply zoom if scale has changed
+        if (newScale != zoomScale) {
+            zoom(newScale, new Point2D(event.getX(), event.getY()));
+        }
+
+        event.consume();
+    }
+
+    /**
+     * Handle mouse pressed event for panning
+     */
+    private void handleMousePressed(MouseEvent event) {
+        // Pan with any button, but only when part of the content is out of view
+        if ((event.isPrimaryButtonDown() || event.isMiddleButtonDown() || event.isSecondaryButtonDown())
+                && !isContentFullyVisible()) {
+            lastMousePosition = new Point2D(event.getX(), event.getY());
+            isPanning = true;
+            canvas.setCursor(Cursor.MOVE);
+        }
+    }
+
+    /**
+     * Handle mouse dragged event for panning
+     */
+    private void handleMouseDragged(MouseEvent event) {
+        if (!isPanning) {
+            return;
+        }
+        if (lastMousePosition == null) {
+            lastMousePosition = new Point2D(event.getX(), event.getY());
+            return;
+        }
+
+        // The content follows the mouse: a screen delta is delta / scale board pixels
+        centerX -= (event.getX() - lastMousePosition.getX()) / zoomScale;
+        centerY -= (event.getY() - lastMousePosition.getY()) / zoomScale;
+        lastMousePosition = new Point2D(event.getX(), event.getY());
+
+        viewportChanged();
+    }
+
+    /**
+     * Handle mouse released event for panning
+     */
+    private void handleMouseReleased(MouseEvent event) {
+        if (isPanning) {
+            isPanning = false;
+            lastMousePosition = null;
+            updateCursor();
+        }
+    }
+
+    /**
+     * Zoom in by one step
+     */
+    public void zoomIn() {
+        zoom(Math.min(zoomScale * zoomFactor, maxZoom));
+    }
+
+    /**
+     * Zoom out by one step
+     */
+    public void zoomOut() {
+        zoom(Math.max(zoomScale / zoomFactor, minZoom));
+    }
+
+    /**
+     * Reset zoom to 1 and center the content
+     */
+    public void resetZoom() {
+        zoomScale = 1.0;
+        centerX = contentWidth / 2;
+        centerY = contentHeight / 2;
+
+        // Update slider if available
+        if (zoomSlider != null) {
+            zoomSlider.setValue(zoomScale);
+        }
+
+        viewportChanged();
+    }
+
+    /**
+     * Zoom to specific scale around the center of the canvas
+     */
+    public void zoom(double newScale) {
+        zoom(newScale, new Point2D(canvas.getWidth() / 2, canvas.getHeight() / 2));
+    }
+
+    /**
+     * Zoom to specific scale keeping the content under a canvas point in place
+     */
+    public void zoom(double newScale, Point2D center) {
+        newScale = Math.max(minZoom, Math.min(maxZoom, newScale));
+        if (newScale == zoomScale) {
+            return;
+        }
+
+        // Content point under the anchor before and after must be the same
+        Point2D anchor = zoomedToCanvas(center.getX(), center.getY());
+        zoomScale = newScale;
+        centerX = anchor.getX() - (center.getX() - canvas.getWidth() / 2) / zoomScale;
+        centerY = anchor.getY() - (center.getY() - canvas.getHeight() / 2) / zoomScale;
+
+        // Update slider if available
+        if (zoomSlider != null) {
+            zoomSlider.setValue(zoomScale);
+        }
+
+        viewportChanged();
+    }
+
+    /**
+     * Keep the content in view, update the cursor and tell the owner to redraw
+     */
+    private void viewportChanged() {
+        centerX = clampCenter(centerX, contentWidth, canvas.getWidth());
+        centerY = clampCenter(centerY, contentHeight, canvas.getHeight());
+        updateCursor();
+
+        if (onViewportChanged != null) {
+            onViewportChanged.run();
+        }
+    }
+
+    /**
+     * Content that fits stays centered; larger content can be panned up to its edges
+     */
+    private double clampCenter(double center, double content, double canvasSize) {
+        double half = canvasSize / 2 / zoomScale;
+        if (content <= 2 * half) {
+            return content / 2;
+        }
+        return Math.max(half, Math.min(content - half, center));
+    }
+
+    /**
+     * Set zoom limits
+     */
+    public void setZoomLimits(double minZoom, double maxZoom) {
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+
+        // Update slider limits if available
+        if (zoomSlider != null) {
+            zoomSlider.setMin(minZoom);
+            zoomSlider.setMax(maxZoom);
+        }
+    }
+
+    /**
+     * Get current zoom scale
+     */
+    public double getZoomScale() {
+        return zoomScale;
+    }
+
+    /**
+     * Transform a point in content space to a point on the canvas
+     */
+    public Point2D canvasToZoomed(double x, double y) {
+        return new Point2D((x - getViewX()) * zoomScale, (y - getViewY()) * zoomScale);
+    }
+
+    /**
+     * Transform a point on the canvas to a point in content space
+     */
+    public Point2D zoomedToCanvas(double x, double y) {
+        return new Point2D(getViewX() + x / zoomScale, getViewY() + y / zoomScale);
+    }
+}
@@ -1,6 +1,7 @@
 package cli;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -57,8 +58,31 @@ public class Board {
     }
     
     public static Board readFromFile(String filename) throws IOException {
-        FileParser.ParsedBoard parsed = FileParser.parseFile(filename);
-        
+        return fromParsed(FileParser.parseFile(filename));
+    }
+
+    /**
+     * Build a board from puzzle text already in memory, without a temporary file
+     */
+    public static Board parse(CharSequence text) throws IOException {
+        return fromParsed(FileParser.parse(text));
+    }
+
+    /**
+     * Build a board from a character stream; the reader is closed afterwards
+     */
+    public static Board parse(Reader reader) throws IOException {
+        return fromParsed(FileParser.parse(reader));
+    }
+
+    /**
+     * Build a board from UTF-8 encoded puzzle bytes
+     */
+    public static Board parse(ByteBuffer bytes) throws IOException {
+        return fromParsed(FileParser.parse(bytes));
+    }
+
+    private static Board fromParsed(FileParser.ParsedBoard parsed) throws IOException {
         Board board = new Board(parsed.cols, parsed.rows);
         
         // Copy grid
@@ -91,29 +115,9 @@ public class Board {
             board.exitSide = Exit.NONE;
         }
         
-        // Parse pieces from grid
-        Map<Character, List<Position>> piecePositions = new HashMap<>();
-        
-        for (int i = 0; i < parsed.rows; i++) {
-            for (int j = 0; j < parsed.cols; j++) {
-                char c = board.grid[i][j];
-                if (c != '.' && c != 'K') {  // Exclude K and dots from pieces
-                    // Validate character
-                    if (!Character.isLetter(c)) {
-                        throw new IOException("Invalid character '" + c + "' at position (" + i + ", " + j + "). Only letters are allowed for pieces.");
-                    }
-                    if (!Character.isUpperCase(c)) {
-                        throw new IOException("Invalid character '" + c + "' at position (" + i + ", " + j + "). Only uppercase letters (A-Z) are allowed for pieces.");
-                    }
-                    piecePositions.computeIfAbsent(c, k -> new ArrayList<>())
-                                 .add(new Position(i, j));
-                }
-            }
-        }
-        
-        // Create pieces from positions
+        // Create pieces from the positions the parser collected (K and dots are excluded)
         int actualPieceCount = 0;
-        for (Map.Entry<Character, List<Position>> entry : piecePositions.entrySet()) {
+        for (Map.Entry<Character, List<Position>> entry : parsed.piecePositions.entrySet()) {
             char id = entry.getKey();
             List<Position> positions = entry.getValue();
             
@@ -142,12 +146,6 @@ public class Board {
             throw new IOException("Number of non-primary pieces mismatch. Expected " + parsed.numPieces + ", but found " + actualNonPrimaryPieces);
         }
         
-        System.out.println("Board loaded successfully:");
-        System.out.println("- Primary piece: " + board.primaryPiece.getId());
-        System.out.println("- Exit position: " + board.exitPosition);
-        System.out.println("- Exit on: " + board.exitSide);
-        System.out.println("- Total pieces: " + board.pieces.size());
-        
         return board;
     }
     
@@ -370,132 +368,28 @@ public class Board {
         return false;
     }
     
-    public void display() {
-        // Use ANSI colors for better visualization
-        String RESET = "\u001B[0m";
-        String RED = "\u001B[31m";     // Primary piece
-        String GREEN = "\u001B[32m";   // Exit
-        
-        // Display top exit if exists
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    System.out.print(GREEN + "K" + RESET);
-                } else {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-        
-        // Display board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                System.out.print(GREEN + "K" + RESET);
-            }
-            
-            // Board content
-            for (int j = 0; j < width; j++) {
-                char c = grid[i][j];
-                if (c == 'P') {
-                    System.out.print(RED + c + RESET);
-                } else {
-                    System.out.print(c);
-                }
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                System.out.print(GREEN + "K" + RESET);
-            }
-            
-            System.out.println();
-        }
-        
-        // Display bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    System.out.print(GREEN + "K" + RESET);
-                } else {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-    }
-    
-    public void displayWithMove(Move lastMove) {
-        String RESET = "\u001B[0m";
-        String RED = "\u001B[31m";     // Primary piece
-        String GREEN = "\u001B[32m";   // Exit
-        String YELLOW = "\u001B[33m";  // Moving piece
-        
-        char movingPieceId = lastMove != null ? lastMove.getPiece().getId() : '\0';
-        
-        // Display top exit if exists
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    System.out.print(GREEN + "K" + RESET);
-                } else {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-        
-        // Display board content
+    public String getStateString() {
+        StringBuilder sb = new StringBuilder();
         for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                System.out.print(GREEN + "K" + RESET);
-            }
-            
-            // Board content
             for (int j = 0; j < width; j++) {
-                char c = grid[i][j];
-                if (c == 'P') {
-                    // Primary piece always stays red
-                    System.out.print(RED + c + RESET);
-                } else if (c == movingPieceId) {
-                    // Other moving pieces are yellow
-                    System.out.print(YELLOW + c + RESET);
-                } else {
-                    System.out.print(c);
-                }
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                System.out.print(GREEN + "K" + RESET);
-            }
-            
-            System.out.println();
-        }
-        
-        // Display bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    System.out.print(GREEN + "K" + RESET);
-                } else {
-                    System.out.print(" ");
-                }
+                sb.append(grid[i][j]);
             }
-            System.out.println();
         }
+        return sb.toString();
     }
     
-    public String getStateString() {
-        StringBuilder sb = new StringBuilder();
+    /**
+     * 64-bit FNV-1a hash of the grid, a compact key for tables where the full state string is too costly
+     */
+    public long getStateHash() {
+        long hash = 0xcbf29ce484222325L;
         for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
-                sb.append(grid[i][j]);
+                hash ^= grid[i][j];
+                hash *= 0x100000001b3L;
             }
         }
-        return sb.toString();
+        return hash;
     }
     
     public Piece getPieceById(char id) {
@@ -539,150 +433,45 @@ public class Board {
     }
 
     /**
- * Display board with improved visualization for exit state
- */
-    public void displayWithFinalState() {
-        // Use ANSI colors for better visualization
-        String RESET = "\u001B[0m";
-        String RED = "\u001B[31m";     // Primary piece
-        String GREEN = "\u001B[32m";   // Exit
-        
-        // Display top exit if exists
-        if (exitSide == Exit.TOP) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    // Show primary piece in the exit
-                    if (primaryPiece != null && primaryPiece.getOrientation() == Orientation.VERTICAL) {
-                        System.out.print(RED + "P" + RESET);
-                    } else {
-                        System.out.print(GREEN + "K" + RESET);
-                    }
-                } else {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-        
-        // Display board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                // Show primary piece in the exit
-                if (primaryPiece != null && primaryPiece.getOrientation() == Orientation.HORIZONTAL) {
-                    System.out.print(RED + "P" + RESET);
-                } else {
-                    System.out.print(GREEN + "K" + RESET);
-                }
-            }
-            
-            // Board content
-            for (int j = 0; j < width; j++) {
-                char c = grid[i][j];
-                if (c == 'P') {
-                    System.out.print(RED + c + RESET);
-                } else {
-                    System.out.print(c);
-                }
-            }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                // Show primary piece in the exit for the final state
-                if (this.isSolved() || primaryPiece == null) {
-                    System.out.print(RED + "P" + RESET);
-                } else {
-                    System.out.print(GREEN + "K" + RESET);
-                }
-            }
-            
-            System.out.println();
-        }
-        
-        // Display bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    // Show primary piece in the exit
-                    if (primaryPiece != null && primaryPiece.getOrientation() == Orientation.VERTICAL) {
-                        System.out.print(RED + "P" + RESET);
-                    } else {
-                        System.out.print(GREEN + "K" + RESET);
-                    }
-                } else {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println();
-        }
-    }
-
-    /**
-     * Display board with primary piece shown next to exit K
+     * Create a copy of this board with every piece slid to a new leading coordinate
+     * (leftmost column for horizontal pieces, topmost row for vertical ones).
+     * Leads are given in the order of getPieces(); a negative lead removes the piece.
      */
-    public void displayWithExitedPiece() {
-        // Use ANSI colors for better visualization
-        String RESET = "\u001B[0m";
-        String RED = "\u001B[31m";     // Primary piece
-        String GREEN = "\u001B[32m";   // Exit
+    Board withPieceLeads(int[] leads) {
+        Board newBoard = new Board(this);
         
-        // Display top exit if exists
-        if (exitSide == Exit.TOP) {
+        for (int i = 0; i < height; i++) {
             for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    // Show K with P outside
-                    System.out.print(GREEN + "K" + RED + "P" + RESET);
-                    j++; // Skip one column as we printed two characters
-                } else {
-                    System.out.print(" ");
-                }
+                newBoard.grid[i][j] = '.';
             }
-            System.out.println();
         }
         
-        // Display board content
-        for (int i = 0; i < height; i++) {
-            // Left exit
-            if (exitSide == Exit.LEFT && i == exitPosition.row) {
-                // Show P outside, then K
-                System.out.print(RED + "P" + GREEN + "K" + RESET);
+        List<Piece> removed = new ArrayList<>();
+        for (int index = 0; index < newBoard.pieces.size(); index++) {
+            Piece piece = newBoard.pieces.get(index);
+            if (leads[index] < 0) {
+                removed.add(piece);
+                continue;
             }
             
-            // Board content
-            for (int j = 0; j < width; j++) {
-                char c = grid[i][j];
-                // Don't show P in the board for final state (it's exited)
-                if (c == 'P' && this.isSolved()) {
-                    System.out.print('.');
-                } else if (c == 'P') {
-                    System.out.print(RED + c + RESET);
-                } else {
-                    System.out.print(c);
-                }
+            int currentLead = piece.getOrientation() == Orientation.HORIZONTAL
+                ? piece.getLeftmostCol() : piece.getTopmostRow();
+            if (leads[index] != currentLead) {
+                piece.move(leads[index] - currentLead);
             }
-            
-            // Right exit
-            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
-                // Show K then P outside
-                System.out.print(GREEN + "K" + RED + "P" + RESET);
+            for (Position pos : piece.getPositions()) {
+                newBoard.grid[pos.row][pos.col] = piece.getId();
             }
-            
-            System.out.println();
         }
         
-        // Display bottom exit if exists
-        if (exitSide == Exit.BOTTOM) {
-            for (int j = 0; j < width; j++) {
-                if (j == exitPosition.col) {
-                    // Show K with P outside
-                    System.out.print(GREEN + "K" + RED + "P" + RESET);
-                    j++; // Skip one column as we printed two characters
-                } else {
-                    System.out.print(" ");
-                }
+        for (Piece piece : removed) {
+            newBoard.pieces.remove(piece);
+            if (piece == newBoard.primaryPiece) {
+                newBoard.primaryPiece = null;
             }
-            System.out.println();
         }
+        
+        return newBoard;
     }
     
     // Getters
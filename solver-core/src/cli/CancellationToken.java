@@ -0,0 +1,17 @@
+package cli;
+
+/**
+ * Flag shared between searches so one thread can stop the others.
+ * Searches poll it together with their budgets and stop with StopReason.CANCELLED.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,611 @@
+package cli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Breadth-first search that keeps its frontier and visited set on disk instead of the heap.
+ *
+ * Every BFS layer is stored as a sorted file of packed states (see StateCodec) plus a parallel
+ * file holding, for each state, the index of its parent in the previous layer. A layer is built by
+ * expanding the previous one into sorted runs written to memory-mapped files, then k-way merging the
+ * runs while dropping duplicates and any state already present in earlier layers (delayed duplicate
+ * detection). With single-cell moves every move can be undone, so checking the previous two layers is
+ * enough; compound moves are not reversible, so in that mode the merge checks every earlier layer.
+ *
+ * Only one run buffer and a few mapped windows live on the heap, so state spaces far larger than the
+ * heap can still be solved optimally (in number of moves).
+ */
+public class ExternalMemoryBFS {
+    private static final int DEFAULT_RUN_RECORDS = 1 << 20;
+    private static final long WINDOW_BYTES = 64L << 20;
+    private static final int PARENT_SIZE = 4;
+
+    private final Solver solver;
+    private final SolveOptions options;
+    private final int runRecords;
+    private final Path workRoot;
+
+    private long nodesExamined = 0;
+    private StopReason stopReason = StopReason.EXHAUSTED;
+    private Solution partialSolution = null;
+
+    // Most promising expanded state, kept for the partial result when a budget stops the search
+    private int bestDepth = -1;
+    private long bestIndex = -1;
+    private int bestDistance = Integer.MAX_VALUE;
+
+    public ExternalMemoryBFS(Solver solver, SolveOptions options) {
+        this(solver, options, DEFAULT_RUN_RECORDS, null);
+    }
+
+    /**
+     * @param runRecords Number of states buffered in memory before a sorted run is written
+     * @param workRoot Directory for the layer files, or null for the system temp directory
+     */
+    public ExternalMemoryBFS(Solver solver, SolveOptions options, int runRecords, Path workRoot) {
+        this.solver = solver;
+        this.options = options != null ? options : new SolveOptions();
+        this.runRecords = Math.max(1, runRecords);
+        this.workRoot = workRoot;
+    }
+
+    public long getNodesExamined() { return nodesExamined; }
+    public StopReason getStopReason() { return stopReason; }
+    public Solution getPartialSolution() { return partialSolution; }
+
+    /**
+     * Run the search
+     * @return The optimal solution, or null if none exists or a budget stopped the search
+     */
+    public Solution search(Board initialBoard, boolean isCompound) throws IOException {
+        StateCodec codec = new StateCodec(initialBoard);
+        int recordSize = codec.getRecordSize();
+        Path dir = workRoot != null
+            ? Files.createTempDirectory(workRoot, "rushhour-bfs")
+            : Files.createTempDirectory("rushhour-bfs");
+        long deadline = options.getTimeLimitMillis() > 0
+            ? System.nanoTime() + options.getTimeLimitMillis() * 1_000_000L : Long.MAX_VALUE;
+
+        // Keep the in-memory run buffer within the memory budget when one is set
+        int bufferedRecords = runRecords;
+        if (options.getMaxMemoryBytes() > 0) {
+            long fit = options.getMaxMemoryBytes() / 2 / (recordSize + PARENT_SIZE);
+            bufferedRecords = (int) Math.max(1, Math.min(bufferedRecords, fit));
+        }
+
+        List<Layer> layers = new ArrayList<>();
+        try {
+            Layer start = new Layer(dir, 0);
+            try (LayerWriter writer = new LayerWriter(start)) {
+                writer.append(codec.encode(initialBoard), 0, 0);
+            }
+            layers.add(start);
+
+            if (initialBoard.isSolved()) {
+                nodesExamined = 1;
+                stopReason = StopReason.SOLVED;
+                return reconstruct(layers, 0, 0, codec, initialBoard, StopReason.SOLVED);
+            }
+
+            int depth = 0;
+            while (true) {
+                Layer current = layers.get(depth);
+                if (current.count == 0) {
+                    stopReason = StopReason.EXHAUSTED;
+                    return null;
+                }
+
+                // Expand the current layer into sorted runs
+                RunWriter runs = new RunWriter(dir, depth + 1, recordSize, bufferedRecords);
+                byte[] goalRecord = null;
+                try (RecordReader reader = new RecordReader(current.states, recordSize)) {
+                    byte[] record = new byte[recordSize];
+                    byte[] child = new byte[recordSize];
+
+                    for (long i = 0; i < current.count; i++) {
+                        reader.read(i, record);
+                        Board board = codec.decode(record);
+                        nodesExamined++;
+                        track(board, depth, i);
+
+                        StopReason stop = checkBudget(deadline);
+                        if (stop != null) {
+                            stopReason = stop;
+                            partialSolution = reconstruct(layers, bestDepth, bestIndex, codec, initialBoard, stop);
+                            return null;
+                        }
+
+                        for (CompoundMove move : solver.generateCompoundMoves(board, isCompound)) {
+                            Board next = solver.makeCompoundMove(board, move);
+                            codec.encode(next, child, 0);
+                            if (goalRecord == null && next.isSolved()) {
+                                goalRecord = child.clone();
+                            }
+                            runs.add(child, i);
+                        }
+                    }
+                }
+
+                Layer next = merge(dir, depth + 1, runs.finish(), layers, isCompound, recordSize);
+                layers.add(next);
+                depth++;
+                solver.log("BFS layer " + depth + ": " + next.count + " new states");
+
+                // A goal generated here cannot be in an earlier layer, so the merge kept it
+                if (goalRecord != null) {
+                    long goalIndex = find(next, goalRecord, recordSize);
+                    stopReason = StopReason.SOLVED;
+                    return reconstruct(layers, depth, goalIndex, codec, initialBoard, StopReason.SOLVED);
+                }
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    private void track(Board board, int depth, long index) {
+        int distance = solver.calculateDirectDistance(board);
+        if (distance < bestDistance) {
+            bestDistance = distance;
+            bestDepth = depth;
+            bestIndex = index;
+        }
+    }
+
+    private StopReason checkBudget(long deadline) {
+        if (options.isCancelled()) {
+            return StopReason.CANCELLED;
+        }
+        if (options.getMaxNodes() > 0 && nodesExamined >= options.getMaxNodes()) {
+            return StopReason.NODE_LIMIT;
+        }
+        if (deadline != Long.MAX_VALUE && System.nanoTime() >= deadline) {
+            return StopReason.TIME_LIMIT;
+        }
+        return null;
+    }
+
+    /**
+     * K-way merge of the sorted runs into the next layer, removing duplicates within the runs
+     * and states already stored in earlier layers
+     */
+    private Layer merge(Path dir, int depth, List<Path> runFiles, List<Layer> layers,
+                        boolean isCompound, int recordSize) throws IOException {
+        Layer out = new Layer(dir, depth);
+        int firstChecked = isCompound ? 0 : Math.max(0, layers.size() - 2);
+
+        PriorityQueue<RunCursor> heap = new PriorityQueue<>(
+            (a, b) -> StateCodec.compare(a.entry, 0, b.entry, 0, recordSize));
+        List<LayerCursor> previous = new ArrayList<>();
+
+        try (LayerWriter writer = new LayerWriter(out)) {
+            for (Path runFile : runFiles) {
+                RunCursor cursor = new RunCursor(runFile, recordSize);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                } else {
+                    cursor.close();
+                }
+            }
+            for (int i = firstChecked; i < layers.size(); i++) {
+                previous.add(new LayerCursor(layers.get(i), recordSize));
+            }
+
+            byte[] last = null;
+            while (!heap.isEmpty()) {
+                RunCursor cursor = heap.poll();
+                byte[] record = Arrays.copyOf(cursor.entry, recordSize);
+                long parent = cursor.parent();
+
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                } else {
+                    cursor.close();
+                }
+
+                if (last != null && StateCodec.compare(record, 0, last, 0, recordSize) == 0) {
+                    continue;
+                }
+                last = record;
+
+                boolean seen = false;
+                for (LayerCursor layer : previous) {
+                    if (layer.contains(record)) {
+                        seen = true;
+                        break;
+                    }
+                }
+                if (!seen) {
+                    writer.append(record, 0, parent);
+                }
+            }
+        } finally {
+            for (RunCursor cursor : heap) {
+                cursor.close();
+            }
+            for (LayerCursor layer : previous) {
+                layer.close();
+            }
+            for (Path runFile : runFiles) {
+                Files.deleteIfExists(runFile);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Binary search for a record in a sorted layer
+     */
+    private long find(Layer layer, byte[] record, int recordSize) throws IOException {
+        try (RecordReader reader = new RecordReader(layer.states, recordSize)) {
+            byte[] probe = new byte[recordSize];
+            long low = 0;
+            long high = layer.count - 1;
+            while (low <= high) {
+                long mid = (low + high) >>> 1;
+                reader.read(mid, probe);
+                int cmp = StateCodec.compare(probe, 0, record, 0, recordSize);
+                if (cmp == 0) {
+                    return mid;
+                } else if (cmp < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+        }
+        throw new IllegalStateException("Goal state missing from BFS layer " + layer.depth);
+    }
+
+    /**
+     * Follow the parent files back to the start and rebuild boards and moves
+     */
+    private Solution reconstruct(List<Layer> layers, int depth, long index, StateCodec codec,
+                                 Board initialBoard, StopReason reason) throws IOException {
+        if (depth < 0) {
+            return null;
+        }
+
+        int recordSize = codec.getRecordSize();
+        LinkedList<byte[]> records = new LinkedList<>();
+        byte[] parentBytes = new byte[PARENT_SIZE];
+
+        for (int d = depth; d >= 0; d--) {
+            byte[] record = new byte[recordSize];
+            try (RecordReader reader = new RecordReader(layers.get(d).states, recordSize)) {
+                reader.read(index, record);
+            }
+            records.addFirst(record);
+
+            if (d > 0) {
+                try (RecordReader reader = new RecordReader(layers.get(d).parents, PARENT_SIZE)) {
+                    reader.read(index, parentBytes);
+                }
+                index = ByteBuffer.wrap(parentBytes).getInt() & 0xFFFFFFFFL;
+            }
+        }
+
+        List<Board> states = new ArrayList<>();
+        List<Move> moves = new ArrayList<>();
+        int[] previousLeads = null;
+        for (byte[] record : records) {
+            int[] leads = codec.decodeLeads(record, 0);
+            Board board = states.isEmpty() ? initialBoard : codec.decode(record);
+
+            if (previousLeads != null) {
+                moves.add(moveBetween(states.get(states.size() - 1), codec, previousLeads, leads));
+            }
+            states.add(board);
+            previousLeads = leads;
+        }
+
+        int statesExamined = (int) Math.min(Integer.MAX_VALUE, nodesExamined);
+        return new Solution(moves, states, statesExamined, reason);
+    }
+
+    /**
+     * Recover the single move that turns one packed state into the next
+     */
+    private CompoundMove moveBetween(Board from, StateCodec codec, int[] fromLeads, int[] toLeads) {
+        for (int i = 0; i < fromLeads.length; i++) {
+            if (fromLeads[i] != toLeads[i]) {
+                Piece piece = from.getPieceById(codec.getPieceId(i));
+                int delta = toLeads[i] - fromLeads[i];
+                String direction;
+                if (piece.getOrientation() == Orientation.HORIZONTAL) {
+                    direction = delta > 0 ? "right" : "left";
+                } else {
+                    direction = delta > 0 ? "down" : "up";
+                }
+                return new CompoundMove(piece, direction, Math.abs(delta));
+            }
+        }
+        throw new IllegalStateException("Consecutive BFS states are identical");
+    }
+
+    private void deleteRecursively(Path dir) {
+        try {
+            if (!Files.exists(dir)) {
+                return;
+            }
+            List<Path> paths = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    paths.add(path);
+                }
+            }
+            for (Path path : paths) {
+                if (!path.toFile().delete()) {
+                    path.toFile().deleteOnExit(); // mapped files may stay locked until unmapped
+                }
+            }
+            if (!dir.toFile().delete()) {
+                dir.toFile().deleteOnExit();
+            }
+        } catch (IOException e) {
+            solver.log("Could not clean up BFS work directory " + dir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Files of one BFS layer: sorted packed states and the parent index of each state
+     */
+    private static class Layer {
+        final int depth;
+        final Path states;
+        final Path parents;
+        long count;
+
+        Layer(Path dir, int depth) {
+            this.depth = depth;
+            this.states = dir.resolve("layer" + depth + ".states");
+            this.parents = dir.resolve("layer" + depth + ".parents");
+        }
+    }
+
+    /**
+     * Sequential writer for a layer's state and parent files
+     */
+    private static class LayerWriter implements Closeable {
+        private final Layer layer;
+        private final OutputStream states;
+        private final DataOutputStream parents;
+
+        LayerWriter(Layer layer) throws IOException {
+            this.layer = layer;
+            this.states = new BufferedOutputStream(Files.newOutputStream(layer.states), 1 << 16);
+            this.parents = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(layer.parents), 1 << 16));
+        }
+
+        void append(byte[] record, int offset, long parent) throws IOException {
+            if (parent > 0xFFFFFFFFL) {
+                throw new IOException("BFS layer " + (layer.depth - 1) + " exceeds the 2^32 states a parent index can address");
+            }
+            states.write(record, offset, record.length - offset);
+            parents.writeInt((int) parent);
+            layer.count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            states.close();
+            parents.close();
+        }
+    }
+
+    /**
+     * Buffers generated children with their parent index and spills them as sorted,
+     * duplicate-free runs to memory-mapped files
+     */
+    private static class RunWriter {
+        private final Path dir;
+        private final int depth;
+        private final int recordSize;
+        private final int entrySize;
+        private final int capacity;
+        private final byte[] buffer;
+        private final List<Path> files = new ArrayList<>();
+        private int count = 0;
+
+        RunWriter(Path dir, int depth, int recordSize, int capacity) {
+            this.dir = dir;
+            this.depth = depth;
+            this.recordSize = recordSize;
+            this.entrySize = recordSize + PARENT_SIZE;
+            this.capacity = capacity;
+            this.buffer = new byte[capacity * entrySize];
+        }
+
+        void add(byte[] record, long parent) throws IOException {
+            if (count == capacity) {
+                flush();
+            }
+            int offset = count * entrySize;
+            System.arraycopy(record, 0, buffer, offset, recordSize);
+            int p = (int) parent;
+            buffer[offset + recordSize] = (byte) (p >>> 24);
+            buffer[offset + recordSize + 1] = (byte) (p >>> 16);
+            buffer[offset + recordSize + 2] = (byte) (p >>> 8);
+            buffer[offset + recordSize + 3] = (byte) p;
+            count++;
+        }
+
+        List<Path> finish() throws IOException {
+            if (count > 0) {
+                flush();
+            }
+            return files;
+        }
+
+        private void flush() throws IOException {
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            sort(order);
+
+            int unique = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || compareEntries(order[i - 1], order[i]) != 0) {
+                    unique++;
+                }
+            }
+
+            Path file = dir.resolve("layer" + depth + "-run" + files.size() + ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) unique * entrySize);
+                for (int i = 0; i < count; i++) {
+                    if (i == 0 || compareEntries(order[i - 1], order[i]) != 0) {
+                        out.put(buffer, order[i] * entrySize, entrySize);
+                    }
+                }
+            }
+            files.add(file);
+            count = 0;
+        }
+
+        private int compareEntries(int a, int b) {
+            return StateCodec.compare(buffer, a * entrySize, buffer, b * entrySize, recordSize);
+        }
+
+        /**
+         * Bottom-up merge sort of entry indices, avoiding boxed comparators on large runs
+         */
+        private void sort(int[] order) {
+            int[] source = order;
+            int[] target = new int[order.length];
+            for (int width = 1; width < order.length; width *= 2) {
+                for (int low = 0; low < order.length; low += 2 * width) {
+                    int mid = Math.min(low + width, order.length);
+                    int high = Math.min(low + 2 * width, order.length);
+                    int i = low, j = mid, k = low;
+                    while (i < mid && j < high) {
+                        target[k++] = compareEntries(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+                    }
+                    while (i < mid) target[k++] = source[i++];
+                    while (j < high) target[k++] = source[j++];
+                }
+                int[] swap = source;
+                source = target;
+                target = swap;
+            }
+            if (source != order) {
+                System.arraycopy(source, 0, order, 0, order.length);
+            }
+        }
+    }
+
+    /**
+     * Reads fixed-size entries by index through a sliding memory-mapped window
+     */
+    private static class RecordReader implements Closeable {
+        private final FileChannel channel;
+        private final int entrySize;
+        private final long count;
+        private final long windowEntries;
+        private MappedByteBuffer window;
+        private long windowStart = -1;
+
+        RecordReader(Path file, int entrySize) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.entrySize = entrySize;
+            this.count = channel.size() / entrySize;
+            this.windowEntries = Math.max(1, WINDOW_BYTES / entrySize);
+        }
+
+        long count() {
+            return count;
+        }
+
+        void read(long index, byte[] dest) throws IOException {
+            if (window == null || index < windowStart || index >= windowStart + windowEntries) {
+                long entries = Math.min(windowEntries, count - index);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, index * entrySize, entries * entrySize);
+                windowStart = index;
+            }
+            window.position((int) ((index - windowStart) * entrySize));
+            window.get(dest, 0, entrySize);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Sequential cursor over one sorted run
+     */
+    private static class RunCursor implements Closeable {
+        private final RecordReader reader;
+        private final int recordSize;
+        private final byte[] entry;
+        private long next = 0;
+
+        RunCursor(Path file, int recordSize) throws IOException {
+            this.reader = new RecordReader(file, recordSize + PARENT_SIZE);
+            this.recordSize = recordSize;
+            this.entry = new byte[recordSize + PARENT_SIZE];
+        }
+
+        boolean advance() throws IOException {
+            if (next >= reader.count()) {
+                return false;
+            }
+            reader.read(next++, entry);
+            return true;
+        }
+
+        long parent() {
+            return ((entry[recordSize] & 0xFFL) << 24) | ((entry[recordSize + 1] & 0xFFL) << 16)
+                | ((entry[recordSize + 2] & 0xFFL) << 8) | (entry[recordSize + 3] & 0xFFL);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Monotone membership test against a sorted layer, used while merging in sorted order
+     */
+    private static class LayerCursor implements Closeable {
+        private final RecordReader reader;
+        private final int recordSize;
+        private final byte[] current;
+        private long index = -1;
+
+        LayerCursor(Layer layer, int recordSize) throws IOException {
+            this.reader = new RecordReader(layer.states, recordSize);
+            this.recordSize = recordSize;
+            this.current = new byte[recordSize];
+            step();
+        }
+
+        private void step() throws IOException {
+            index++;
+            if (index < reader.count()) {
+                reader.read(index, current);
+            }
+        }
+
+        boolean contains(byte[] record) throws IOException {
+            while (index < reader.count() && StateCodec.compare(current, 0, record, 0, recordSize) < 0) {
+                step();
+            }
+            return index < reader.count() && StateCodec.compare(current, 0, record, 0, recordSize) == 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package cli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * FileParser class for parsing Rush Hour puzzle files with specific exit placement rules.
+ * Input is consumed in a single pass: every line is classified for exits as it is read and
+ * only the lines that become board rows are kept, so the same parser serves files, text
+ * typed into the GUI and raw byte buffers without going through a temporary file.
+ */
+public class FileParser {
+    
+    public static ParsedBoard parseFile(String filename) throws IOException {
+        return parse(new FileReader(filename));
+    }
+    
+    /**
+     * Parse a puzzle from any character stream; the reader is closed afterwards
+     */
+    public static ParsedBoard parse(Reader input) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        try {
+            return parse(reader::readLine);
+        } finally {
+            reader.close();
+        }
+    }
+    
+    /**
+     * Parse a puzzle held in memory, e.g. the contents of a text area
+     */
+    public static ParsedBoard parse(CharSequence text) throws IOException {
+        return parse(new CharSequenceLines(text));
+    }
+    
+    /**
+     * Parse a UTF-8 encoded puzzle; the buffer's position is left untouched
+     */
+    public static ParsedBoard parse(ByteBuffer bytes) throws IOException {
+        return parse(StandardCharsets.UTF_8.decode(bytes.duplicate()));
+    }
+    
+    private static ParsedBoard parse(LineSource reader) throws IOException {
+        // Dimensions
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            throw new IOException("File is empty");
+        }
+        firstLine = firstLine.trim();
+        
+        String[] dimensions = firstLine.split("\\s+");
+        if (dimensions.length != 2) {
+            throw new IOException("First line must contain exactly 2 integers for board dimensions");
+        }
+        
+        int rows, cols;
+        try {
+            rows = Integer.parseInt(dimensions[0]);
+            cols = Integer.parseInt(dimensions[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("First line must contain valid integers for board dimensions");
+        }
+        
+        // Validate dimensions
+        if (rows <= 0) {
+            throw new IOException("Number of rows must be greater than 0, got: " + rows);
+        }
+        if (cols <= 0) {
+            throw new IOException("Number of columns must be greater than 0, got: " + cols);
+        }
+        
+        if (rows == 1 && cols == 1) {
+            throw new IOException("Board size must be at least 1x2 or 2x1. Current size: " + rows + "x" + cols);
+        }
+        
+        // Read number of pieces
+        String secondLine = reader.readLine();
+        if (secondLine == null) {
+            throw new IOException("Missing second line for number of pieces");
+        }
+        secondLine = secondLine.trim();
+        
+        int numPieces;
+        try {
+            numPieces = Integer.parseInt(secondLine);
+        } catch (NumberFormatException e) {
+            throw new IOException("Second line must contain a valid integer for number of pieces");
+        }
+        
+        // Validate number of pieces
+        if (numPieces < 1) {
+            throw new IOException("Number of pieces cannot be less than 1, got: " + numPieces);
+        }
+        
+        // Exit position and count
+        Position exitPosition = null;
+        Orientation exitOrientation = null;
+        int exitCount = 0;
+        List<String> exitPositionDescriptions = new ArrayList<>();
+        boolean hasLeftK = false;
+        int leftKRow = -1;
+        
+        // Lines that will become board rows, with their index among the lines after the header.
+        // Nothing is sized from the header: its dimensions are only trusted once the body has matched them.
+        List<String> rowLines = new ArrayList<>();
+        List<Integer> rowLineIndex = new ArrayList<>();
+        int collectedRows = 0;
+        boolean topExit = false;
+        
+        String currentLine;
+        for (int i = 0; (currentLine = reader.readLine()) != null; i++) {
+            if (currentLine.trim().isEmpty()) continue;
+            
+            if (currentLine.contains("K")) {
+                // Check if this is a top K (before board)
+                if (i == 0) {
+                    // If the first line has only K or starts with K and has no other letters, it's a top exit
+                    if (currentLine.trim().equals("K") || 
+                        (currentLine.indexOf('K') >= 0 && !containsAnyPiece(currentLine))) {
+                        
+                        int kPosition = currentLine.indexOf('K');
+                        
+                        // Check if K is within the board's column range (0 to cols-1)
+                        if (kPosition >= cols) {
+                            throw new IOException("Invalid exit position 'K' at position (" + 
+                                                i + ", " + kPosition + "). Top K must be within the board's column range (0 to " + 
+                                                (cols-1) + ").");
+                        }
+                        
+                        exitCount++;
+                        exitPositionDescriptions.add("TOP (column " + kPosition + ")");
+                        exitPosition = new Position(-1, kPosition);
+                        exitOrientation = Orientation.VERTICAL;
+                        topExit = true;
+                    } 
+                    // Otherwise, treat it as a normal board row that could have left or right K
+                    else {
+                        if (currentLine.startsWith("K")) {
+                            exitCount++;
+                            exitPositionDescriptions.add("LEFT (row " + i + ")");
+                            exitPosition = new Position(i, -1);
+                            exitOrientation = Orientation.HORIZONTAL;
+                            hasLeftK = true;
+                            leftKRow = i;
+                        }
+                        // Check for right K (including corner cases)
+                        else if (currentLine.endsWith("K") || 
+                                (currentLine.length() > cols && currentLine.charAt(cols) == 'K') ||
+                                (currentLine.length() >= cols && currentLine.charAt(currentLine.length() - 1) == 'K')) {
+                            
+                            exitCount++;
+                            // Check if it's a corner K
+                            if (currentLine.length() >= cols && currentLine.charAt(currentLine.length() - 1) == 'K') {
+                                String cornerType = "UPPER RIGHT CORNER";
+                                exitPositionDescriptions.add(cornerType + " (row " + i + ")");
+                            } else {
+                                exitPositionDescriptions.add("RIGHT (row " + i + ")");
+                            }
+                            
+                            exitPosition = new Position(i, cols);
+                            exitOrientation = Orientation.HORIZONTAL;
+                        }
+                        // K inside the board (invalid)
+                        else {
+                            int kPosition = currentLine.indexOf('K');
+                            throw new IOException("Invalid exit position 'K' found inside the board at position (" + 
+                                                i + ", " + kPosition + "). Exit must be placed on the edge of the board.");
+                        }
+                    }
+                }
+                // Check if this is a bottom K (after all board rows)
+                else if (i >= rows) {
+                    int kPosition = currentLine.indexOf('K');
+                    
+                    // Check if K is within the board's column range (0 to cols-1)
+                    if (kPosition >= cols) {
+                        throw new IOException("Invalid exit position 'K' at position (" + 
+                                            i + ", " + kPosition + "). Bottom K must be within the board's column range (0 to " + 
+                                            (cols-1) + ").");
+                    }
+                    
+                    exitCount++;
+                    exitPositionDescriptions.add("BOTTOM (column " + kPosition + ")");
+                    exitPosition = new Position(rows, kPosition);
+                    exitOrientation = Orientation.VERTICAL;
+                }
+                // Check for left K
+                else if (currentLine.startsWith("K")) {
+                    exitCount++;
+                    exitPositionDescriptions.add("LEFT (row " + i + ")");
+                    exitPosition = new Position(i, -1);
+                    exitOrientation = Orientation.HORIZONTAL;
+                    hasLeftK = true;
+                    leftKRow = i;
+                }
+                // Check for right K (including corner cases)
+                else if (currentLine.endsWith("K") || 
+                        (currentLine.length() > cols && currentLine.charAt(cols) == 'K') ||
+                        (currentLine.length() == cols && currentLine.charAt(cols - 1) == 'K')) {
+                    
+                    exitCount++;
+                    // Check if it's a corner K
+                    if (currentLine.length() == cols && currentLine.charAt(cols - 1) == 'K') {
+                        String cornerType = (i == 0) ? "UPPER RIGHT CORNER" : 
+                                          (i == rows - 1) ? "LOWER RIGHT CORNER" : "RIGHT CORNER";
+                        exitPositionDescriptions.add(cornerType + " (row " + i + ")");
+                    } else {
+                        exitPositionDescriptions.add("RIGHT (row " + i + ")");
+                    }
+                    
+                    exitPosition = new Position(i, cols);
+                    exitOrientation = Orientation.HORIZONTAL;
+                }
+                // K inside the board (invalid)
+                else {
+                    int kPosition = currentLine.indexOf('K');
+                    throw new IOException("Invalid exit position 'K' found inside the board at position (" + 
+                                        i + ", " + kPosition + "). Exit must be placed on the edge of the board.");
+                }
+            }
+            
+            // Keep the first rows non-empty lines, skipping the top exit line if it exists
+            if (collectedRows < rows && !(topExit && i == 0)) {
+                rowLines.add(currentLine);
+                rowLineIndex.add(i);
+                collectedRows++;
+            }
+        }
+        
+        // Check if we found an exit
+        if (exitPosition == null) {
+            throw new IOException("No exit position (K) found in the board configuration");
+        }
+        
+        // Check if we have more than one exit
+        if (exitCount > 1) {
+            throw new IOException("Multiple exit positions (K) found: " + String.join(", ", exitPositionDescriptions) + 
+                                ". The Rush Hour puzzle must have exactly one exit position.");
+        }
+        
+        // Rows are validated once the exits are known, since a left K on a later row
+        // changes how every row is indented and exit errors take precedence
+        char[][] grid = new char[collectedRows][];
+        Map<Character, List<Position>> piecePositions = new HashMap<>();
+        
+        for (int row = 0; row < collectedRows; row++) {
+            currentLine = rowLines.get(row);
+            int lineIndex = rowLineIndex.get(row);
+            String processedLine = currentLine;
+            boolean hasRightK = false;
+            
+            // Special handling for left K
+            if (hasLeftK) {
+                // If this is the row with K, remove the K for grid processing
+                if (lineIndex == leftKRow) {
+                    processedLine = currentLine.substring(1);
+                }
+                // All other rows should have exactly one leading space
+                else {
+                    if (!currentLine.startsWith(" ") || currentLine.startsWith("  ")) {
+                        throw new IOException("Invalid format: When K is at the left, all other rows must have exactly one leading space. Row " + 
+                                            (lineIndex + 1) + " has incorrect spacing.");
+                    }
+                    processedLine = currentLine.substring(1); // Remove leading space
+                }
+            }
+            
+            // If this line has a right K, remove it for grid processing
+            if (currentLine.endsWith("K")) {
+                processedLine = currentLine.substring(0, currentLine.length() - 1);
+                hasRightK = true;
+            } else if (currentLine.length() > cols && currentLine.charAt(cols) == 'K') {
+                processedLine = currentLine.substring(0, cols);
+                hasRightK = true;
+            }
+            
+            // Special case: Check for corner K (K at the end of line)
+            if (!hasRightK && currentLine.length() == cols && currentLine.charAt(cols - 1) == 'K') {
+                // This is a corner K - it's treated as a right edge exit
+                processedLine = processedLine.substring(0, cols - 1) + ".";
+                hasRightK = true;
+            }
+            
+            // Validate processed line length
+            if (processedLine.length() > cols) {
+                processedLine = processedLine.substring(0, cols); // Truncate if too long
+            }
+            else if (processedLine.length() < cols) {
+                throw new IOException("Row " + (lineIndex + 1) + " has incorrect length. Expected " + cols + 
+                                    ", got " + processedLine.length() + ". Line: \"" + processedLine + "\"");
+            }
+            
+            // Map the grid cells
+            grid[row] = new char[cols];
+            for (int j = 0; j < cols; j++) {
+                char c = processedLine.charAt(j);
+                
+                // Validate character
+                if (c != '.' && !Character.isLetter(c)) {
+                    throw new IOException("Invalid character '" + c + "' at row " + (lineIndex + 1) + 
+                                        ", column " + (j + 1) + ". Only letters (A-Z) and dots (.) are allowed.");
+                }
+                
+                // Ensure uppercase letters
+                if (Character.isLetter(c) && !Character.isUpperCase(c)) {
+                    throw new IOException("Invalid character '" + c + "' at row " + (lineIndex + 1) + 
+                                        ", column " + (j + 1) + ". Only uppercase letters (A-Z) are allowed.");
+                }
+                
+                // K should have been handled earlier (replaced with .)
+                if (c == 'K' && !hasRightK) {
+                    throw new IOException("Invalid exit position 'K' found inside the board at position (" + 
+                                        (lineIndex + 1) + ", " + (j + 1) + "). Exit must be placed on the edge of the board.");
+                }
+                
+                grid[row][j] = c;
+                
+                // Record piece cells while the grid is built so the board does not rescan it
+                if (c != '.' && c != 'K') {
+                    piecePositions.computeIfAbsent(c, k -> new ArrayList<>()).add(new Position(row, j));
+                }
+            }
+        }
+        
+        // Validate that we have enough rows
+        if (collectedRows < rows) {
+            throw new IOException("Not enough rows in file. Expected " + rows + ", got " + collectedRows);
+        }
+        
+        return new ParsedBoard(rows, cols, grid, exitPosition, exitOrientation, numPieces, piecePositions);
+    }
+    
+    /**
+     * Helper method to check if a line contains any piece character
+     */
+    private static boolean containsAnyPiece(String line) {
+        for (char c : line.toCharArray()) {
+            if (Character.isLetter(c) && c != 'K') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Source of input lines, null once the input is exhausted
+     */
+    private interface LineSource {
+        String readLine() throws IOException;
+    }
+    
+    /**
+     * Splits in-memory text into lines with the same terminator rules as BufferedReader
+     */
+    private static class CharSequenceLines implements LineSource {
+        private final CharSequence text;
+        private int position = 0;
+        
+        CharSequenceLines(CharSequence text) {
+            this.text = text;
+        }
+        
+        @Override
+        public String readLine() {
+            int length = text.length();
+            if (position >= length) {
+                return null;
+            }
+            
+            int start = position;
+            while (position < length && text.charAt(position) != '\n' && text.charAt(position) != '\r') {
+                position++;
+            }
+            String line = text.subSequence(start, position).toString();
+            
+            // Consume the terminator: \n, \r or \r\n
+            if (position < length && text.charAt(position) == '\r') {
+                position++;
+                if (position < length && text.charAt(position) == '\n') {
+                    position++;
+                }
+            } else if (position < length) {
+                position++;
+            }
+            return line;
+        }
+    }
+    
+    // Inner class to hold parsed data
+    public static class ParsedBoard {
+        public final int rows;
+        public final int cols;
+        public final char[][] grid;
+        public final Position exitPosition;
+        public final Orientation exitOrientation;
+        public final int numPieces;
+        // Cells of every piece in row-major order, keyed by piece id
+        public final Map<Character, List<Position>> piecePositions;
+        
+        public ParsedBoard(int rows, int cols, char[][] grid, Position exitPosition, 
+                          Orientation exitOrientation, int numPieces) {
+            this(rows, cols, grid, exitPosition, exitOrientation, numPieces, collectPieces(grid));
+        }
+        
+        public ParsedBoard(int rows, int cols, char[][] grid, Position exitPosition, 
+                          Orientation exitOrientation, int numPieces, Map<Character, List<Position>> piecePositions) {
+            this.rows = rows;
+            this.cols = cols;
+            this.grid = grid;
+            this.exitPosition = exitPosition;
+            this.exitOrientation = exitOrientation;
+            this.numPieces = numPieces;
+            this.piecePositions = piecePositions;
+        }
+        
+        private static Map<Character, List<Position>> collectPieces(char[][] grid) {
+            Map<Character, List<Position>> positions = new HashMap<>();
+            for (int i = 0; i < grid.length; i++) {
+                for (int j = 0; j < grid[i].length; j++) {
+                    char c = grid[i][j];
+                    if (c != '.' && c != 'K') {
+                        positions.computeIfAbsent(c, k -> new ArrayList<>()).add(new Position(i, j));
+                    }
+                }
+            }
+            return positions;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partial-order reduction for commuting moves.
+ * Two moves are independent when the cells swept by each one lie outside the lane of the other
+ * piece: neither can then change whether, or how far, the other slides, and both orders reach
+ * the same state with the same number of moves. Of every such pair only the order that moves
+ * the piece with the larger id first is generated, so the search no longer explores every
+ * interleaving of moves on unrelated lanes.
+ *
+ * Which moves are skipped depends on the move that reached a state, while duplicate detection
+ * only looks at the state. Every move that reaches a state at its cheapest known cost is therefore
+ * recorded, and the first expansion only skips the moves that all of them skip. When the searches
+ * expand states in cost order every such arrival is known by then; should one still arrive after
+ * the expansion (A* with tied f values), the closed state is expanded again for the moves the
+ * new arrival does not skip.
+ */
+class PartialOrderReduction {
+    // Moves that reached each state not yet expanded, at the cheapest cost seen so far
+    private final Map<String, Arrivals> arrivals = new HashMap<>();
+    // Move keys skipped at closed states, with the cost at which each state was expanded
+    private final Map<String, Expansion> expansions = new HashMap<>();
+
+    /**
+     * Record a move that reaches a state which has not been expanded yet
+     */
+    void arrive(String stateString, int cost, Move move) {
+        Arrivals known = arrivals.get(stateString);
+        if (known == null || cost < known.cost) {
+            arrivals.put(stateString, new Arrivals(cost, move));
+        } else if (cost == known.cost) {
+            known.moves.add(move);
+        }
+    }
+
+    /**
+     * Moves to generate the first time a state is expanded
+     * @param previous Move that reached the state, null for the start state
+     */
+    List<CompoundMove> firstExpansion(String stateString, int cost, Move previous, List<CompoundMove> moves) {
+        Arrivals known = arrivals.remove(stateString);
+        List<Move> incoming = known != null && known.cost == cost ? known.moves : Collections.singletonList(previous);
+        List<CompoundMove> allowed = new ArrayList<>(moves.size());
+        Set<Integer> skipped = null;
+        for (CompoundMove move : moves) {
+            if (isPrunedByAll(incoming, move)) {
+                if (skipped == null) {
+                    skipped = new HashSet<>();
+                }
+                skipped.add(moveKey(move));
+            } else {
+                allowed.add(move);
+            }
+        }
+        if (skipped != null) {
+            expansions.put(stateString, new Expansion(cost, incoming, skipped));
+        }
+        return allowed;
+    }
+
+    /**
+     * Check whether a closed state reached again at this cost still has skipped moves to offer
+     */
+    boolean mayReopen(String stateString, int cost) {
+        Expansion expansion = expansions.get(stateString);
+        return expansion != null && cost <= expansion.cost;
+    }
+
+    /**
+     * Check whether a queued copy of a closed state should be expanded again; copies queued by
+     * an arrival that was already merged into the first expansion have nothing left to offer
+     */
+    boolean mayReopen(String stateString, int cost, Move previous) {
+        Expansion expansion = expansions.get(stateString);
+        if (expansion == null || cost > expansion.cost) {
+            return false;
+        }
+        for (Move move : expansion.incoming) {
+            if (move == previous) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Previously skipped moves that the new arrival no longer skips
+     */
+    List<CompoundMove> reexpansion(String stateString, int cost, Move previous, List<CompoundMove> moves) {
+        List<CompoundMove> allowed = new ArrayList<>();
+        Expansion expansion = expansions.get(stateString);
+        if (expansion == null || cost > expansion.cost) {
+            return allowed;
+        }
+        for (CompoundMove move : moves) {
+            int key = moveKey(move);
+            if (expansion.skipped.contains(key) && !isPruned(previous, move)) {
+                allowed.add(move);
+                expansion.skipped.remove(key);
+            }
+        }
+        if (expansion.skipped.isEmpty()) {
+            expansions.remove(stateString);
+        }
+        return allowed;
+    }
+
+    /**
+     * A move is skipped only when every move reaching the state would skip it
+     */
+    private static boolean isPrunedByAll(List<Move> incoming, CompoundMove candidate) {
+        for (Move previous : incoming) {
+            if (!isPruned(previous, candidate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A move is skipped after an independent move of a piece with a larger id
+     */
+    static boolean isPruned(Move previous, CompoundMove candidate) {
+        if (!(previous instanceof CompoundMove)) {
+            return false;
+        }
+        return candidate.getPiece().getId() < previous.getPiece().getId()
+            && isIndependent((CompoundMove) previous, candidate);
+    }
+
+    /**
+     * Check whether two moves commute: each sweeps only cells outside the other piece's lane.
+     * Both moves are described by the piece position before the move.
+     */
+    static boolean isIndependent(CompoundMove a, CompoundMove b) {
+        Piece p = a.getPiece();
+        Piece q = b.getPiece();
+        if (p.getId() == q.getId()) {
+            return false;
+        }
+        if (p.getOrientation() == q.getOrientation()) {
+            // Parallel pieces only interact when they share a lane
+            return laneIndex(p) != laneIndex(q);
+        }
+        // Perpendicular pieces interact only through the crossing cell of their lanes
+        return !sweeps(a, laneIndex(q)) && !sweeps(b, laneIndex(p));
+    }
+
+    /**
+     * Row of a horizontal piece or column of a vertical one
+     */
+    private static int laneIndex(Piece piece) {
+        return piece.getOrientation() == Orientation.HORIZONTAL ? piece.getTopmostRow() : piece.getLeftmostCol();
+    }
+
+    /**
+     * Check whether a move covers the given coordinate along its lane, before, during or after the slide
+     */
+    private static boolean sweeps(CompoundMove move, int coordinate) {
+        Piece piece = move.getPiece();
+        int start = StateCodec.leadOf(piece);
+        int end = start + piece.getSize() - 1;
+        int shift = move.getDistance() * move.getDirectionValue();
+        return coordinate >= Math.min(start, start + shift) && coordinate <= Math.max(end, end + shift);
+    }
+
+    private static int moveKey(Move move) {
+        return (move.getPiece().getId() << 1) | (move.getDirectionValue() > 0 ? 1 : 0);
+    }
+
+    private static class Arrivals {
+        final int cost;
+        final List<Move> moves = new ArrayList<>(2);
+
+        Arrivals(int cost, Move move) {
+            this.cost = cost;
+            moves.add(move);
+        }
+    }
+
+    private static class Expansion {
+        final int cost;
+        final List<Move> incoming;
+        final Set<Integer> skipped;
+
+        Expansion(int cost, List<Move> incoming, Set<Integer> skipped) {
+            this.cost = cost;
+            this.incoming = incoming;
+            this.skipped = skipped;
+        }
+    }
+}
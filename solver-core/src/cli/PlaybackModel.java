@@ -0,0 +1,103 @@
+package cli;
+
+import java.util.*;
+
+/**
+ * Random access to the boards along a solution without keeping every state in memory.
+ * Holds the move list and a board snapshot every few moves; any step is rebuilt by replaying
+ * the moves after the nearest checkpoint at or before it. The last rebuilt board is kept, so
+ * stepping forward one move at a time costs a single move.
+ * Step 0 is the initial board and step i is the board after move i. Not thread-safe.
+ */
+public class PlaybackModel {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    private final List<Move> moves;
+    private final Board[] checkpoints;
+    private final int interval;
+    private final Solver replayer = new Solver();
+
+    // Last board handed out
+    private int cachedStep;
+    private Board cachedBoard;
+
+    public PlaybackModel(Board initialBoard, List<Move> moves) {
+        this(initialBoard, moves, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Replay the moves once from the initial board and keep every interval-th board
+     * @param interval Moves between two checkpoints
+     */
+    public PlaybackModel(Board initialBoard, List<Move> moves, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+        }
+        this.moves = Collections.unmodifiableList(new ArrayList<>(moves));
+        this.interval = interval;
+        this.checkpoints = new Board[moves.size() / interval + 1];
+
+        Board board = initialBoard;
+        checkpoints[0] = board;
+        for (int i = 0; i < this.moves.size(); i++) {
+            board = apply(board, this.moves.get(i));
+            if ((i + 1) % interval == 0) {
+                checkpoints[(i + 1) / interval] = board;
+            }
+        }
+
+        this.cachedStep = 0;
+        this.cachedBoard = initialBoard;
+    }
+
+    /**
+     * Build a model from a solution's first state and moves
+     */
+    public static PlaybackModel of(Solution solution) {
+        return new PlaybackModel(solution.getStates().get(0), solution.getMoves());
+    }
+
+    public int getMoveCount() { return moves.size(); }
+    public int getCheckpointInterval() { return interval; }
+    public List<Move> getMoves() { return moves; }
+
+    /**
+     * Get move i (0-based), the move that turns step i into step i + 1
+     */
+    public Move getMove(int index) {
+        return moves.get(index);
+    }
+
+    /**
+     * Get the board at a step, from 0 (initial board) to getMoveCount() (final board)
+     */
+    public Board getBoard(int step) {
+        if (step < 0 || step > moves.size()) {
+            throw new IndexOutOfBoundsException("Step " + step + " outside 0.." + moves.size());
+        }
+        if (step == cachedStep) {
+            return cachedBoard;
+        }
+
+        // Continue from the cached board when it is on the way, otherwise from the checkpoint
+        int from = (step / interval) * interval;
+        Board board = checkpoints[step / interval];
+        if (cachedStep > from && cachedStep < step) {
+            from = cachedStep;
+            board = cachedBoard;
+        }
+        for (int i = from; i < step; i++) {
+            board = apply(board, moves.get(i));
+        }
+
+        cachedStep = step;
+        cachedBoard = board;
+        return board;
+    }
+
+    private Board apply(Board board, Move move) {
+        return move instanceof CompoundMove
+            ? replayer.makeCompoundMove(board, (CompoundMove) move)
+            : board.makeMove(move);
+    }
+}
@@ -0,0 +1,275 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Races several algorithm/heuristic combinations on the same board.
+ * The first member that returns a guaranteed-optimal solution wins and cancels the others
+ * through a shared CancellationToken. Otherwise the shortest solution found before every member
+ * stopped (or the time limit in SolveOptions ran out) is returned.
+ */
+public class PortfolioSolver {
+    private static final long POLL_MILLIS = 50;
+
+    private final SolveOptions options;
+    private final List<Member> members = new ArrayList<>();
+
+    // Shared by all members, every search runs with its own request and options
+    private final Solver solver = new Solver();
+
+    // Statistics of the last race
+    private String lastWinner = null;
+    private StopReason lastStopReason = StopReason.EXHAUSTED;
+    private int lastNodesExamined = 0;
+    private List<MemberResult> lastResults = new ArrayList<>();
+
+    public PortfolioSolver(SolveOptions options) {
+        this.options = options != null ? options : new SolveOptions();
+    }
+
+    /**
+     * Portfolio covering the algorithms that win on different kinds of boards:
+     * greedy for quick answers, A* with a cheap and a strong heuristic, IDA* for tight memory and UCS as a baseline
+     */
+    public static PortfolioSolver withDefaultMembers(SolveOptions options, boolean isCompound) {
+        PortfolioSolver portfolio = new PortfolioSolver(options);
+        portfolio.addMember("greedy", "blocking", isCompound);
+        portfolio.addMember("astar", "blocking", isCompound);
+        portfolio.addMember("astar", "direct", isCompound);
+        portfolio.addMember("ida", "blocking", isCompound);
+        portfolio.addMember("ucs", null, isCompound);
+        return portfolio;
+    }
+
+    /**
+     * Add an algorithm to the race
+     * @param algorithm Algorithm key understood by Solver.solve
+     * @param heuristic Heuristic name, ignored by uninformed algorithms
+     */
+    public PortfolioSolver addMember(String algorithm, String heuristic, boolean isCompound) {
+        members.add(new Member(algorithm, heuristic, isOptimal(algorithm, heuristic, isCompound)));
+        return this;
+    }
+
+    /**
+     * Number of members, each of which runs on its own thread during a race
+     */
+    public int getMemberCount() {
+        return members.size();
+    }
+
+    /**
+     * Whether a member's solutions are guaranteed to be shortest.
+     * Only heuristics proven admissible qualify: the blocking count in both move modes, Manhattan and
+     * direct distance only for single-cell moves, since they count cells and so overestimate once a
+     * multi-cell slide is a single move. Clearing moves and unknown names are never trusted.
+     */
+    static boolean isOptimal(String algorithm, String heuristic, boolean isCompound) {
+        switch (algorithm) {
+            case "ucs":
+            case "dijkstra":
+            case "extbfs":
+                return true;
+            case "astar":
+            case "ida":
+                return isAdmissible(heuristic, isCompound);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isAdmissible(String heuristic, boolean isCompound) {
+        if (heuristic == null) {
+            return false;
+        }
+        switch (heuristic.toLowerCase()) {
+            case "blocking":
+            case "blocking count":
+                return true;
+            case "manhattan":
+            case "manhattan distance":
+            case "direct":
+            case "direct distance":
+                return !isCompound;
+            default:
+                return false;
+        }
+    }
+
+    public Solution solve(Board initialBoard, boolean isCompound) {
+        if (members.isEmpty()) {
+            throw new IllegalStateException("Portfolio has no members");
+        }
+
+        lastWinner = null;
+        lastStopReason = StopReason.EXHAUSTED;
+        lastNodesExamined = 0;
+        lastResults = new ArrayList<>();
+
+        CancellationToken token = new CancellationToken();
+        if (options.isCancelled()) {
+            token.cancel();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(members.size(), runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-member");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorCompletionService<MemberResult> completion = new ExecutorCompletionService<>(executor);
+
+        try {
+            for (Member member : members) {
+                SolveOptions memberOptions = options.copy().setCancellationToken(token);
+                completion.submit(() -> member.run(solver, initialBoard, isCompound, memberOptions));
+            }
+
+            MemberResult best = null;
+            for (int remaining = members.size(); remaining > 0; remaining--) {
+                Future<MemberResult> future;
+                while ((future = completion.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                    // Forward an outside cancellation to the members
+                    if (options.isCancelled()) {
+                        token.cancel();
+                    }
+                }
+                MemberResult result = future.get();
+                lastResults.add(result);
+                lastNodesExamined += result.statesExamined;
+
+                if (result.solution == null) {
+                    continue;
+                }
+                if (best == null || result.solution.getMoves().size() < best.solution.getMoves().size()) {
+                    best = result;
+                }
+                if (result.member.optimal) {
+                    // Nothing can beat a proven optimal solution
+                    best = result;
+                    token.cancel();
+                    break;
+                }
+            }
+
+            if (best != null) {
+                lastWinner = best.member.getName();
+                lastStopReason = StopReason.SOLVED;
+                return best.solution;
+            }
+
+            lastStopReason = summarizeFailure();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lastStopReason = StopReason.CANCELLED;
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Portfolio member failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            token.cancel();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Any member that proved there is no solution settles it; otherwise report why the first member stopped
+     */
+    private StopReason summarizeFailure() {
+        for (MemberResult result : lastResults) {
+            if (result.stopReason == StopReason.UNSOLVABLE) {
+                return StopReason.UNSOLVABLE;
+            }
+            if (result.stopReason == StopReason.EXHAUSTED && result.member.isComplete()) {
+                return StopReason.EXHAUSTED;
+            }
+        }
+        return lastResults.isEmpty() ? StopReason.EXHAUSTED : lastResults.get(0).stopReason;
+    }
+
+    /**
+     * Name of the member whose solution was returned by the last race, or null
+     */
+    public String getLastWinner() { return lastWinner; }
+    public StopReason getLastStopReason() { return lastStopReason; }
+
+    /**
+     * Total number of states examined by all members of the last race
+     */
+    public int getLastNodesExamined() { return lastNodesExamined; }
+
+    /**
+     * Per-member outcome of the last race in completion order
+     */
+    public List<MemberResult> getLastResults() { return Collections.unmodifiableList(lastResults); }
+
+    private static class Member {
+        final String algorithm;
+        final String heuristic;
+        final boolean optimal;
+
+        Member(String algorithm, String heuristic, boolean optimal) {
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+            this.optimal = optimal;
+        }
+
+        String getName() {
+            return heuristic == null ? algorithm : algorithm + "/" + heuristic;
+        }
+
+        /**
+         * Greedy and beam search may miss solutions, so only the others prove a board unsolvable
+         */
+        boolean isComplete() {
+            return !algorithm.equals("greedy") && !algorithm.equals("beam");
+        }
+
+        MemberResult run(Solver solver, Board initialBoard, boolean isCompound, SolveOptions memberOptions) {
+            SearchResult result = solver.solve(new SearchRequest(algorithm, initialBoard,
+                                                                 heuristic != null ? heuristic : "manhattan", isCompound)
+                                                   .setOptions(memberOptions));
+            return new MemberResult(this, result.getSolution(), result.getStopReason(), result.getNodesExamined(),
+                                    result.getElapsedMillis());
+        }
+    }
+
+    /**
+     * Outcome of one member of a race
+     */
+    public static class MemberResult {
+        private final Member member;
+        private final Solution solution;
+        private final StopReason stopReason;
+        private final int statesExamined;
+        private final long timeMillis;
+
+        MemberResult(Member member, Solution solution, StopReason stopReason, int statesExamined, long timeMillis) {
+            this.member = member;
+            this.solution = solution;
+            this.stopReason = stopReason;
+            this.statesExamined = statesExamined;
+            this.timeMillis = timeMillis;
+        }
+
+        public String getName() { return member.getName(); }
+        public boolean isOptimal() { return member.optimal; }
+        public Solution getSolution() { return solution; }
+        public StopReason getStopReason() { return stopReason; }
+        public int getStatesExamined() { return statesExamined; }
+        public long getTimeMillis() { return timeMillis; }
+
+        @Override
+        public String toString() {
+            return getName() + ": " + (solution != null ? solution.getMoves().size() + " moves" : stopReason.describe())
+                + ", " + statesExamined + " states, " + timeMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package cli;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A single file holding many puzzles, read through one memory mapping instead of
+ * opening every puzzle file separately.
+ *
+ * Two formats are supported:
+ * - Text pack (.pack): every puzzle is preceded by a header line "--- name" and
+ *   written exactly as it would appear in its own .txt file.
+ * - Binary pack (.rhpk): magic "RHPK", a version, the puzzle count and a fixed-size
+ *   index of (name offset, name length, data offset, data length) records, followed
+ *   by the names and puzzle texts. All numbers are big-endian ints.
+ *
+ * Puzzle texts are handed to FileParser as slices of the mapping, so nothing is
+ * copied until a puzzle is actually parsed.
+ */
+public class PuzzlePack implements Iterable<PuzzlePack.Entry> {
+    public static final String TEXT_EXTENSION = ".pack";
+    public static final String BINARY_EXTENSION = ".rhpk";
+    static final String ENTRY_HEADER = "--- ";
+
+    private static final byte[] MAGIC = {'R', 'H', 'P', 'K'};
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int INDEX_ENTRY_SIZE = 16;
+
+    private final Path path;
+    private final List<Entry> entries;
+
+    private PuzzlePack(Path path, List<Entry> entries) {
+        this.path = path;
+        this.entries = entries;
+    }
+
+    /**
+     * Map a pack file; the format is detected from its first bytes
+     */
+    public static PuzzlePack open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Puzzle pack is too large to map: " + path);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        List<Entry> entries = isBinary(mapped) ? readBinaryIndex(path, mapped) : scanTextPack(path, mapped);
+        return new PuzzlePack(path, entries);
+    }
+
+    /**
+     * Whether a path names a pack rather than a single puzzle file
+     */
+    public static boolean isPackPath(Path path) {
+        return isPackName(path.getFileName().toString());
+    }
+
+    public static boolean isPackName(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(TEXT_EXTENSION) || name.endsWith(BINARY_EXTENSION);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Entry get(int index) {
+        return entries.get(index);
+    }
+
+    @Override
+    public Iterator<Entry> iterator() {
+        return Collections.unmodifiableList(entries).iterator();
+    }
+
+    /**
+     * One puzzle inside a pack
+     */
+    public static class Entry {
+        private final ByteBuffer source;
+        private final String name;
+        private final int offset;
+        private final int length;
+
+        Entry(ByteBuffer source, String name, int offset, int length) {
+            this.source = source;
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Read-only view of the puzzle text in the mapping
+         */
+        public ByteBuffer getData() {
+            ByteBuffer view = source.duplicate();
+            view.limit(offset + length).position(offset);
+            return view.slice().asReadOnlyBuffer();
+        }
+
+        public String getText() {
+            return StandardCharsets.UTF_8.decode(getData()).toString();
+        }
+
+        /**
+         * Parse the puzzle with the same rules used for single puzzle files
+         */
+        public Board load() throws IOException {
+            return Board.parse(getData());
+        }
+    }
+
+    private static boolean isBinary(ByteBuffer buffer) {
+        if (buffer.limit() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Entry> readBinaryIndex(Path path, ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.limit() < HEADER_SIZE) {
+            throw new IOException("Truncated puzzle pack header: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported puzzle pack version " + version + ": " + path);
+        }
+        int count = buffer.getInt(8);
+        if (count < 0 || HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE > buffer.limit()) {
+            throw new IOException("Corrupt puzzle pack index: " + path);
+        }
+
+        // The index is only read once; entries keep offsets into the mapping
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            int nameOffset = buffer.getInt(base);
+            int nameLength = buffer.getInt(base + 4);
+            int dataOffset = buffer.getInt(base + 8);
+            int dataLength = buffer.getInt(base + 12);
+            if (!inBounds(buffer, nameOffset, nameLength) || !inBounds(buffer, dataOffset, dataLength)) {
+                throw new IOException("Puzzle pack entry " + i + " points outside the file: " + path);
+            }
+            entries.add(new Entry(buffer, decode(buffer, nameOffset, nameLength), dataOffset, dataLength));
+        }
+        return entries;
+    }
+
+    private static List<Entry> scanTextPack(Path path, ByteBuffer buffer) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        byte[] header = ENTRY_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+        String currentName = null;
+        int currentStart = 0;
+        int lineNumber = 0;
+        int position = 0;
+        int limit = buffer.limit();
+
+        // One pass over the bytes, cutting the mapping at every header line
+        while (position < limit) {
+            int lineStart = position;
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+            int lineEnd = position;
+            if (position < limit) {
+                position++;
+            }
+            lineNumber++;
+
+            if (startsWith(buffer, lineStart, lineEnd, header)) {
+                if (currentName != null) {
+                    entries.add(new Entry(buffer, currentName, currentStart, lineStart - currentStart));
+                }
+                currentName = decode(buffer, lineStart + header.length, lineEnd - lineStart - header.length).trim();
+                currentStart = position;
+            } else if (currentName == null && !isBlank(buffer, lineStart, lineEnd)) {
+                throw new IOException("Puzzle pack line " + lineNumber + " is outside any puzzle; expected a \""
+                                      + ENTRY_HEADER + "name\" header: " + path);
+            }
+        }
+        if (currentName != null) {
+            entries.add(new Entry(buffer, currentName, currentStart, limit - currentStart));
+        }
+        return entries;
+    }
+
+    /**
+     * Write puzzles as a text pack
+     */
+    public static void writeText(Path output, Map<String, byte[]> puzzles) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            for (Map.Entry<String, byte[]> puzzle : puzzles.entrySet()) {
+                out.write((ENTRY_HEADER + puzzle.getKey() + "\n").getBytes(StandardCharsets.UTF_8));
+                byte[] text = puzzle.getValue();
+                out.write(text);
+                if (text.length > 0 && text[text.length - 1] != '\n') {
+                    out.write('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Write puzzles as a binary pack with an offset index
+     */
+    public static void writeBinary(Path output, Map<String, byte[]> puzzles) throws IOException {
+        int count = puzzles.size();
+        List<byte[]> names = new ArrayList<>(count);
+        long total = HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE;
+        for (Map.Entry<String, byte[]> puzzle : puzzles.entrySet()) {
+            byte[] name = puzzle.getKey().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            total += name.length + puzzle.getValue().length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Puzzle pack would exceed 2 GB; split the input into several packs");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) total).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(MAGIC).putInt(VERSION).putInt(count);
+
+        int cursor = HEADER_SIZE + count * INDEX_ENTRY_SIZE;
+        int i = 0;
+        for (byte[] text : puzzles.values()) {
+            byte[] name = names.get(i++);
+            buffer.putInt(cursor).putInt(name.length).putInt(cursor + name.length).putInt(text.length);
+            cursor += name.length + text.length;
+        }
+        i = 0;
+        for (byte[] text : puzzles.values()) {
+            buffer.put(names.get(i++)).put(text);
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static boolean inBounds(ByteBuffer buffer, int offset, int length) {
+        return offset >= 0 && length >= 0 && (long) offset + length <= buffer.limit();
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(offset + length).position(offset);
+        return StandardCharsets.UTF_8.decode(view).toString();
+    }
+}
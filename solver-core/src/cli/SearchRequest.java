@@ -0,0 +1,64 @@
+package cli;
+
+import java.util.function.Consumer;
+
+/**
+ * One search to run with Solver.solve(SearchRequest): the board, the algorithm and its settings.
+ * Options left unset fall back to the solver's own.
+ */
+public class SearchRequest {
+    private final String algorithm;
+    private final Board board;
+    private final String heuristic;
+    private final boolean isCompound;
+
+    private SolveOptions options = null;
+    private SolutionListener listener = null;
+    private Consumer<String> log = null;
+
+    /**
+     * @param algorithm One of ucs, greedy, astar, ara, dijkstra, beam, ida, extbfs
+     * @param heuristic Heuristic name, ignored by algorithms without one
+     */
+    public SearchRequest(String algorithm, Board board, String heuristic, boolean isCompound) {
+        if (algorithm == null || board == null) {
+            throw new IllegalArgumentException("A search needs an algorithm and a board");
+        }
+        this.algorithm = algorithm;
+        this.board = board;
+        this.heuristic = heuristic;
+        this.isCompound = isCompound;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public Board getBoard() { return board; }
+    public String getHeuristic() { return heuristic; }
+    public boolean isCompound() { return isCompound; }
+    public SolveOptions getOptions() { return options; }
+    public SolutionListener getListener() { return listener; }
+    public Consumer<String> getLog() { return log; }
+
+    /**
+     * Budgets for this search only, instead of the solver's
+     */
+    public SearchRequest setOptions(SolveOptions options) {
+        this.options = options;
+        return this;
+    }
+
+    /**
+     * Receive each improved solution of an ARA* search while it runs
+     */
+    public SearchRequest setListener(SolutionListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Receive the search's progress messages; without one the search runs silently
+     */
+    public SearchRequest setLog(Consumer<String> log) {
+        this.log = log;
+        return this;
+    }
+}
@@ -0,0 +1,57 @@
+package cli;
+
+/**
+ * Immutable outcome of one Solver.solve(SearchRequest) call: the solution if one was found,
+ * and the statistics of the search that produced it
+ */
+public final class SearchResult {
+    private final String algorithm;
+    private final Solution solution;
+    private final StopReason stopReason;
+    private final int nodesExamined;
+    private final Solution partialSolution;
+    private final String unsolvableReason;
+    private final long peakMemoryBytes;
+    private final long elapsedMillis;
+
+    SearchResult(String algorithm, Solution solution, StopReason stopReason, int nodesExamined,
+                 Solution partialSolution, String unsolvableReason, long peakMemoryBytes, long elapsedMillis) {
+        this.algorithm = algorithm;
+        this.solution = solution;
+        this.stopReason = stopReason;
+        this.nodesExamined = nodesExamined;
+        this.partialSolution = partialSolution;
+        this.unsolvableReason = unsolvableReason;
+        this.peakMemoryBytes = peakMemoryBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getAlgorithm() { return algorithm; }
+
+    /**
+     * The solution, or null when the search stopped without one
+     */
+    public Solution getSolution() { return solution; }
+    public StopReason getStopReason() { return stopReason; }
+    public int getNodesExamined() { return nodesExamined; }
+
+    /**
+     * Path to the most promising state reached when a budget stopped the search, or null
+     */
+    public Solution getPartialSolution() { return partialSolution; }
+
+    /**
+     * Why the board was proven unsolvable before searching, or null
+     */
+    public String getUnsolvableReason() { return unsolvableReason; }
+
+    /**
+     * Peak estimated heap retained by the search, 0 for the external-memory search
+     */
+    public long getPeakMemoryBytes() { return peakMemoryBytes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public boolean isSolved() {
+        return solution != null;
+    }
+}
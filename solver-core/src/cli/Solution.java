@@ -0,0 +1,39 @@
+package cli;
+
+import java.util.*;
+
+/**
+ * Solution class with improved visualization showing primary piece next to exit
+ */
+public class Solution {
+    private List<Move> moves;
+    private List<Board> states;
+    private int statesExamined;
+    private StopReason stopReason;
+    
+    public Solution(List<Move> moves, List<Board> states, int statesExamined) {
+        this(moves, states, statesExamined, StopReason.SOLVED);
+    }
+    
+    /**
+     * Create a solution, or a partial path when the search stopped before reaching the goal
+     */
+    public Solution(List<Move> moves, List<Board> states, int statesExamined, StopReason stopReason) {
+        this.moves = moves;
+        this.states = states;
+        this.statesExamined = statesExamined;
+        this.stopReason = stopReason;
+    }
+    
+    public List<Move> getMoves() { return moves; }
+    public List<Board> getStates() { return states; }
+    public int getStatesExamined() { return statesExamined; }
+    public StopReason getStopReason() { return stopReason; }
+    
+    /**
+     * Check whether this path ends in a solved state
+     */
+    public boolean isComplete() {
+        return stopReason == StopReason.SOLVED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package cli;
+
+/**
+ * Receives the solutions an anytime search finds while it keeps improving them
+ */
+public interface SolutionListener {
+    /**
+     * Called each time a better solution is found
+     * @param solution The improved solution
+     * @param suboptimalityBound Upper bound on solution length divided by the optimal length
+     *                           (1.0 means proven optimal when the heuristic is admissible)
+     */
+    void onSolution(Solution solution, double suboptimalityBound);
+}
@@ -0,0 +1,252 @@
+package cli;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortens solutions found by non-optimal searches such as Greedy and Beam.
+ * The path is improved in passes until none of them finds anything:
+ * - repeated states are cut out, which also drops moves that cancel each other
+ * - with compound moves, consecutive slides of the same piece become one slide
+ * - a short breadth-first search from each state looks for a quicker way to a later state of the path
+ */
+public class SolutionOptimizer {
+    public static final int DEFAULT_WINDOW_DEPTH = 3;
+    public static final int DEFAULT_WINDOW_NODE_LIMIT = 2000;
+
+    private final Solver solver;
+    private final boolean isCompound;
+    private final int windowDepth;
+    private final int windowNodeLimit;
+
+    public SolutionOptimizer(Solver solver, boolean isCompound) {
+        this(solver, isCompound, DEFAULT_WINDOW_DEPTH, DEFAULT_WINDOW_NODE_LIMIT);
+    }
+
+    /**
+     * @param windowDepth Maximum number of moves in a replacement segment
+     * @param windowNodeLimit Maximum number of states generated by one local search
+     */
+    public SolutionOptimizer(Solver solver, boolean isCompound, int windowDepth, int windowNodeLimit) {
+        this.solver = solver;
+        this.isCompound = isCompound;
+        this.windowDepth = windowDepth;
+        this.windowNodeLimit = windowNodeLimit;
+    }
+
+    /**
+     * Return a solution reaching the same goal in at most as many moves
+     */
+    public Solution optimize(Solution solution) {
+        if (solution == null || !solution.isComplete() || solution.getMoves().size() < 2) {
+            return solution;
+        }
+
+        List<Board> states = new ArrayList<>(solution.getStates());
+        List<Move> moves = new ArrayList<>(solution.getMoves());
+
+        boolean improved = true;
+        while (improved) {
+            int before = moves.size();
+            shortcutLoops(states, moves);
+            if (isCompound) {
+                mergeSlides(states, moves);
+            }
+            spliceShorterSegments(states, moves);
+            improved = moves.size() < before;
+        }
+
+        // Replay the moves so every state matches the move that produced it
+        List<Board> replayed = new ArrayList<>();
+        Board board = states.get(0);
+        replayed.add(board);
+        for (Move move : moves) {
+            board = solver.makeCompoundMove(board, asCompound(move));
+            replayed.add(board);
+        }
+        if (!board.isSolved()) {
+            return solution; // Never trade a valid solution for a broken one
+        }
+
+        return new Solution(moves, replayed, solution.getStatesExamined(), solution.getStopReason());
+    }
+
+    /**
+     * Jump from every state straight to its last occurrence in the path
+     */
+    private void shortcutLoops(List<Board> states, List<Move> moves) {
+        Map<String, Integer> lastIndex = new HashMap<>();
+        for (int i = 0; i < states.size(); i++) {
+            lastIndex.put(states.get(i).getStateString(), i);
+        }
+
+        List<Board> newStates = new ArrayList<>();
+        List<Move> newMoves = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            i = lastIndex.get(states.get(i).getStateString());
+            newStates.add(states.get(i));
+            if (i >= moves.size()) {
+                break;
+            }
+            newMoves.add(moves.get(i));
+            i++;
+        }
+
+        replace(states, newStates);
+        replace(moves, newMoves);
+    }
+
+    /**
+     * Combine consecutive slides of the same piece into a single slide by the net distance
+     */
+    private void mergeSlides(List<Board> states, List<Move> moves) {
+        int k = 0;
+        while (k + 1 < moves.size()) {
+            Move first = moves.get(k);
+            Move second = moves.get(k + 1);
+            if (first.getPiece().getId() != second.getPiece().getId()) {
+                k++;
+                continue;
+            }
+
+            int net = first.getDirectionValue() * distanceOf(first) + second.getDirectionValue() * distanceOf(second);
+            states.remove(k + 1);
+            moves.remove(k + 1);
+            if (net == 0) {
+                // The two slides cancel out
+                states.remove(k + 1);
+                moves.remove(k);
+            } else {
+                Piece piece = states.get(k).getPieceById(first.getPiece().getId());
+                moves.set(k, new CompoundMove(piece, directionFor(piece, net), Math.abs(net)));
+            }
+            k = Math.max(0, k - 1);
+        }
+    }
+
+    /**
+     * Search a few moves ahead of each state for a shorter way to a later state and splice it in
+     */
+    private void spliceShorterSegments(List<Board> states, List<Move> moves) {
+        Map<String, Integer> pathIndex = indexStates(states);
+
+        for (int i = 0; i + 2 < states.size(); i++) {
+            List<Move> shortcut = new ArrayList<>();
+            int target = findShortcut(states, pathIndex, i, shortcut);
+            if (target < 0) {
+                continue;
+            }
+
+            // Replace moves i..target-1 with the shortcut
+            List<Board> segment = new ArrayList<>();
+            Board board = states.get(i);
+            for (Move move : shortcut) {
+                board = solver.makeCompoundMove(board, asCompound(move));
+                segment.add(board);
+            }
+            segment.remove(segment.size() - 1);
+            states.subList(i + 1, target).clear();
+            states.addAll(i + 1, segment);
+            moves.subList(i, target).clear();
+            moves.addAll(i, shortcut);
+
+            pathIndex = indexStates(states);
+            i--; // Look for another shortcut from the same state
+        }
+    }
+
+    /**
+     * Bounded breadth-first search from states[start]
+     * @param shortcut Receives the moves of the best shortcut found
+     * @return Index of the path state the shortcut reaches, or -1 if nothing shorter was found
+     */
+    private int findShortcut(List<Board> states, Map<String, Integer> pathIndex, int start, List<Move> shortcut) {
+        Map<String, Step> reached = new HashMap<>();
+        ArrayDeque<Step> queue = new ArrayDeque<>();
+        Step root = new Step(states.get(start), null, null, 0);
+        reached.put(root.board.getStateString(), root);
+        queue.add(root);
+
+        Step best = null;
+        int bestTarget = -1;
+        int bestGain = 0;
+
+        while (!queue.isEmpty() && reached.size() < windowNodeLimit) {
+            Step current = queue.poll();
+            if (current.depth >= windowDepth) {
+                continue;
+            }
+            for (CompoundMove move : solver.generateCompoundMoves(current.board, isCompound)) {
+                Board next = solver.makeCompoundMove(current.board, move);
+                String key = next.getStateString();
+                if (reached.containsKey(key)) {
+                    continue;
+                }
+                Step step = new Step(next, move, current, current.depth + 1);
+                reached.put(key, step);
+                queue.add(step);
+
+                Integer index = pathIndex.get(key);
+                if (index != null && index - start - step.depth > bestGain) {
+                    bestGain = index - start - step.depth;
+                    best = step;
+                    bestTarget = index;
+                }
+            }
+        }
+
+        if (best == null) {
+            return -1;
+        }
+        for (Step step = best; step.move != null; step = step.parent) {
+            shortcut.add(0, step.move);
+        }
+        return bestTarget;
+    }
+
+    private static Map<String, Integer> indexStates(List<Board> states) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < states.size(); i++) {
+            index.put(states.get(i).getStateString(), i);
+        }
+        return index;
+    }
+
+    private static int distanceOf(Move move) {
+        return move instanceof CompoundMove ? ((CompoundMove) move).getDistance() : 1;
+    }
+
+    private static CompoundMove asCompound(Move move) {
+        return move instanceof CompoundMove ? (CompoundMove) move : new CompoundMove(move.getPiece(), move.getDirection(), 1);
+    }
+
+    private static String directionFor(Piece piece, int net) {
+        if (piece.getOrientation() == Orientation.HORIZONTAL) {
+            return net > 0 ? "right" : "left";
+        }
+        return net > 0 ? "down" : "up";
+    }
+
+    private static <T> void replace(List<T> target, List<T> source) {
+        target.clear();
+        target.addAll(source);
+    }
+
+    private static class Step {
+        final Board board;
+        final Move move;
+        final Step parent;
+        final int depth;
+
+        Step(Board board, Move move, Step parent, int depth) {
+            this.board = board;
+            this.move = move;
+            this.parent = parent;
+            this.depth = depth;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a solution to a file in the "=== Rush Hour Solution ===" text format shared by the CLI and GUI.
+ * Boards are not taken from the solution's state list: the writer replays the moves from the
+ * initial board and renders each state into the same character buffer, which is encoded
+ * through a fixed byte buffer into a file channel. Memory use does not depend on solution length.
+ * Compact mode writes only the header and the move sequence; gzip compresses the whole file.
+ */
+public class SolutionWriter implements Closeable {
+    public static final String TITLE = "=== Rush Hour Solution ===";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MOVES_PER_LINE = 16;
+
+    private final WritableByteChannel channel;
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 2);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final Solver replayer = new Solver();
+    private boolean compact = false;
+
+    /**
+     * Open a file for writing, replacing any existing content
+     * @param gzip Compress the output with gzip
+     */
+    public SolutionWriter(Path path, boolean gzip) throws IOException {
+        if (gzip) {
+            OutputStream out = new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+            this.channel = Channels.newChannel(out);
+        } else {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    /**
+     * Write to an existing channel, which is closed together with this writer
+     */
+    public SolutionWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Write only the header and the move sequence, without boards
+     */
+    public SolutionWriter setCompact(boolean compact) {
+        this.compact = compact;
+        return this;
+    }
+
+    /**
+     * Whether a file name asks for gzip output
+     */
+    public static boolean isGzipPath(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(".gz");
+    }
+
+    /**
+     * Write a complete solution file
+     * @param headerLines Lines written under the title, such as algorithm and statistics
+     */
+    public static void save(Path path, List<String> headerLines, Board initialBoard, List<Move> moves,
+                            boolean compact) throws IOException {
+        try (SolutionWriter writer = new SolutionWriter(path, isGzipPath(path))) {
+            writer.setCompact(compact);
+            writer.writeHeader(headerLines);
+            writer.writeSolution(initialBoard, moves);
+        }
+    }
+
+    /**
+     * Write the title, the given lines and a blank line
+     */
+    public void writeHeader(List<String> headerLines) throws IOException {
+        line(TITLE);
+        for (String headerLine : headerLines) {
+            line(headerLine);
+        }
+        newLine();
+    }
+
+    /**
+     * Write the move sequence, then every state from the initial board to the exit
+     */
+    public void writeSolution(Board initialBoard, List<Move> moves) throws IOException {
+        line("Move sequence:");
+        writeMoveSequence(moves);
+        newLine();
+        if (compact) {
+            return;
+        }
+
+        newLine();
+        line("Papan Awal");
+        writeBoard(initialBoard, false);
+
+        Board board = initialBoard;
+        for (int i = 0; i < moves.size(); i++) {
+            Move move = moves.get(i);
+            board = move instanceof CompoundMove
+                ? replayer.makeCompoundMove(board, (CompoundMove) move)
+                : board.makeMove(move);
+
+            newLine();
+            append("Gerakan ").append(Integer.toString(i + 1)).append(": ").append(move.toString());
+            newLine();
+            writeBoard(board, i == moves.size() - 1);
+        }
+
+        newLine();
+        line("[Primary piece has reached the exit!]");
+    }
+
+    /**
+     * Write the initial board of a puzzle without solution, followed by a message
+     */
+    public void writeNoSolution(Board board, String message) throws IOException {
+        line("Papan Awal");
+        writeBoard(board, false);
+        newLine();
+        line("[" + message + "]");
+    }
+
+    private void writeMoveSequence(List<Move> moves) throws IOException {
+        int count = 0;
+        for (Move move : moves) {
+            append(move.toString()).append(" ");
+            count++;
+            if (count % MOVES_PER_LINE == 0) {
+                newLine();
+            }
+        }
+        append("(").append(Integer.toString(moves.size())).append(" moves)");
+    }
+
+    /**
+     * Render a board with its exit marker. The final board shows P outside, next to K.
+     */
+    private void writeBoard(Board board, boolean exited) throws IOException {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        Exit exitSide = board.getExitSide();
+        Position exitPosition = board.getExitPosition();
+        String marker = exited ? "KP" : "K";
+
+        if (exitSide == Exit.TOP) {
+            writeExitRow(width, exitPosition.col, marker);
+        }
+
+        for (int i = 0; i < height; i++) {
+            if (exitSide == Exit.LEFT && i == exitPosition.row) {
+                append(exited ? "PK" : "K");
+            }
+            reserve(width);
+            for (int j = 0; j < width; j++) {
+                char c = board.getGridAt(i, j);
+                chars.put(exited && c == 'P' ? '.' : c);
+            }
+            if (exitSide == Exit.RIGHT && i == exitPosition.row) {
+                append(marker);
+            }
+            newLine();
+        }
+
+        if (exitSide == Exit.BOTTOM) {
+            writeExitRow(width, exitPosition.col, marker);
+        }
+    }
+
+    private void writeExitRow(int width, int exitCol, String marker) throws IOException {
+        for (int j = 0; j < width; j++) {
+            if (j == exitCol) {
+                append(marker);
+                j += marker.length() - 1; // The marker may take two columns
+            } else {
+                append(" ");
+            }
+        }
+        newLine();
+    }
+
+    private SolutionWriter append(String text) throws IOException {
+        int offset = 0;
+        while (offset < text.length()) {
+            if (!chars.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(chars.remaining(), text.length() - offset);
+            chars.put(text, offset, offset + count);
+            offset += count;
+        }
+        return this;
+    }
+
+    private void line(String text) throws IOException {
+        append(text);
+        newLine();
+    }
+
+    private void newLine() throws IOException {
+        reserve(1);
+        chars.put('\n');
+    }
+
+    /**
+     * Make room for a run of characters written directly into the buffer
+     */
+    private void reserve(int count) throws IOException {
+        if (chars.remaining() < count) {
+            drain();
+        }
+    }
+
+    /**
+     * Encode buffered characters and write the bytes to the channel
+     */
+    private void drain() throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, false);
+            writeBytes();
+            if (result.isUnderflow()) {
+                break;
+            }
+        }
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            chars.flip();
+            encoder.encode(chars, bytes, true);
+            encoder.flush(bytes);
+            writeBytes();
+        } finally {
+            channel.close();
+        }
+    }
+}
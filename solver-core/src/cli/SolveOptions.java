@@ -0,0 +1,200 @@
+package cli;
+
+/**
+ * Budgets and tuning knobs applied to a single solve call.
+ * A budget value of 0 means the corresponding budget is not enforced.
+ */
+public class SolveOptions {
+    public static final int DEFAULT_BEAM_WIDTH = 50;
+    // Widest beam ever used, also after restarts and adaptive widening; a layer holds a board per state
+    public static final int MAX_BEAM_WIDTH = 1 << 20;
+    public static final double DEFAULT_ARA_WEIGHT = 3.0;
+    public static final double DEFAULT_ARA_WEIGHT_STEP = 0.5;
+
+    private long timeLimitMillis;
+    private long maxNodes;
+    private long maxMemoryBytes;
+
+    // Beam search tuning
+    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    private boolean adaptiveBeam = false;
+    private boolean beamRestarts = true;
+    private boolean parallelExpansion = true;
+
+    // Anytime weighted A* schedule
+    private double araInitialWeight = DEFAULT_ARA_WEIGHT;
+    private double araWeightStep = DEFAULT_ARA_WEIGHT_STEP;
+
+    // Skip all but one interleaving of commuting moves in UCS, A* and Dijkstra
+    private boolean partialOrderReduction = false;
+
+    // Shorten Greedy and Beam solutions with SolutionOptimizer
+    private boolean optimizeSolutions = false;
+
+    // Lets another thread stop the search, null when the search cannot be cancelled
+    private CancellationToken cancellationToken = null;
+
+    /**
+     * Create options without any budget
+     */
+    public SolveOptions() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Create options with explicit budgets
+     * @param timeLimitMillis Wall-clock limit in milliseconds
+     * @param maxNodes Maximum number of expanded states
+     * @param maxMemoryBytes Maximum estimated heap retained by the frontier and visited set
+     */
+    public SolveOptions(long timeLimitMillis, long maxNodes, long maxMemoryBytes) {
+        this.timeLimitMillis = Math.max(0, timeLimitMillis);
+        this.maxNodes = Math.max(0, maxNodes);
+        this.maxMemoryBytes = Math.max(0, maxMemoryBytes);
+    }
+
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+    public long getMaxNodes() { return maxNodes; }
+    public long getMaxMemoryBytes() { return maxMemoryBytes; }
+
+    public SolveOptions setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = Math.max(0, timeLimitMillis);
+        return this;
+    }
+
+    public SolveOptions setMaxNodes(long maxNodes) {
+        this.maxNodes = Math.max(0, maxNodes);
+        return this;
+    }
+
+    public SolveOptions setMaxMemoryBytes(long maxMemoryBytes) {
+        this.maxMemoryBytes = Math.max(0, maxMemoryBytes);
+        return this;
+    }
+
+    public int getBeamWidth() { return beamWidth; }
+    public boolean isAdaptiveBeam() { return adaptiveBeam; }
+    public boolean isBeamRestarts() { return beamRestarts; }
+    public boolean isParallelExpansion() { return parallelExpansion; }
+
+    /**
+     * Number of states kept per beam layer, between 1 and MAX_BEAM_WIDTH
+     */
+    public SolveOptions setBeamWidth(int beamWidth) {
+        if (beamWidth < 1 || beamWidth > MAX_BEAM_WIDTH) {
+            throw new IllegalArgumentException("Beam width must be between 1 and " + MAX_BEAM_WIDTH);
+        }
+        this.beamWidth = beamWidth;
+        return this;
+    }
+
+    /**
+     * Temporarily widen the beam while the best heuristic value stops improving
+     */
+    public SolveOptions setAdaptiveBeam(boolean adaptiveBeam) {
+        this.adaptiveBeam = adaptiveBeam;
+        return this;
+    }
+
+    /**
+     * Restart with a doubled width when the beam dies after pruning states, which makes beam search complete
+     */
+    public SolveOptions setBeamRestarts(boolean beamRestarts) {
+        this.beamRestarts = beamRestarts;
+        return this;
+    }
+
+    /**
+     * Expand the states of a beam layer on multiple threads
+     */
+    public SolveOptions setParallelExpansion(boolean parallelExpansion) {
+        this.parallelExpansion = parallelExpansion;
+        return this;
+    }
+
+    public double getAraInitialWeight() { return araInitialWeight; }
+    public double getAraWeightStep() { return araWeightStep; }
+
+    /**
+     * Heuristic weight of the first ARA* pass
+     */
+    public SolveOptions setAraInitialWeight(double araInitialWeight) {
+        if (araInitialWeight < 1.0) {
+            throw new IllegalArgumentException("ARA* weight must be at least 1");
+        }
+        this.araInitialWeight = araInitialWeight;
+        return this;
+    }
+
+    /**
+     * Amount the ARA* weight drops after each improved solution
+     */
+    public SolveOptions setAraWeightStep(double araWeightStep) {
+        if (araWeightStep <= 0) {
+            throw new IllegalArgumentException("ARA* weight step must be positive");
+        }
+        this.araWeightStep = araWeightStep;
+        return this;
+    }
+
+    public boolean isPartialOrderReduction() { return partialOrderReduction; }
+
+    public SolveOptions setPartialOrderReduction(boolean partialOrderReduction) {
+        this.partialOrderReduction = partialOrderReduction;
+        return this;
+    }
+
+    public boolean isOptimizeSolutions() { return optimizeSolutions; }
+
+    public SolveOptions setOptimizeSolutions(boolean optimizeSolutions) {
+        this.optimizeSolutions = optimizeSolutions;
+        return this;
+    }
+
+    public CancellationToken getCancellationToken() { return cancellationToken; }
+
+    public SolveOptions setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+        return this;
+    }
+
+    /**
+     * Check whether the search has been cancelled through its token
+     */
+    public boolean isCancelled() {
+        return cancellationToken != null && cancellationToken.isCancelled();
+    }
+
+    /**
+     * Independent copy of these options, sharing the cancellation token
+     */
+    public SolveOptions copy() {
+        SolveOptions copy = new SolveOptions(timeLimitMillis, maxNodes, maxMemoryBytes);
+        copy.beamWidth = beamWidth;
+        copy.adaptiveBeam = adaptiveBeam;
+        copy.beamRestarts = beamRestarts;
+        copy.parallelExpansion = parallelExpansion;
+        copy.araInitialWeight = araInitialWeight;
+        copy.araWeightStep = araWeightStep;
+        copy.partialOrderReduction = partialOrderReduction;
+        copy.optimizeSolutions = optimizeSolutions;
+        copy.cancellationToken = cancellationToken;
+        return copy;
+    }
+
+    /**
+     * Check whether any budget is set
+     */
+    public boolean hasLimits() {
+        return timeLimitMillis > 0 || maxNodes > 0 || maxMemoryBytes > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveOptions{timeLimitMillis=" + timeLimitMillis + ", maxNodes=" + maxNodes
+            + ", maxMemoryBytes=" + maxMemoryBytes + ", beamWidth=" + beamWidth + ", adaptiveBeam=" + adaptiveBeam
+            + ", beamRestarts=" + beamRestarts + ", parallelExpansion=" + parallelExpansion
+            + ", araInitialWeight=" + araInitialWeight + ", araWeightStep=" + araWeightStep
+            + ", partialOrderReduction=" + partialOrderReduction + ", optimizeSolutions=" + optimizeSolutions + "}";
+    }
+}
@@ -0,0 +1,1629 @@
+package cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Solver class implementing different pathfinding algorithms for the Rush Hour puzzle
+ * with support for compound moves (multi-cell movements in one direction count as one move)
+ * and tracking of examined node count
+ * solve(SearchRequest) is safe to call from many threads on one solver; the solve* methods and
+ * getLast* getters keep the state of the last search on the instance and are for one thread only.
+ */
+public class Solver {
+    
+    // Added to track nodes examined even when no solution is found
+    private int lastNodesExamined = 0;
+    
+    // Budgets (time, nodes, memory) applied to every solve call
+    private volatile SolveOptions options;
+    
+    // Why the last search stopped, and the best partial path when it was cut short
+    private StopReason lastStopReason = StopReason.EXHAUSTED;
+    private Solution lastPartialSolution = null;
+    private String lastUnsolvableReason = null;
+    
+    // Largest estimated heap held by the frontier and visited structures during the last search
+    private long lastPeakMemoryBytes = 0;
+    
+    // Adaptive beam: layers without heuristic progress before widening, and the widening cap
+    private static final int BEAM_PLATEAU_LAYERS = 3;
+    private static final int BEAM_MAX_WIDENING = 16;
+    
+    // Print search progress to standard output
+    private final Consumer<String> log;
+    
+    // IDA* transposition tables are large and fixed in size, so every thread keeps one to reuse
+    private static final ThreadLocal<TranspositionTable> IDA_TABLES =
+        ThreadLocal.withInitial(() -> new TranspositionTable(IDAContext.TABLE_BITS));
+    
+    public Solver() {
+        this(new SolveOptions());
+    }
+    
+    /**
+     * Create a solver that enforces the given budgets on every search
+     */
+    public Solver(SolveOptions options) {
+        this(options, null);
+    }
+    
+    private Solver(SolveOptions options, Consumer<String> log) {
+        this.options = options != null ? options : new SolveOptions();
+        this.log = log;
+    }
+    
+    public SolveOptions getOptions() {
+        return options;
+    }
+    
+    public void setOptions(SolveOptions options) {
+        this.options = options != null ? options : new SolveOptions();
+    }
+    
+    /**
+     * Run one search and return its solution and statistics in an immutable result
+     * Each call searches with a worker of its own and leaves this solver untouched, so a single
+     * solver can serve any number of threads at once without locking.
+     */
+    public SearchResult solve(SearchRequest request) {
+        SolveOptions callOptions = request.getOptions() != null ? request.getOptions() : options;
+        Solver worker = new Solver(callOptions, request.getLog());
+        
+        long startTime = System.nanoTime();
+        Solution solution = request.getAlgorithm().equals("ara") && request.getListener() != null
+            ? worker.solveARAStar(request.getBoard(), request.getHeuristic(), request.isCompound(), request.getListener())
+            : worker.solve(request.getAlgorithm(), request.getBoard(), request.getHeuristic(), request.isCompound());
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        
+        return new SearchResult(request.getAlgorithm(), solution, worker.lastStopReason, worker.lastNodesExamined,
+                                worker.lastPartialSolution, worker.lastUnsolvableReason, worker.lastPeakMemoryBytes,
+                                elapsedMillis);
+    }
+    
+    /**
+     * Get the number of states examined in the last solving attempt
+     * The getLast* methods describe the last solve* call made on this instance; a solver shared
+     * between threads should use solve(SearchRequest) instead.
+     */
+    public int getLastNodesExamined() {
+        return lastNodesExamined;
+    }
+    
+    /**
+     * Get the reason the last solving attempt stopped
+     */
+    public StopReason getLastStopReason() {
+        return lastStopReason;
+    }
+    
+    /**
+     * Get the reason the last board was proven unsolvable before searching, or null
+     */
+    public String getLastUnsolvableReason() {
+        return lastUnsolvableReason;
+    }
+    
+    /**
+     * Get the path to the most promising state reached when the last search hit a budget,
+     * or null if the search finished normally
+     */
+    public Solution getLastPartialSolution() {
+        return lastPartialSolution;
+    }
+    
+    /**
+     * Get the peak estimated heap retained by the last search, in bytes
+     * Uses the same per-state estimate as the memory budget; 0 for the external-memory search.
+     */
+    public long getLastPeakMemoryBytes() {
+        return lastPeakMemoryBytes;
+    }
+
+    private static class Result {
+        boolean found;
+        Node node;
+        int nextThreshold;
+        StopReason stopReason; // set when a budget aborted the iteration
+
+        Result(boolean found, Node node, int nextThreshold) {
+            this.found = found;
+            this.node = node;
+            this.nextThreshold = nextThreshold;
+        }
+        
+        Result(StopReason stopReason) {
+            this(false, null, Integer.MAX_VALUE);
+            this.stopReason = stopReason;
+        }
+    }
+    
+    /**
+     * Run the algorithm with the given key
+     * @param algorithm One of ucs, greedy, astar, ara, dijkstra, beam, ida, extbfs
+     */
+    public Solution solve(String algorithm, Board initialBoard, String heuristic, boolean isCompound) {
+        switch (algorithm) {
+            case "ucs": return solveUCS(initialBoard, isCompound);
+            case "greedy": return solveGreedy(initialBoard, heuristic, isCompound);
+            case "astar": return solveAStar(initialBoard, heuristic, isCompound);
+            case "ara": return solveARAStar(initialBoard, heuristic, isCompound);
+            case "dijkstra": return solveDijkstra(initialBoard, isCompound);
+            case "beam": return solveBeam(initialBoard, heuristic, isCompound);
+            case "ida": return solveIDAStar(initialBoard, heuristic, isCompound);
+            case "extbfs": return solveExternalBFS(initialBoard, isCompound);
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+    
+    /**
+     * UCS Implementation with compound moves
+     */
+    public Solution solveUCS(Board initialBoard, boolean isCompound) {
+        log("Searching for solution using UCS");
+        PriorityQueue<Node> frontier = new PriorityQueue<>(Comparator.comparingInt(n -> n.cost));
+        Set<String> visited = new HashSet<>();
+        PartialOrderReduction reduction = createReduction();
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        Node startNode = new Node(initialBoard, null, null, 0);
+        frontier.add(startNode);
+        
+        while (!frontier.isEmpty()) {
+            Node current = frontier.poll();
+            String stateString = current.board.getStateString();
+            
+            List<CompoundMove> compoundMoves;
+            if (visited.contains(stateString)) {
+                // Closed states are only expanded again for moves skipped by partial-order reduction
+                if (reduction == null || !reduction.mayReopen(stateString, current.cost, current.move)) {
+                    continue;
+                }
+                compoundMoves = reduction.reexpansion(stateString, current.cost, current.move,
+                    generateCompoundMoves(current.board, isCompound));
+            } else {
+                visited.add(stateString);
+                lastNodesExamined++; // Increment counter
+                budget.track(current);
+                
+                // Check if solved
+                if (current.board.isSolved()) {
+                    return finishSearch(current);
+                }
+                
+                // Generate compound moves (multi-cell movements)
+                compoundMoves = generateReducedMoves(current, stateString, isCompound, reduction);
+            }
+            
+            // Stop cleanly when a budget is exhausted
+            StopReason stop = budget.check(frontier.size() + visited.size());
+            if (stop != null) {
+                return stopSearch(budget, stop);
+            }
+            
+            for (CompoundMove move : compoundMoves) {
+                Board newBoard = makeCompoundMove(current.board, move);
+                String newStateString = newBoard.getStateString();
+                
+                int newCost = current.cost + 1; // Each compound move costs 1
+                if (!visited.contains(newStateString)) {
+                    if (reduction != null) {
+                        reduction.arrive(newStateString, newCost, move);
+                    }
+                    Node newNode = new Node(newBoard, move, current, newCost);
+                    frontier.add(newNode);
+                } else if (reduction != null && reduction.mayReopen(newStateString, newCost)) {
+                    frontier.add(new Node(newBoard, move, current, newCost));
+                }
+            }
+        }
+        
+        return exhaustSearch(); // No solution found, but lastNodesExamined has been updated
+    }
+    
+    /**
+     * A* Search Implementation with compound moves
+     */
+    public Solution solveAStar(Board initialBoard, String heuristic, boolean isCompound) {
+        log("Searching for solution using A* with heuristic: " + heuristic);
+        PriorityQueue<Node> frontier = new PriorityQueue<>(Comparator.comparingInt(n -> n.f));
+        Set<String> visited = new HashSet<>();
+        Map<String, Node> nodeMap = new HashMap<>();
+        PartialOrderReduction reduction = createReduction();
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        int h = calculateHeuristic(initialBoard, heuristic);
+        Node startNode = new Node(initialBoard, null, null, 0, h, h);
+        frontier.add(startNode);
+        nodeMap.put(initialBoard.getStateString(), startNode);
+        
+        while (!frontier.isEmpty()) {
+            Node current = frontier.poll();
+            String stateString = current.board.getStateString();
+            
+            List<CompoundMove> compoundMoves;
+            if (visited.contains(stateString)) {
+                // Closed states are only expanded again for moves skipped by partial-order reduction
+                if (reduction == null || !reduction.mayReopen(stateString, current.cost, current.move)) {
+                    continue;
+                }
+                compoundMoves = reduction.reexpansion(stateString, current.cost, current.move,
+                    generateCompoundMoves(current.board, isCompound));
+            } else {
+                visited.add(stateString);
+                lastNodesExamined++; // Increment counter
+                budget.track(current);
+                
+                // Check if solved
+                if (current.board.isSolved()) {
+                    return finishSearch(current);
+                }
+                
+                // Generate compound moves (multi-cell movements)
+                compoundMoves = generateReducedMoves(current, stateString, isCompound, reduction);
+            }
+            
+            // Stop cleanly when a budget is exhausted
+            StopReason stop = budget.check(frontier.size() + visited.size() + nodeMap.size());
+            if (stop != null) {
+                return stopSearch(budget, stop);
+            }
+            
+            for (CompoundMove move : compoundMoves) {
+                Board newBoard = makeCompoundMove(current.board, move);
+                String newStateString = newBoard.getStateString();
+                
+                int newG = current.cost + 1; // Each compound move costs 1
+                if (!visited.contains(newStateString)) {
+                    if (reduction != null) {
+                        reduction.arrive(newStateString, newG, move);
+                    }
+                    int newH = calculateHeuristic(newBoard, heuristic);
+                    int newF = newG + newH;
+                    
+                    if (!nodeMap.containsKey(newStateString) || nodeMap.get(newStateString).f > newF) {
+                        Node newNode = new Node(newBoard, move, current, newG, newH, newF);
+                        frontier.add(newNode);
+                        nodeMap.put(newStateString, newNode);
+                    }
+                } else if (reduction != null && reduction.mayReopen(newStateString, newG)) {
+                    // Same state at the same cost through a move that lets it offer its skipped moves
+                    Node closedNode = nodeMap.get(newStateString);
+                    frontier.add(new Node(newBoard, move, current, newG, closedNode.h, newG + closedNode.h));
+                }
+            }
+        }
+        
+        return exhaustSearch(); // No solution found, but lastNodesExamined has been updated
+    }
+    
+    public Solution solveARAStar(Board initialBoard, String heuristic, boolean isCompound) {
+        return solveARAStar(initialBoard, heuristic, isCompound, null);
+    }
+    
+    /**
+     * Anytime Repairing A* (ARA*) with compound moves.
+     * Starts as weighted A* with a large heuristic weight to find a solution quickly, then lowers the
+     * weight and repairs the previous search instead of starting over. Every improved solution is passed
+     * to the listener together with its suboptimality bound. When a budget (typically the time limit)
+     * runs out, the best solution found so far is returned.
+     */
+    public Solution solveARAStar(Board initialBoard, String heuristic, boolean isCompound, SolutionListener listener) {
+        log("Searching for solution using ARA* with heuristic: " + heuristic);
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        // Best node per state; nodes whose cost no longer matches are stale queue entries
+        Map<String, Node> bestNodes = new HashMap<>();
+        Set<String> closed = new HashSet<>();
+        List<Node> inconsistent = new ArrayList<>();
+        
+        double weight = options.getAraInitialWeight();
+        PriorityQueue<Node> open = createAraQueue(weight);
+        
+        int h = calculateHeuristic(initialBoard, heuristic);
+        Node startNode = new Node(initialBoard, null, null, 0, h, saturatedSum(0, h));
+        open.add(startNode);
+        bestNodes.put(initialBoard.getStateString(), startNode);
+        
+        if (initialBoard.isSolved()) {
+            lastNodesExamined++;
+            return finishSearch(startNode);
+        }
+        
+        Node incumbent = null;
+        Solution best = null;
+        
+        while (true) {
+            // ImprovePath: weighted A* that only re-opens states not yet expanded in this pass
+            while (!open.isEmpty()) {
+                Node current = open.peek();
+                if (incumbent != null && araKey(current, weight) >= incumbent.cost) {
+                    break;
+                }
+                open.poll();
+                
+                String stateString = current.board.getStateString();
+                if (bestNodes.get(stateString) != current || !closed.add(stateString)) {
+                    continue;
+                }
+                lastNodesExamined++;
+                budget.track(current);
+                
+                StopReason stop = budget.check(open.size() + bestNodes.size() + closed.size());
+                if (stop != null) {
+                    if (best != null) {
+                        lastStopReason = stop;
+                        log("Search stopped: " + stop.describe() + ", returning best solution so far");
+                        return best;
+                    }
+                    return stopSearch(budget, stop);
+                }
+                
+                for (CompoundMove move : generateCompoundMoves(current.board, isCompound)) {
+                    Board newBoard = makeCompoundMove(current.board, move);
+                    String newStateString = newBoard.getStateString();
+                    int newG = current.cost + 1;
+                    
+                    // A path this long cannot beat the incumbent
+                    if (incumbent != null && newG >= incumbent.cost) {
+                        continue;
+                    }
+                    
+                    Node known = bestNodes.get(newStateString);
+                    if (known != null && known.cost <= newG) {
+                        continue;
+                    }
+                    
+                    int newH = known != null ? known.h : calculateHeuristic(newBoard, heuristic);
+                    Node newNode = new Node(newBoard, move, current, newG, newH, saturatedSum(newG, newH));
+                    bestNodes.put(newStateString, newNode);
+                    
+                    if (newBoard.isSolved()) {
+                        incumbent = newNode;
+                    } else if (closed.contains(newStateString)) {
+                        inconsistent.add(newNode);
+                    } else {
+                        open.add(newNode);
+                    }
+                }
+            }
+            
+            if (incumbent == null) {
+                return exhaustSearch(); // No solution
+            }
+            
+            // Bound: incumbent cost over the smallest unweighted f still waiting to be expanded
+            double lowerBound = incumbent.cost;
+            for (Node node : open) {
+                if (bestNodes.get(node.board.getStateString()) == node) lowerBound = Math.min(lowerBound, node.f);
+            }
+            for (Node node : inconsistent) {
+                if (bestNodes.get(node.board.getStateString()) == node) lowerBound = Math.min(lowerBound, node.f);
+            }
+            double bound = lowerBound > 0 ? Math.min(weight, incumbent.cost / lowerBound) : weight;
+            bound = Math.max(1.0, bound);
+            
+            if (best == null || incumbent.cost < best.getMoves().size()) {
+                best = reconstructSolution(incumbent, lastNodesExamined);
+                log("ARA* solution: " + incumbent.cost + " moves, weight " + weight
+                    + ", suboptimality bound " + String.format("%.2f", bound));
+                if (listener != null) {
+                    listener.onSolution(best, bound);
+                }
+            }
+            
+            if (weight <= 1.0 || bound <= 1.0) {
+                lastStopReason = StopReason.SOLVED;
+                return best;
+            }
+            
+            // Lower the weight, move inconsistent states back to OPEN and reorder it for the new weight
+            weight = Math.max(1.0, weight - options.getAraWeightStep());
+            PriorityQueue<Node> reordered = createAraQueue(weight);
+            for (Node node : open) {
+                if (bestNodes.get(node.board.getStateString()) == node) reordered.add(node);
+            }
+            for (Node node : inconsistent) {
+                if (bestNodes.get(node.board.getStateString()) == node) reordered.add(node);
+            }
+            open = reordered;
+            inconsistent.clear();
+            closed.clear();
+        }
+    }
+    
+    private static PriorityQueue<Node> createAraQueue(double weight) {
+        return new PriorityQueue<>((a, b) -> {
+            int compare = Double.compare(araKey(a, weight), araKey(b, weight));
+            return compare != 0 ? compare : Integer.compare(a.h, b.h);
+        });
+    }
+    
+    /**
+     * Weighted priority g + w * h
+     */
+    private static double araKey(Node node, double weight) {
+        return node.h == Integer.MAX_VALUE ? Double.MAX_VALUE : node.cost + weight * node.h;
+    }
+    
+    /**
+     * Greedy Best First Search Implementation with compound moves
+     */
+    public Solution solveGreedy(Board initialBoard, String heuristic, boolean isCompound) {
+        log("Searching for solution using Greedy Best First Search with heuristic: " + heuristic);
+        PriorityQueue<Node> frontier = new PriorityQueue<>(Comparator.comparingInt(n -> n.h));
+        Set<String> visited = new HashSet<>();
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        int h = calculateHeuristic(initialBoard, heuristic);
+        Node startNode = new Node(initialBoard, null, null, 0, h, h);
+        frontier.add(startNode);
+        
+        while (!frontier.isEmpty()) {
+            Node current = frontier.poll();
+            String stateString = current.board.getStateString();
+            
+            if (visited.contains(stateString)) {
+                continue;
+            }
+            
+            visited.add(stateString);
+            lastNodesExamined++; // Increment counter
+            budget.track(current);
+            
+            // Check if solved
+            if (current.board.isSolved()) {
+                return optimizeIfEnabled(finishSearch(current), isCompound);
+            }
+            
+            // Stop cleanly when a budget is exhausted
+            StopReason stop = budget.check(frontier.size() + visited.size());
+            if (stop != null) {
+                return stopSearch(budget, stop);
+            }
+            
+            // Generate compound moves (multi-cell movements)
+            List<CompoundMove> compoundMoves = generateCompoundMoves(current.board, isCompound);
+            
+            for (CompoundMove move : compoundMoves) {
+                Board newBoard = makeCompoundMove(current.board, move);
+                String newStateString = newBoard.getStateString();
+                
+                if (!visited.contains(newStateString)) {
+                    int newH = calculateHeuristic(newBoard, heuristic);
+                    Node newNode = new Node(newBoard, move, current, current.cost + 1, newH, newH);
+                    frontier.add(newNode);
+                }
+            }
+        }
+        
+        return exhaustSearch(); // No solution found, but lastNodesExamined has been updated
+    }
+    
+    /**
+     * Dijkstra's algorithm implementation - similar to UCS but with different node mapping
+     */
+    public Solution solveDijkstra(Board initialBoard, boolean isCompound) {
+        log("Searching for solution using Dijkstra's algorithm");
+        PriorityQueue<Node> frontier = new PriorityQueue<>(Comparator.comparingInt(n -> n.cost));
+        Set<String> visited = new HashSet<>();
+        Map<String, Integer> costSoFar = new HashMap<>();
+        PartialOrderReduction reduction = createReduction();
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        Node startNode = new Node(initialBoard, null, null, 0);
+        frontier.add(startNode);
+        costSoFar.put(initialBoard.getStateString(), 0);
+        
+        while (!frontier.isEmpty()) {
+            Node current = frontier.poll();
+            String stateString = current.board.getStateString();
+            
+            List<CompoundMove> compoundMoves;
+            if (visited.contains(stateString)) {
+                // Closed states are only expanded again for moves skipped by partial-order reduction
+                if (reduction == null || !reduction.mayReopen(stateString, current.cost, current.move)) {
+                    continue;
+                }
+                compoundMoves = reduction.reexpansion(stateString, current.cost, current.move,
+                    generateCompoundMoves(current.board, isCompound));
+            } else {
+                visited.add(stateString);
+                lastNodesExamined++; // Increment counter
+                budget.track(current);
+                
+                // Check if solved
+                if (current.board.isSolved()) {
+                    return finishSearch(current);
+                }
+                
+                // Generate compound moves
+                compoundMoves = generateReducedMoves(current, stateString, isCompound, reduction);
+            }
+            
+            // Stop cleanly when a budget is exhausted
+            StopReason stop = budget.check(frontier.size() + visited.size() + costSoFar.size());
+            if (stop != null) {
+                return stopSearch(budget, stop);
+            }
+            
+            for (CompoundMove move : compoundMoves) {
+                Board newBoard = makeCompoundMove(current.board, move);
+                String newStateString = newBoard.getStateString();
+                
+                // For Dijkstra, treat all moves as cost 1
+                int newCost = current.cost + 1;
+                if (reduction != null && !visited.contains(newStateString)) {
+                    reduction.arrive(newStateString, newCost, move);
+                }
+                
+                if (!costSoFar.containsKey(newStateString) || newCost < costSoFar.get(newStateString)) {
+                    costSoFar.put(newStateString, newCost);
+                    Node newNode = new Node(newBoard, move, current, newCost);
+                    frontier.add(newNode);
+                } else if (reduction != null && reduction.mayReopen(newStateString, newCost)) {
+                    // Same state at the same cost through a move that lets it offer its skipped moves
+                    frontier.add(new Node(newBoard, move, current, newCost));
+                }
+            }
+        }
+        
+        return exhaustSearch(); // No solution found, but lastNodesExamined has been updated
+    }
+
+    public Solution solveBeam(Board initialBoard, String heuristic, boolean isCompound) {
+        log("Searching for solution using Beam Search with heuristic: " + heuristic);
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        int beamWidth = options.getBeamWidth();
+
+        while (true) {
+            BeamResult result = runBeam(initialBoard, heuristic, isCompound, beamWidth, budget);
+            if (result.solution != null || result.stopReason != null) {
+                return result.stopReason != null ? stopSearch(budget, result.stopReason) : optimizeIfEnabled(result.solution, isCompound);
+            }
+
+            // Nothing was pruned, so the beam covered the whole reachable space
+            if (!result.pruned || !options.isBeamRestarts()) {
+                return exhaustSearch(); // No solution found
+            }
+            // A restart at the same width would only repeat the same search
+            if (beamWidth >= SolveOptions.MAX_BEAM_WIDTH) {
+                log("Beam died at the maximum width " + beamWidth);
+                return exhaustSearch();
+            }
+
+            beamWidth = (int) Math.min(beamWidth * 2L, SolveOptions.MAX_BEAM_WIDTH);
+            log("Beam died, restarting with width " + beamWidth);
+        }
+    }
+
+    /**
+     * One beam search pass with a given base width
+     */
+    private BeamResult runBeam(Board initialBoard, String heuristic, boolean isCompound, int baseWidth, SearchBudget budget) {
+        // Layer states already ordered by heuristic value
+        List<Node> frontier = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        boolean pruned = false;
+
+        int h = calculateHeuristic(initialBoard, heuristic);
+        frontier.add(new Node(initialBoard, null, null, 0, h, h));
+
+        int width = baseWidth;
+        int bestH = h;
+        int plateauLayers = 0;
+
+        while (!frontier.isEmpty()) {
+            List<Node> layer = new ArrayList<>(frontier.size());
+
+            for (Node current : frontier) {
+                if (!visited.add(current.board.getStateString())) {
+                    continue;
+                }
+                lastNodesExamined++;
+                budget.track(current);
+
+                // Goal check
+                if (current.board.isSolved()) {
+                    return new BeamResult(finishSearch(current), null, pruned);
+                }
+
+                StopReason stop = budget.check(visited.size() + layer.size());
+                if (stop != null) {
+                    return new BeamResult(null, stop, pruned);
+                }
+                layer.add(current);
+            }
+
+            // Generate and score children; heuristics dominate the cost so this is what runs in parallel
+            List<List<Node>> children;
+            if (options.isParallelExpansion() && layer.size() > 1) {
+                children = layer.parallelStream()
+                    .map(node -> expandBeamNode(node, heuristic, isCompound))
+                    .collect(Collectors.toList());
+            } else {
+                children = new ArrayList<>(layer.size());
+                for (Node node : layer) {
+                    children.add(expandBeamNode(node, heuristic, isCompound));
+                }
+            }
+
+            // Keep the best `width` children in a bounded max-heap on h instead of sorting the full layer,
+            // sized by what the layer actually produced rather than by the width
+            int childCount = 0;
+            for (List<Node> nodes : children) {
+                childCount += nodes.size();
+            }
+            PriorityQueue<Node> best = new PriorityQueue<>(Math.max(1, Math.min(width, childCount)),
+                                                           (a, b) -> Integer.compare(b.h, a.h));
+            Set<String> queued = new HashSet<>();
+            for (List<Node> nodes : children) {
+                for (Node child : nodes) {
+                    String stateString = child.board.getStateString();
+                    if (visited.contains(stateString) || !queued.add(stateString)) {
+                        continue;
+                    }
+                    if (best.size() < width) {
+                        best.add(child);
+                    } else if (child.h < best.peek().h) {
+                        best.poll();
+                        best.add(child);
+                        pruned = true;
+                    } else {
+                        pruned = true;
+                    }
+                }
+            }
+
+            frontier = new ArrayList<>(best);
+            frontier.sort(Comparator.comparingInt(n -> n.h));
+
+            if (options.isAdaptiveBeam() && !frontier.isEmpty()) {
+                // Widen while stuck on a plateau, fall back to the base width on progress
+                int layerBest = frontier.get(0).h;
+                if (layerBest < bestH) {
+                    bestH = layerBest;
+                    plateauLayers = 0;
+                    width = baseWidth;
+                } else if (++plateauLayers >= BEAM_PLATEAU_LAYERS) {
+                    plateauLayers = 0;
+                    width = (int) Math.min(Math.min(width * 2L, (long) baseWidth * BEAM_MAX_WIDENING),
+                                           SolveOptions.MAX_BEAM_WIDTH);
+                }
+            }
+        }
+
+        return new BeamResult(null, null, pruned);
+    }
+
+    private List<Node> expandBeamNode(Node current, String heuristic, boolean isCompound) {
+        List<CompoundMove> compoundMoves = generateCompoundMoves(current.board, isCompound);
+        List<Node> nodes = new ArrayList<>(compoundMoves.size());
+        for (CompoundMove move : compoundMoves) {
+            Board newBoard = makeCompoundMove(current.board, move);
+            int newH = calculateHeuristic(newBoard, heuristic);
+            nodes.add(new Node(newBoard, move, current, current.cost + 1, newH, newH));
+        }
+        return nodes;
+    }
+
+    private static class BeamResult {
+        final Solution solution;
+        final StopReason stopReason;
+        final boolean pruned;
+
+        BeamResult(Solution solution, StopReason stopReason, boolean pruned) {
+            this.solution = solution;
+            this.stopReason = stopReason;
+            this.pruned = pruned;
+        }
+    }
+
+    public Solution solveIDAStar(Board initialBoard, String heuristic, boolean isCompound) {
+        // IDA* Search Implementation with compound moves
+        log("Searchinig for solution using IDA* with heuristic: " + heuristic);
+        SearchBudget budget = beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        
+        // Table, path set and history survive across iterations so later iterations mostly hit the cache
+        IDAContext context = new IDAContext(heuristic, isCompound, budget, takeIdaTable());
+
+        try {
+            int h = calculateHeuristic(initialBoard, heuristic);
+            Node root = new Node(initialBoard, null, null, 0, h, saturatedSum(0, h));
+            int threshold = root.f;
+
+            while (true) {
+                context.iteration++;
+                context.path.clear();
+                context.table.store(initialBoard.getStateHash(), 0, h, threshold, context.iteration);
+                
+                Result result = dfsIDA(root, threshold, context);
+                if (result.found) {
+                    return finishSearch(result.node);
+                }
+                if (result.stopReason != null) {
+                    return stopSearch(budget, result.stopReason);
+                }
+                if (result.nextThreshold == Integer.MAX_VALUE) {
+                    return exhaustSearch(); // No solution
+                }
+                log("IDA* iteration " + context.iteration + " done, table hits: "
+                    + context.table.getHits() + "/" + context.table.getProbes());
+                threshold = result.nextThreshold;
+            }
+        } finally {
+            IDA_TABLES.set(context.table);
+        }
+    }
+    
+    /**
+     * Take this thread's pooled IDA* table, or a new one if a search further up the stack holds it
+     */
+    private static TranspositionTable takeIdaTable() {
+        TranspositionTable table = IDA_TABLES.get();
+        if (table == null) {
+            return new TranspositionTable(IDAContext.TABLE_BITS);
+        }
+        IDA_TABLES.set(null);
+        table.clear();
+        return table;
+    }
+
+    private Result dfsIDA(Node current, int threshold, IDAContext context) {
+        lastNodesExamined++;
+        context.budget.track(current);
+        StopReason stop = context.budget.check(context.path.size());
+        if (stop != null) return new Result(stop);
+
+        if (current.f > threshold) return new Result(false, null, current.f);
+        if (current.board.isSolved()) return new Result(true, current, current.f);
+
+        long stateHash = current.board.getStateHash();
+        context.path.add(stateHash);
+
+        List<CompoundMove> moves = generateCompoundMoves(current.board, context.isCompound);
+        moves.sort((a, b) -> Integer.compare(context.history[historyIndex(b)], context.history[historyIndex(a)]));
+
+        int minThreshold = Integer.MAX_VALUE;
+        CompoundMove bestMove = null;
+        int newG = current.cost + 1;
+
+        for (CompoundMove move : moves) {
+            if (reversesPreviousMove(current.move, move, context.isCompound)) continue;
+            
+            Board newBoard = makeCompoundMove(current.board, move);
+            long newHash = newBoard.getStateHash();
+            if (context.path.contains(newHash)) continue;
+
+            int newH;
+            int slot = context.table.find(newHash);
+            if (slot != TranspositionTable.NOT_FOUND) {
+                // Reached more cheaply elsewhere, or already searched at this cost in this iteration
+                int knownG = context.table.getCost(slot);
+                if (newG > knownG) continue;
+                if (newG == knownG && context.table.getIteration(slot) == context.iteration) continue;
+                newH = context.table.getHeuristic(slot);
+            } else {
+                newH = calculateHeuristic(newBoard, context.heuristic);
+            }
+
+            int newF = saturatedSum(newG, newH);
+            if (newF <= threshold) {
+                context.table.store(newHash, newG, newH, threshold - newG, context.iteration);
+            }
+            
+            Node child = new Node(newBoard, move, current, newG, newH, newF);
+            Result result = dfsIDA(child, threshold, context);
+
+            if (result.found) {
+                context.history[historyIndex(move)] += threshold - current.cost;
+            }
+            if (result.found || result.stopReason != null) {
+                context.path.remove(stateHash);
+                return result;
+            }
+            if (result.nextThreshold < minThreshold) {
+                minThreshold = result.nextThreshold;
+                bestMove = move;
+            }
+        }
+
+        // Reward the move whose subtree came closest to the threshold
+        if (bestMove != null) {
+            context.history[historyIndex(bestMove)] += threshold - current.cost;
+        }
+
+        context.path.remove(stateHash);
+        return new Result(false, null, minThreshold);
+    }
+    
+    /**
+     * Check whether a move only undoes the previous one.
+     * With compound moves a piece always slides as far as it can, so sliding the same piece
+     * twice in a row either returns to the parent or reaches a sibling of the current node.
+     */
+    private boolean reversesPreviousMove(Move previous, Move move, boolean isCompound) {
+        if (previous == null || previous.getPiece().getId() != move.getPiece().getId()) {
+            return false;
+        }
+        return isCompound || previous.getDirectionValue() != move.getDirectionValue();
+    }
+    
+    /**
+     * Slot of a move in the history table: piece id and direction
+     */
+    private static int historyIndex(Move move) {
+        int direction;
+        switch (move.getDirection()) {
+            case "up": direction = 0; break;
+            case "down": direction = 1; break;
+            case "left": direction = 2; break;
+            default: direction = 3;
+        }
+        return (move.getPiece().getId() & 0x7F) * 4 + direction;
+    }
+    
+    /**
+     * g + h without overflowing when the heuristic reports an unreachable exit
+     */
+    private static int saturatedSum(int g, int h) {
+        return h == Integer.MAX_VALUE ? Integer.MAX_VALUE : g + h;
+    }
+    
+    /**
+     * State shared by every IDA* iteration of one search
+     */
+    private static class IDAContext {
+        // 2^19 entries, about 12 MB
+        private static final int TABLE_BITS = 19;
+        
+        final String heuristic;
+        final boolean isCompound;
+        final SearchBudget budget;
+        final TranspositionTable table;
+        final Set<Long> path = new HashSet<>();
+        final int[] history = new int[128 * 4];
+        int iteration = 0;
+        
+        IDAContext(String heuristic, boolean isCompound, SearchBudget budget, TranspositionTable table) {
+            this.heuristic = heuristic;
+            this.isCompound = isCompound;
+            this.budget = budget;
+            this.table = table;
+        }
+    }
+
+    /**
+     * External-memory breadth-first search: layers, duplicate detection and parent links
+     * live in memory-mapped files, so only the current run buffer stays on the heap
+     */
+    public Solution solveExternalBFS(Board initialBoard, boolean isCompound) {
+        log("Searching for solution using external-memory BFS");
+        beginSearch(initialBoard);
+        if (rejectUnsolvable(initialBoard)) return null;
+        ExternalMemoryBFS search = new ExternalMemoryBFS(this, options);
+        
+        try {
+            Solution solution = search.search(initialBoard, isCompound);
+            lastNodesExamined = (int) Math.min(Integer.MAX_VALUE, search.getNodesExamined());
+            lastStopReason = search.getStopReason();
+            lastPartialSolution = search.getPartialSolution();
+            return solution;
+        } catch (IOException e) {
+            throw new UncheckedIOException("External-memory BFS failed: " + e.getMessage(), e);
+        }
+    }
+
+    private List<CompoundMove> generateCompoundMoves(Board board) {
+        return generateCompoundMoves(board, true); // default isCompound = true
+    }
+    
+    /**
+     * Generate all possible compound moves (multi-cell movements) for a board
+     */
+    List<CompoundMove> generateCompoundMoves(Board board, boolean isCompound) {
+        List<CompoundMove> compoundMoves = new ArrayList<>();
+        
+        if (isCompound) {
+            for (Piece piece : board.getPieces()) {
+            // Try all possible moves for each piece
+                if (piece.getOrientation() == Orientation.HORIZONTAL) {
+                    // Try moving right
+                    int maxRight = findMaximumDistance(board, piece, "right");
+                    if (maxRight > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "right", maxRight));
+                    }
+                    
+                    // Try moving left
+                    int maxLeft = findMaximumDistance(board, piece, "left");
+                    if (maxLeft > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "left", maxLeft));
+                    }
+                } else {
+                    // Try moving down
+                    int maxDown = findMaximumDistance(board, piece, "down");
+                    if (maxDown > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "down", maxDown));
+                    }
+                    
+                    // Try moving up
+                    int maxUp = findMaximumDistance(board, piece, "up");
+                    if (maxUp > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "up", maxUp));
+                    }
+                }
+            }
+        }
+        else {
+            for (Piece piece : board.getPieces()) {
+            // Try all possible moves for each piece
+                if (piece.getOrientation() == Orientation.HORIZONTAL) {
+                    // Try moving right
+                    int maxRight = findMaximumDistance(board, piece, "right");
+                    if (maxRight > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "right", 1));
+                    }
+                    
+                    // Try moving left
+                    int maxLeft = findMaximumDistance(board, piece, "left");
+                    if (maxLeft > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "left", 1));
+                    }
+                } else {
+                    // Try moving down
+                    int maxDown = findMaximumDistance(board, piece, "down");
+                    if (maxDown > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "down", 1));
+                    }
+                    
+                    // Try moving up
+                    int maxUp = findMaximumDistance(board, piece, "up");
+                    if (maxUp > 0) {
+                        compoundMoves.add(new CompoundMove(piece, "up", 1));
+                    }
+                }
+            }
+        }
+        
+        return compoundMoves;
+    }
+    
+    /**
+     * Shorten a Greedy or Beam solution with SolutionOptimizer when the option is on
+     */
+    private Solution optimizeIfEnabled(Solution solution, boolean isCompound) {
+        if (!options.isOptimizeSolutions() || solution == null) {
+            return solution;
+        }
+        Solution optimized = new SolutionOptimizer(this, isCompound).optimize(solution);
+        log("Post-optimizer: " + solution.getMoves().size() + " -> " + optimized.getMoves().size() + " moves");
+        return optimized;
+    }
+    
+    /**
+     * Partial-order reduction state for one search, or null when the option is off
+     */
+    private PartialOrderReduction createReduction() {
+        return options.isPartialOrderReduction() ? new PartialOrderReduction() : null;
+    }
+    
+    /**
+     * Moves of a state being expanded for the first time, minus those skipped by partial-order reduction
+     */
+    private List<CompoundMove> generateReducedMoves(Node current, String stateString, boolean isCompound,
+                                                    PartialOrderReduction reduction) {
+        List<CompoundMove> compoundMoves = generateCompoundMoves(current.board, isCompound);
+        if (reduction == null) {
+            return compoundMoves;
+        }
+        return reduction.firstExpansion(stateString, current.cost, current.move, compoundMoves);
+    }
+    
+    /**
+     * Find the maximum distance a piece can move in a given direction
+     * Stop if primary piece reaches exit
+     */
+    private int findMaximumDistance(Board board, Piece piece, String direction) {
+        int distance = 0;
+        Board currentBoard = board;
+        boolean isPrimaryPiece = piece.getId() == 'P';
+        
+        // Keep moving until we can't move anymore
+        while (true) {
+            // Check if we can move one more step
+            List<Move> possibleMoves = currentBoard.getPossibleMoves();
+            boolean canMove = false;
+            
+            for (Move move : possibleMoves) {
+                if (move.getPiece().getId() == piece.getId() && move.getDirection().equals(direction)) {
+                    canMove = true;
+                    currentBoard = currentBoard.makeMove(move);
+                    distance++;
+                    
+                    // Check if primary piece has reached exit
+                    if (isPrimaryPiece && currentBoard.isSolved()) {
+                        return distance; // Stop at exit for primary piece
+                    }
+                    
+                    break;
+                }
+            }
+            
+            if (!canMove) {
+                break;
+            }
+        }
+        
+        return distance;
+    }
+    
+    /**
+     * Apply a compound move to a board with proper exit detection
+     */
+    Board makeCompoundMove(Board board, CompoundMove move) {
+        Board currentBoard = board;
+        String direction = move.getDirection();
+        char pieceId = move.getPiece().getId();
+        boolean isPrimaryPiece = pieceId == 'P';
+        
+        // Apply the move step by step
+        for (int i = 0; i < move.getDistance(); i++) {
+            // Find the piece in the current board
+            Piece targetPiece = null;
+            for (Piece p : currentBoard.getPieces()) {
+                if (p.getId() == pieceId) {
+                    targetPiece = p;
+                    break;
+                }
+            }
+            
+            if (targetPiece == null) {
+                break; // Piece not found (might happen if primary piece exits)
+            }
+            
+            // Create a simple move and apply it
+            Move simpleMove = new Move(targetPiece, direction);
+            Board nextBoard = currentBoard.makeMove(simpleMove);
+            
+            // Check if the primary piece has reached the exit
+            if (isPrimaryPiece && nextBoard.isSolved()) {
+                return nextBoard; // Stop movement once primary piece reaches exit
+            }
+            
+            currentBoard = nextBoard;
+        }
+        
+        return currentBoard;
+    }
+    
+    /**
+     * Pass a progress message to the caller's log, if the search was given one
+     */
+    void log(String message) {
+        if (log != null) {
+            log.accept(message);
+        }
+    }
+    
+    /**
+     * Reset per-search state and start the budget clock
+     */
+    private SearchBudget beginSearch(Board initialBoard) {
+        lastNodesExamined = 0;
+        lastStopReason = StopReason.EXHAUSTED;
+        lastPartialSolution = null;
+        lastUnsolvableReason = null;
+        lastPeakMemoryBytes = 0;
+        return new SearchBudget(initialBoard);
+    }
+    
+    /**
+     * Skip the search when the static analyzer proves the board unsolvable
+     * @return true if the search must not run
+     */
+    private boolean rejectUnsolvable(Board initialBoard) {
+        String reason = UnsolvabilityAnalyzer.findReason(initialBoard);
+        if (reason == null) {
+            return false;
+        }
+        lastStopReason = StopReason.UNSOLVABLE;
+        lastUnsolvableReason = reason;
+        log("Puzzle is unsolvable: " + reason);
+        return true;
+    }
+    
+    /**
+     * Record a successful search and build its solution
+     */
+    private Solution finishSearch(Node goalNode) {
+        lastStopReason = StopReason.SOLVED;
+        return reconstructSolution(goalNode, lastNodesExamined);
+    }
+    
+    /**
+     * Record a search that ran out of states without reaching the goal
+     */
+    private Solution exhaustSearch() {
+        lastStopReason = StopReason.EXHAUSTED;
+        return null;
+    }
+    
+    /**
+     * Record a search that was cut short by a budget, keeping the path to the best node as a partial result
+     */
+    private Solution stopSearch(SearchBudget budget, StopReason reason) {
+        lastStopReason = reason;
+        if (budget.bestNode != null) {
+            lastPartialSolution = reconstructSolution(budget.bestNode, lastNodesExamined, reason);
+        }
+        log("Search stopped: " + reason.describe() + " after " + lastNodesExamined + " states");
+        return null;
+    }
+    
+    /**
+     * Rough estimate of the heap retained per search state: the Board copy with its
+     * grid, pieces and positions, the search Node, and the state string kept for duplicate detection
+     */
+    static long estimateStateBytes(Board board) {
+        long cells = (long) board.getWidth() * board.getHeight();
+        long grid = 16 + board.getHeight() * (16L + 2L * board.getWidth());
+        long pieces = 40;
+        for (Piece piece : board.getPieces()) {
+            pieces += 48 + piece.getSize() * 28L;
+        }
+        long node = 40;
+        long stateString = 64 + 2 * cells;
+        return grid + pieces + node + stateString;
+    }
+    
+    /**
+     * Reconstruct solution from final node
+     */
+    private Solution reconstructSolution(Node goalNode, int statesExamined) {
+        return reconstructSolution(goalNode, statesExamined, StopReason.SOLVED);
+    }
+    
+    /**
+     * Reconstruct the path to a node, tagged with the reason the search stopped
+     */
+    private Solution reconstructSolution(Node goalNode, int statesExamined, StopReason stopReason) {
+        List<Move> moves = new ArrayList<>();
+        List<Board> states = new ArrayList<>();
+        
+        Node current = goalNode;
+        
+        // Trace back from goal to start
+        while (current != null) {
+            if (current.board != null) {
+                states.add(0, current.board);
+            }
+            if (current.move != null) {
+                moves.add(0, current.move);
+            }
+            current = current.parent;
+        }
+        
+        return new Solution(moves, states, statesExamined, stopReason);
+    }
+    
+    /**
+     * Calculate heuristic value
+     */
+    private int calculateHeuristic(Board board, String heuristic) {
+        switch (heuristic.toLowerCase()) {
+            case "manhattan distance":
+            case "manhattan":
+                return calculateManhattanDistance(board);
+            case "direct distance":
+            case "direct":
+                return calculateDirectDistance(board);
+            case "blocking count":
+            case "blocking":
+                return calculateBlockingCount(board);
+            case "clearing moves":
+            case "clearing":
+                return calculateClearingMoves(board);
+            default:
+                return calculateManhattanDistance(board);
+        }
+    }
+    
+    /**
+     * Manhattan distance heuristic
+     */
+    private int calculateManhattanDistance(Board board) {
+        Piece primaryPiece = board.getPrimaryPiece();
+        if (primaryPiece == null) return Integer.MAX_VALUE;
+        
+        cli.Position exitPos = board.getExitPosition();
+        if (exitPos == null) return Integer.MAX_VALUE;
+        
+        // Get the position of primary piece that's closest to exit
+        int minDistance = Integer.MAX_VALUE;
+        for (cli.Position pos : primaryPiece.getPositions()) {
+            int distance = Math.abs(pos.row - exitPos.row) + Math.abs(pos.col - exitPos.col);
+            minDistance = Math.min(minDistance, distance);
+        }
+        
+        return minDistance;
+    }
+    
+    /**
+     * Direct distance to exit (considering orientation)
+     */
+    int calculateDirectDistance(Board board) {
+        Piece primaryPiece = board.getPrimaryPiece();
+        if (primaryPiece == null) return Integer.MAX_VALUE;
+        
+        cli.Position exitPos = board.getExitPosition();
+        if (exitPos == null) return Integer.MAX_VALUE;
+        
+        // We need to account for the orientation of the piece and the exit side
+        Exit exitSide = board.getExitSide();
+        
+        if (primaryPiece.getOrientation() == Orientation.HORIZONTAL) {
+            // For horizontal piece
+            if (exitSide == Exit.RIGHT) {
+                // Need to get rightmost position of piece
+                cli.Position rightmost = primaryPiece.getPositions().stream()
+                    .max(Comparator.comparingInt(p -> p.col))
+                    .orElse(primaryPiece.getPositions().get(0));
+                return board.getWidth() - rightmost.col - 1; // Distance to right edge
+            } else if (exitSide == Exit.LEFT) {
+                // Need to get leftmost position of piece
+                cli.Position leftmost = primaryPiece.getPositions().stream()
+                    .min(Comparator.comparingInt(p -> p.col))
+                    .orElse(primaryPiece.getPositions().get(0));
+                return leftmost.col; // Distance to left edge
+            } else {
+                // Exit is not aligned with piece orientation
+                return Integer.MAX_VALUE;
+            }
+        } else {
+            // For vertical piece
+            if (exitSide == Exit.BOTTOM) {
+                // Need to get bottommost position of piece
+                cli.Position bottommost = primaryPiece.getPositions().stream()
+                    .max(Comparator.comparingInt(p -> p.row))
+                    .orElse(primaryPiece.getPositions().get(0));
+                return board.getHeight() - bottommost.row - 1; // Distance to bottom edge
+            } else if (exitSide == Exit.TOP) {
+                // Need to get topmost position of piece
+                cli.Position topmost = primaryPiece.getPositions().stream()
+                    .min(Comparator.comparingInt(p -> p.row))
+                    .orElse(primaryPiece.getPositions().get(0));
+                return topmost.row; // Distance to top edge
+            } else {
+                // Exit is not aligned with piece orientation
+                return Integer.MAX_VALUE;
+            }
+        }
+    }
+    
+    /**
+     * Count pieces blocking the path to exit
+     */
+    private int calculateBlockingCount(Board board) {
+        Piece primaryPiece = board.getPrimaryPiece();
+        if (primaryPiece == null) return Integer.MAX_VALUE;
+        
+        cli.Position exitPos = board.getExitPosition();
+        if (exitPos == null) return Integer.MAX_VALUE;
+        
+        int blockingCount = 0;
+        char[][] grid = board.getGrid();
+        
+        // Get the path from primary piece to exit
+        if (primaryPiece.getOrientation() == Orientation.HORIZONTAL) {
+            int row = primaryPiece.getPositions().get(0).row;
+            
+            // Find the range to check based on exit position
+            int startCol, endCol;
+            if (board.getExitSide() == Exit.RIGHT) {
+                // Rightmost position of primary piece
+                cli.Position rightmost = primaryPiece.getPositions().stream()
+                    .max(Comparator.comparingInt(p -> p.col))
+                    .orElse(primaryPiece.getPositions().get(0));
+                
+                startCol = rightmost.col + 1;
+                endCol = board.getWidth();
+            } else {
+                // Leftmost position of primary piece
+                cli.Position leftmost = primaryPiece.getPositions().stream()
+                    .min(Comparator.comparingInt(p -> p.col))
+                    .orElse(primaryPiece.getPositions().get(0));
+                
+                startCol = 0;
+                endCol = leftmost.col;
+            }
+            
+            // Check for blocking pieces
+            Set<Character> blockingPieces = new HashSet<>();
+            for (int col = startCol; col < endCol; col++) {
+                if (row >= 0 && row < grid.length && col >= 0 && col < grid[row].length) {
+                    char cell = grid[row][col];
+                    if (cell != '.' && cell != 'P' && !blockingPieces.contains(cell)) {
+                        blockingPieces.add(cell);
+                        blockingCount++;
+                    }
+                }
+            }
+        } else {
+            // Vertical orientation
+            int col = primaryPiece.getPositions().get(0).col;
+            
+            // Find the range to check based on exit position
+            int startRow, endRow;
+            if (board.getExitSide() == Exit.BOTTOM) {
+                // Bottommost position of primary piece
+                cli.Position bottommost = primaryPiece.getPositions().stream()
+                    .max(Comparator.comparingInt(p -> p.row))
+                    .orElse(primaryPiece.getPositions().get(0));
+                
+                startRow = bottommost.row + 1;
+                endRow = board.getHeight();
+            } else {
+                // Topmost position of primary piece
+                cli.Position topmost = primaryPiece.getPositions().stream()
+                    .min(Comparator.comparingInt(p -> p.row))
+                    .orElse(primaryPiece.getPositions().get(0));
+                
+                startRow = 0;
+                endRow = topmost.row;
+            }
+            
+            // Check for blocking pieces
+            Set<Character> blockingPieces = new HashSet<>();
+            for (int row = startRow; row < endRow; row++) {
+                if (row >= 0 && row < grid.length && col >= 0 && col < grid[row].length) {
+                    char cell = grid[row][col];
+                    if (cell != '.' && cell != 'P' && !blockingPieces.contains(cell)) {
+                        blockingPieces.add(cell);
+                        blockingCount++;
+                    }
+                }
+            }
+        }
+        
+        return blockingCount;
+    }
+
+    private int calculateClearingMoves(Board board) {
+        Piece primary = board.getPrimaryPiece();
+        if (primary == null) return Integer.MAX_VALUE;
+        
+        // 1. Calculate direct exit distance
+        int directDistance = calculateDirectDistance(board);
+        
+        // 2. Identify critical path blockers
+        Set<Piece> blockers = getCriticalBlockers(board);
+        
+        // 3. Calculate minimal clearing moves for each blocker
+        int totalMoves = 0;
+        for (Piece blocker : blockers) {
+            int moves = calculateBlockerMoves(blocker, primary, board);
+            if (moves == Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            totalMoves += moves;
+        }
+        
+        return directDistance + totalMoves;
+    }
+
+    private Set<Piece> getCriticalBlockers(Board board) {
+        Set<Piece> blockers = new HashSet<>();
+        Piece primary = board.getPrimaryPiece();
+        Exit exit = board.getExitSide();
+        
+        if (primary.getOrientation() == Orientation.HORIZONTAL) {
+            int row = primary.getFirstPosition().row;
+            int startCol = exit == Exit.RIGHT ? 
+                primary.getRightmostCol() + 1 : 0;
+            int endCol = exit == Exit.RIGHT ? 
+                board.getWidth() : primary.getLeftmostCol();
+            
+            // Check primary's row and adjacent vertical blockers
+            for (int col = startCol; col < endCol; col++) {
+                // Direct blockers in path
+                if (board.getGrid()[row][col] != '.' && 
+                    board.getGrid()[row][col] != primary.getId()) {
+                    blockers.add(board.getPieceAt(row, col));
+                }
+                
+                // Vertical blockers crossing the path
+                for (Piece p : board.getPieces()) {
+                    if (p.getOrientation() == Orientation.VERTICAL && 
+                        p.getLeftmostCol() == col && 
+                        p.getTopmostRow() <= row && 
+                        p.getBottommostRow() >= row) {
+                        blockers.add(p);
+                    }
+                }
+            }
+        } else { // Vertical primary
+            int col = primary.getFirstPosition().col;
+            int startRow = exit == Exit.BOTTOM ? 
+                primary.getBottommostRow() + 1 : 0;
+            int endRow = exit == Exit.BOTTOM ? 
+                board.getHeight() : primary.getTopmostRow();
+            
+            for (int row = startRow; row < endRow; row++) {
+                // Direct blockers in path
+                if (board.getGrid()[row][col] != '.' && 
+                    board.getGrid()[row][col] != primary.getId()) {
+                    blockers.add(board.getPieceAt(row, col));
+                }
+                
+                // Horizontal blockers crossing the path
+                for (Piece p : board.getPieces()) {
+                    if (p.getOrientation() == Orientation.HORIZONTAL && 
+                        p.getTopmostRow() == row && 
+                        p.getLeftmostCol() <= col && 
+                        p.getRightmostCol() >= col) {
+                        blockers.add(p);
+                    }
+                }
+            }
+        }
+        return blockers;
+    }
+
+    private int calculateBlockerMoves(Piece blocker, Piece primary, Board board) {
+        // Determine available space in both possible directions
+        int forwardSpace = calculateClearSpace(blocker, true, board);
+        int backwardSpace = calculateClearSpace(blocker, false, board);
+        
+        // Minimum moves needed to clear the path
+        int requiredClearance = getRequiredClearance(blocker, primary, board);
+        
+        int forwardMoves = (requiredClearance <= forwardSpace) ? 
+            (blocker.getLength() + requiredClearance) : Integer.MAX_VALUE;
+        int backwardMoves = (requiredClearance <= backwardSpace) ? 
+            (blocker.getLength() + requiredClearance) : Integer.MAX_VALUE;
+        
+        return Math.min(forwardMoves, backwardMoves);
+    }
+
+    private int calculateClearSpace(Piece blocker, boolean moveForward, Board board) {
+        int space = 0;
+        if (blocker.getOrientation() == Orientation.HORIZONTAL) {
+            int checkCol = moveForward ? 
+                blocker.getRightmostCol() + 1 : blocker.getLeftmostCol() - 1;
+            while (moveForward ? checkCol < board.getWidth() : checkCol >= 0) {
+                boolean columnClear = true;
+                for (int r = blocker.getTopmostRow(); r <= blocker.getBottommostRow(); r++) {
+                    if (board.getGrid()[r][checkCol] != '.') {
+                        columnClear = false;
+                        break;
+                    }
+                }
+                if (!columnClear) break;
+                space++;
+                checkCol += moveForward ? 1 : -1;
+            }
+        } else { // Vertical
+            int checkRow = moveForward ? 
+                blocker.getBottommostRow() + 1 : blocker.getTopmostRow() - 1;
+            while (moveForward ? checkRow < board.getHeight() : checkRow >= 0) {
+                boolean rowClear = true;
+                for (int c = blocker.getLeftmostCol(); c <= blocker.getRightmostCol(); c++) {
+                    if (board.getGrid()[checkRow][c] != '.') {
+                        rowClear = false;
+                        break;
+                    }
+                }
+                if (!rowClear) break;
+                space++;
+                checkRow += moveForward ? 1 : -1;
+            }
+        }
+        return space;
+    }
+
+    private int getRequiredClearance(Piece blocker, Piece primary, Board board) {
+        // Calculate how far the blocker needs to move to clear the path
+        if (primary.getOrientation() == Orientation.HORIZONTAL) {
+            int blockerColSpan = blocker.getLeftmostCol() + blocker.getLength() - 1;
+            return Math.max(0, blockerColSpan - primary.getRightmostCol() + 1);
+        } else {
+            int blockerRowSpan = blocker.getTopmostRow() + blocker.getLength() - 1;
+            return Math.max(0, blockerRowSpan - primary.getBottommostRow() + 1);
+        }
+    }
+        
+    /**
+     * Budgets of a single search, plus the most promising node seen so far
+     * (closest to the exit, then cheapest) to return as a partial result
+     */
+    private class SearchBudget {
+        private final long deadline;
+        private final long bytesPerState;
+        private Node bestNode;
+        private int bestDistance = Integer.MAX_VALUE;
+        
+        SearchBudget(Board initialBoard) {
+            long timeLimit = options.getTimeLimitMillis();
+            this.deadline = timeLimit > 0 ? System.nanoTime() + timeLimit * 1_000_000L : Long.MAX_VALUE;
+            this.bytesPerState = estimateStateBytes(initialBoard);
+        }
+        
+        void track(Node node) {
+            int distance = calculateDirectDistance(node.board);
+            if (bestNode == null || distance < bestDistance
+                    || (distance == bestDistance && node.cost < bestNode.cost)) {
+                bestDistance = distance;
+                bestNode = node;
+            }
+        }
+        
+        /**
+         * @param retainedStates Number of states currently held by the frontier and visited structures
+         * @return The exceeded budget, or null if the search may continue
+         */
+        StopReason check(long retainedStates) {
+            if (options.isCancelled()) {
+                return StopReason.CANCELLED;
+            }
+            if (options.getMaxNodes() > 0 && lastNodesExamined >= options.getMaxNodes()) {
+                return StopReason.NODE_LIMIT;
+            }
+            long retainedBytes = retainedStates * bytesPerState;
+            if (retainedBytes > lastPeakMemoryBytes) {
+                lastPeakMemoryBytes = retainedBytes;
+            }
+            if (options.getMaxMemoryBytes() > 0 && retainedBytes > options.getMaxMemoryBytes()) {
+                return StopReason.MEMORY_LIMIT;
+            }
+            if (deadline != Long.MAX_VALUE && System.nanoTime() >= deadline) {
+                return StopReason.TIME_LIMIT;
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Inner class representing a search node
+     */
+    private static class Node {
+        Board board;
+        Move move;
+        Node parent;
+        int cost;   // g(n) - cost from start
+        int h;      // h(n) - heuristic value
+        int f;      // f(n) = g(n) + h(n)
+        
+        Node(Board board, Move move, Node parent, int cost) {
+            this.board = board;
+            this.move = move;
+            this.parent = parent;
+            this.cost = cost;
+            this.h = 0;
+            this.f = cost;
+        }
+        
+        Node(Board board, Move move, Node parent, int cost, int h, int f) {
+            this.board = board;
+            this.move = move;
+            this.parent = parent;
+            this.cost = cost;
+            this.h = h;
+            this.f = f;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package cli;
+
+import java.util.List;
+
+/**
+ * Packs board states into fixed-length byte records.
+ * Pieces never leave their lane, so a state is fully described by the leading
+ * coordinate of every piece (leftmost column for horizontal pieces, topmost row
+ * for vertical ones), stored in the piece order of a reference board.
+ * Records compare byte-wise, which gives a total order usable for sorting on disk.
+ */
+public class StateCodec {
+    private final Board reference;
+    private final char[] pieceIds;
+    private final int coordBytes;
+    private final int recordSize;
+
+    public StateCodec(Board reference) {
+        this.reference = reference;
+
+        List<Piece> pieces = reference.getPieces();
+        this.pieceIds = new char[pieces.size()];
+        for (int i = 0; i < pieces.size(); i++) {
+            pieceIds[i] = pieces.get(i).getId();
+        }
+
+        // Coordinates are stored off by one so 0 can mark a piece that has left the board
+        int maxCoordinate = Math.max(reference.getWidth(), reference.getHeight());
+        this.coordBytes = maxCoordinate < 255 ? 1 : 2;
+        this.recordSize = pieceIds.length * coordBytes;
+    }
+
+    /**
+     * Number of bytes in one packed state
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Number of pieces described by a record
+     */
+    public int getPieceCount() {
+        return pieceIds.length;
+    }
+
+    /**
+     * Id of the piece stored at the given record slot
+     */
+    public char getPieceId(int index) {
+        return pieceIds[index];
+    }
+
+    public byte[] encode(Board board) {
+        byte[] record = new byte[recordSize];
+        encode(board, record, 0);
+        return record;
+    }
+
+    /**
+     * Write the packed form of a board into a buffer
+     */
+    public void encode(Board board, byte[] out, int offset) {
+        for (int i = 0; i < pieceIds.length; i++) {
+            Piece piece = board.getPieceById(pieceIds[i]);
+            int value = piece == null ? 0 : leadOf(piece) + 1;
+            writeCoordinate(out, offset + i * coordBytes, value);
+        }
+    }
+
+    public Board decode(byte[] record) {
+        return decode(record, 0);
+    }
+
+    /**
+     * Rebuild the board described by a packed record
+     */
+    public Board decode(byte[] data, int offset) {
+        return reference.withPieceLeads(decodeLeads(data, offset));
+    }
+
+    /**
+     * Read the leading coordinate of every piece, -1 for pieces that have left the board
+     */
+    public int[] decodeLeads(byte[] data, int offset) {
+        int[] leads = new int[pieceIds.length];
+        for (int i = 0; i < pieceIds.length; i++) {
+            leads[i] = readCoordinate(data, offset + i * coordBytes) - 1;
+        }
+        return leads;
+    }
+
+    /**
+     * Lexicographic unsigned comparison of two records
+     */
+    public static int compare(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            int diff = (a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    static int leadOf(Piece piece) {
+        return piece.getOrientation() == Orientation.HORIZONTAL ? piece.getLeftmostCol() : piece.getTopmostRow();
+    }
+
+    private void writeCoordinate(byte[] out, int offset, int value) {
+        if (coordBytes == 1) {
+            out[offset] = (byte) value;
+        } else {
+            out[offset] = (byte) (value >>> 8);
+            out[offset + 1] = (byte) value;
+        }
+    }
+
+    private int readCoordinate(byte[] data, int offset) {
+        if (coordBytes == 1) {
+            return data[offset] & 0xFF;
+        }
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+}
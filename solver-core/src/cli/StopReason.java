@@ -0,0 +1,37 @@
+package cli;
+
+/**
+ * Reason a search stopped
+ */
+public enum StopReason {
+    SOLVED,
+    EXHAUSTED,
+    UNSOLVABLE,
+    TIME_LIMIT,
+    NODE_LIMIT,
+    MEMORY_LIMIT,
+    CANCELLED;
+
+    /**
+     * Whether the search was cut short by one of the budgets in SolveOptions
+     */
+    public boolean isBudgetExceeded() {
+        return this == TIME_LIMIT || this == NODE_LIMIT || this == MEMORY_LIMIT;
+    }
+
+    /**
+     * Human readable description used by the CLI, GUI and batch reports
+     */
+    public String describe() {
+        switch (this) {
+            case SOLVED: return "solved";
+            case EXHAUSTED: return "search space exhausted";
+            case UNSOLVABLE: return "proven unsolvable";
+            case TIME_LIMIT: return "time limit reached";
+            case NODE_LIMIT: return "node limit reached";
+            case MEMORY_LIMIT: return "memory limit reached";
+            case CANCELLED: return "cancelled";
+            default: return name().toLowerCase();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package cli;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table used by IDA*.
+ * Caches the heuristic value and the best known cost-so-far of each state, keyed by a 64-bit
+ * state hash, together with the iteration in which the state was last expanded at that cost.
+ * Each slot keeps the entry searched with the most remaining depth (depth-preferred replacement);
+ * entries left over from earlier iterations may always be replaced.
+ */
+public class TranspositionTable {
+    public static final int NOT_FOUND = -1;
+
+    private final long[] keys;
+    private final int[] costs;
+    private final int[] heuristics;
+    private final int[] depths;
+    private final int[] iterations; // 0 marks an empty slot
+    private final int mask;
+
+    private long probes = 0;
+    private long hits = 0;
+
+    /**
+     * @param sizeBits Table holds 2^sizeBits entries
+     */
+    public TranspositionTable(int sizeBits) {
+        int size = 1 << sizeBits;
+        this.keys = new long[size];
+        this.costs = new int[size];
+        this.heuristics = new int[size];
+        this.depths = new int[size];
+        this.iterations = new int[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Look up a state
+     * @return The slot holding the state, or NOT_FOUND
+     */
+    public int find(long key) {
+        probes++;
+        int slot = indexOf(key);
+        if (iterations[slot] != 0 && keys[slot] == key) {
+            hits++;
+            return slot;
+        }
+        return NOT_FOUND;
+    }
+
+    public int getCost(int slot) { return costs[slot]; }
+    public int getHeuristic(int slot) { return heuristics[slot]; }
+    public int getIteration(int slot) { return iterations[slot]; }
+
+    /**
+     * Record that a state is being expanded with the given cost and remaining depth
+     * @param iteration IDA* iteration number, starting at 1
+     */
+    public void store(long key, int cost, int heuristic, int depth, int iteration) {
+        int slot = indexOf(key);
+        boolean replace = iterations[slot] == 0
+            || keys[slot] == key
+            || iterations[slot] < iteration
+            || depth >= depths[slot];
+        if (!replace) {
+            return;
+        }
+        keys[slot] = key;
+        costs[slot] = cost;
+        heuristics[slot] = heuristic;
+        depths[slot] = depth;
+        iterations[slot] = iteration;
+    }
+
+    /**
+     * Empty the table so it can be reused for another search
+     */
+    public void clear() {
+        Arrays.fill(iterations, 0);
+        probes = 0;
+        hits = 0;
+    }
+
+    public long getProbes() { return probes; }
+    public long getHits() { return hits; }
+
+    private int indexOf(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,203 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proves puzzles unsolvable from lane and orientation constraints without searching.
+ * Pieces never leave their lane and never pass each other inside it, so the checks below
+ * hold for every state reachable from the analysed one:
+ * - the primary piece must be aligned with the exit
+ * - no piece sharing the primary piece's lane may sit between it and the exit
+ * - every cell on the way to the exit must be clearable by the pieces crossing it
+ * - no piece locked in place may stand on the primary piece or its way to the exit
+ * All moves are reversible, so a board proven dead here makes its whole reachable state space dead.
+ * Every check is linear in the board size, so it runs in microseconds.
+ */
+public class UnsolvabilityAnalyzer {
+
+    private UnsolvabilityAnalyzer() {
+    }
+
+    /**
+     * Check whether no goal state can be reached from this board
+     */
+    public static boolean isDead(Board board) {
+        return findReason(board) != null;
+    }
+
+    /**
+     * Explain why the board cannot be solved
+     * @return The reason, or null when unsolvability could not be proven
+     */
+    public static String findReason(Board board) {
+        Piece primary = board.getPrimaryPiece();
+        if (primary == null || board.getExitPosition() == null) {
+            return "the board has no primary piece or no exit";
+        }
+        if (board.isSolved()) {
+            return null;
+        }
+        if (!board.isPrimaryPieceAlignedWithExit()) {
+            return "primary piece is not aligned with the exit";
+        }
+
+        List<Position> path = pathToExit(board, primary);
+
+        // A piece in the primary lane can never step aside
+        for (Position cell : path) {
+            Piece piece = pieceAt(board, cell.row, cell.col);
+            if (piece != null && piece.getOrientation() == primary.getOrientation()) {
+                return "piece " + piece.getId() + " shares the primary lane between P and the exit";
+            }
+        }
+
+        // Every cell on the way must be clearable by the pieces in the crossing lane
+        for (Position cell : path) {
+            String blocker = findPermanentCrossing(board, primary, cell);
+            if (blocker != null) {
+                return blocker;
+            }
+        }
+
+        // Pieces locked in place by walls and other locked pieces never move again
+        Set<Character> locked = findLockedPieces(board);
+        if (locked.contains(primary.getId())) {
+            return "primary piece is locked in place";
+        }
+        for (Position cell : path) {
+            Piece piece = pieceAt(board, cell.row, cell.col);
+            if (piece != null && locked.contains(piece.getId())) {
+                return "piece " + piece.getId() + " is locked on the way to the exit";
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Cells between the primary piece and the board edge on the exit side
+     */
+    private static List<Position> pathToExit(Board board, Piece primary) {
+        List<Position> path = new ArrayList<>();
+        switch (board.getExitSide()) {
+            case RIGHT:
+                for (int col = primary.getRightmostCol() + 1; col < board.getWidth(); col++) {
+                    path.add(new Position(primary.getTopmostRow(), col));
+                }
+                break;
+            case LEFT:
+                for (int col = primary.getLeftmostCol() - 1; col >= 0; col--) {
+                    path.add(new Position(primary.getTopmostRow(), col));
+                }
+                break;
+            case BOTTOM:
+                for (int row = primary.getBottommostRow() + 1; row < board.getHeight(); row++) {
+                    path.add(new Position(row, primary.getLeftmostCol()));
+                }
+                break;
+            case TOP:
+                for (int row = primary.getTopmostRow() - 1; row >= 0; row--) {
+                    path.add(new Position(row, primary.getLeftmostCol()));
+                }
+                break;
+        }
+        return path;
+    }
+
+    /**
+     * Pieces in the lane crossing a path cell keep their order, so the cell can only be freed if
+     * the pieces before it fit on one side and the rest on the other
+     * @return The reason the cell stays covered, or null
+     */
+    private static String findPermanentCrossing(Board board, Piece primary, Position cell) {
+        boolean crossingVertical = primary.getOrientation() == Orientation.HORIZONTAL;
+        int laneLength = crossingVertical ? board.getHeight() : board.getWidth();
+        int cellIndex = crossingVertical ? cell.row : cell.col;
+
+        List<Piece> lane = new ArrayList<>();
+        for (Piece piece : board.getPieces()) {
+            boolean inLane = crossingVertical
+                ? piece.getOrientation() == Orientation.VERTICAL && piece.getLeftmostCol() == cell.col
+                : piece.getOrientation() == Orientation.HORIZONTAL && piece.getTopmostRow() == cell.row;
+            if (inLane) {
+                lane.add(piece);
+            }
+        }
+        if (lane.isEmpty()) {
+            return null;
+        }
+        lane.sort(Comparator.comparingInt(StateCodec::leadOf));
+
+        int total = 0;
+        for (Piece piece : lane) {
+            total += piece.getSize();
+        }
+
+        // Try every split: the first k pieces before the cell, the rest after it
+        int before = 0;
+        for (int k = 0; k <= lane.size(); k++) {
+            if (before <= cellIndex && total - before <= laneLength - 1 - cellIndex) {
+                return null;
+            }
+            if (k < lane.size()) {
+                before += lane.get(k).getSize();
+            }
+        }
+        return "the pieces in " + (crossingVertical ? "column " : "row ") + (crossingVertical ? cell.col : cell.row)
+            + " can never clear the way to the exit";
+    }
+
+    /**
+     * Largest set of pieces whose both ends touch a wall or another piece of the set.
+     * None of them can move until another one does, so none of them ever moves.
+     */
+    static Set<Character> findLockedPieces(Board board) {
+        Set<Character> locked = new HashSet<>();
+        for (Piece piece : board.getPieces()) {
+            locked.add(piece.getId());
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Piece piece : board.getPieces()) {
+                if (locked.contains(piece.getId()) && !isHeldBy(board, piece, locked)) {
+                    locked.remove(piece.getId());
+                    changed = true;
+                }
+            }
+        }
+        return locked;
+    }
+
+    private static boolean isHeldBy(Board board, Piece piece, Set<Character> locked) {
+        if (piece.getOrientation() == Orientation.HORIZONTAL) {
+            int row = piece.getTopmostRow();
+            return isHeldAt(board, row, piece.getLeftmostCol() - 1, locked)
+                && isHeldAt(board, row, piece.getRightmostCol() + 1, locked);
+        }
+        int col = piece.getLeftmostCol();
+        return isHeldAt(board, piece.getTopmostRow() - 1, col, locked)
+            && isHeldAt(board, piece.getBottommostRow() + 1, col, locked);
+    }
+
+    /**
+     * A cell holds a piece back if it is outside the board or covered by a locked piece
+     */
+    private static boolean isHeldAt(Board board, int row, int col, Set<Character> locked) {
+        if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
+            return true;
+        }
+        Piece piece = pieceAt(board, row, col);
+        return piece != null && locked.contains(piece.getId());
+    }
+
+    private static Piece pieceAt(Board board, int row, int col) {
+        char id = board.getGridAt(row, col);
+        return id == '.' ? null : board.getPieceById(id);
+    }
+}